@@ -0,0 +1,57 @@
+package com.chanceman;
+
+import com.chanceman.bench.Fakes;
+import com.chanceman.managers.ItemNameIndex;
+import com.chanceman.managers.RolledItemsManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full scan of the item ID space into the rollable tradeable set, as run
+ * on login and whenever a filter option changes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TradeableUniverseBenchmark
+{
+    @Param({"false", "true"})
+    public boolean freeToPlay;
+
+    private ChanceManPlugin plugin;
+
+    @Setup
+    public void setUp()
+    {
+        plugin = new ChanceManPlugin();
+        Fakes.inject(plugin, "itemManager", Fakes.itemManager(Fakes.itemUniverse(45)));
+        Fakes.inject(plugin, "config", Fakes.config(ChanceManConfig.class, Map.of("freeToPlay", freeToPlay)));
+        Fakes.inject(plugin, "rolledItemsManager", new RolledItemsManager());
+        Fakes.inject(plugin, "itemNameIndex", new ItemNameIndex());
+    }
+
+    @Benchmark
+    public Set<Integer> collectTradeableItems()
+    {
+        Set<Integer> out = new LinkedHashSet<>();
+        plugin.collectTradeableItems(out);
+        return out;
+    }
+}
@@ -0,0 +1,137 @@
+package com.chanceman.bench;
+
+import com.chanceman.harness.Proxies;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.MenuAction;
+import net.runelite.api.MenuEntry;
+import net.runelite.client.game.ItemManager;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Random;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Small fixtures shared by the benchmarks. Game data and config interfaces
+ * are {@link Proxies} from the test harness, so the fixture costs a map lookup
+ * per call and does not drown out the code being measured; concrete RuneLite
+ * classes are Mockito mocks. Components that are normally field-injected are
+ * wired with {@link #inject}.
+ */
+public final class Fakes
+{
+    /** Size of the item ID space the plugin scans. */
+    public static final int ITEM_SPACE = 40000;
+
+    private Fakes()
+    {
+    }
+
+    /**
+     * A deterministic item ID space shaped roughly like the live cache: about
+     * a fifth of the IDs are tradeable, most of those members-only, and the
+     * rest are notes, placeholders and untradeables.
+     */
+    public static ItemComposition[] itemUniverse(long seed)
+    {
+        Random rnd = new Random(seed);
+        ItemComposition[] items = new ItemComposition[ITEM_SPACE];
+        for (int id = 0; id < ITEM_SPACE; id++)
+        {
+            boolean tradeable = rnd.nextInt(5) == 0;
+            boolean members = rnd.nextInt(4) != 0;
+            items[id] = item(id, "Item " + id, tradeable, members);
+        }
+        return items;
+    }
+
+    /** An ItemManager serving {@code items} with identity canonicalization. */
+    public static ItemManager itemManager(ItemComposition[] items)
+    {
+        ItemManager itemManager = mock(ItemManager.class);
+        when(itemManager.getItemComposition(anyInt())).thenAnswer(inv ->
+        {
+            int id = inv.getArgument(0);
+            return id >= 0 && id < items.length ? items[id] : null;
+        });
+        when(itemManager.canonicalize(anyInt())).thenAnswer(inv -> inv.getArgument(0));
+        return itemManager;
+    }
+
+    /** Set a (possibly private, possibly inherited) field on {@code target}. */
+    public static void inject(Object target, String field, Object value)
+    {
+        try
+        {
+            find(target.getClass(), field).set(target, value);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException("Cannot set " + field + " on " + target.getClass().getName(), e);
+        }
+    }
+
+    /** Read a (possibly private, possibly inherited) field on {@code target}. */
+    @SuppressWarnings("unchecked")
+    public static <T> T read(Object target, String field)
+    {
+        try
+        {
+            return (T) find(target.getClass(), field).get(target);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException("Cannot read " + field + " on " + target.getClass().getName(), e);
+        }
+    }
+
+    public static <T> T config(Class<T> type, Map<String, Object> overrides)
+    {
+        return Proxies.config(type, overrides);
+    }
+
+    public static ItemComposition item(int id, String name, boolean tradeable, boolean members)
+    {
+        return Proxies.fixed(ItemComposition.class, Map.of(
+                "getId", id,
+                "getName", name,
+                "isTradeable", tradeable,
+                "isMembers", members,
+                "getNote", -1,
+                "getLinkedNoteId", -1,
+                "getPlaceholderTemplateId", -1));
+    }
+
+    public static MenuEntry menuEntry(String option, String target, MenuAction type, int identifier, int itemId)
+    {
+        return Proxies.fixed(MenuEntry.class, Map.of(
+                "getOption", option,
+                "getTarget", target,
+                "getType", type,
+                "getIdentifier", identifier,
+                "getItemId", itemId,
+                "getParam0", -1,
+                "getParam1", -1));
+    }
+
+    private static Field find(Class<?> type, String name) throws NoSuchFieldException
+    {
+        for (Class<?> c = type; c != null; c = c.getSuperclass())
+        {
+            try
+            {
+                Field f = c.getDeclaredField(name);
+                f.setAccessible(true);
+                return f;
+            }
+            catch (NoSuchFieldException ignored)
+            {
+                // keep walking up
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+}
@@ -0,0 +1,62 @@
+package com.chanceman.drops;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rarity normalization over the spellings the wiki actually uses, and the
+ * numeric sort key read back from a normalized item.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DropItemRarityBenchmark
+{
+    private static final String[] RARITIES = {
+            "Always", "1/128", "3/128", "2 x 1/64", "1/5,000", "1.5%", "1/64–1/32",
+            "1/512; 1/256 (on task)", "5/128 [1]", "Rare", "1 in 25", "", "1/3.2", "Varies"
+    };
+
+    private final DropItem item = new DropItem(0, "Item", "1/128");
+
+    @Benchmark
+    @OperationsPerInvocation(14)
+    public void normalize(Blackhole bh)
+    {
+        for (String rarity : RARITIES)
+        {
+            item.setRarity(rarity);
+            bh.consume(item.getOneOverRarity());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(14)
+    public void construct(Blackhole bh)
+    {
+        for (String rarity : RARITIES)
+        {
+            bh.consume(new DropItem(0, "Item", rarity));
+        }
+    }
+
+    @Benchmark
+    public double rarityValue()
+    {
+        return item.getRarityValue();
+    }
+}
@@ -0,0 +1,72 @@
+package com.chanceman.drops;
+
+import com.chanceman.metrics.PerfMetrics;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drop table extraction from a saved wiki page: the HTML parse on its own,
+ * then section extraction from an already parsed document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseSectionsBenchmark
+{
+    private static final String FIXTURE = "wiki-npc-drops.html";
+
+    private DropFetcher fetcher;
+    private String html;
+    private Document doc;
+
+    @Setup
+    public void setUp() throws IOException
+    {
+        try (InputStream in = ParseSectionsBenchmark.class.getResourceAsStream(FIXTURE))
+        {
+            if (in == null)
+            {
+                throw new IOException("Missing fixture " + FIXTURE);
+            }
+            html = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        doc = Jsoup.parse(html, "https://oldschool.runescape.wiki/");
+        // parseSections touches none of the fetcher's collaborators
+        fetcher = new DropFetcher(null, null, null, new PerfMetrics());
+        if (fetcher.parseSections(doc).isEmpty())
+        {
+            throw new IllegalStateException("Fixture has no drop tables");
+        }
+    }
+
+    @Benchmark
+    public Document parseHtml()
+    {
+        return Jsoup.parse(html, "https://oldschool.runescape.wiki/");
+    }
+
+    @Benchmark
+    public List<DropTableSection> parseSections()
+    {
+        return fetcher.parseSections(doc);
+    }
+}
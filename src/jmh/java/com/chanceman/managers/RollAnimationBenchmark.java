@@ -0,0 +1,74 @@
+package com.chanceman.managers;
+
+import com.chanceman.bench.Fakes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The roll strip's random pick, which runs every time the strip advances,
+ * and the locked-item scan that builds its snapshot once per roll.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RollAnimationBenchmark
+{
+    /** Fraction of the tradeables already rolled, in percent. */
+    @Param({"10", "90"})
+    public int rolledPercent;
+
+    private RollAnimationManager manager;
+
+    @Setup
+    public void setUp()
+    {
+        Random rnd = new Random(45);
+        RolledItemsManager rolled = new RolledItemsManager();
+        Set<Integer> rolledIds = Fakes.read(rolled, "rolledItems");
+        Set<Integer> tradeables = new LinkedHashSet<>();
+        for (int id = 1; id < Fakes.ITEM_SPACE; id += 9)
+        {
+            tradeables.add(id);
+            if (rnd.nextInt(100) < rolledPercent)
+            {
+                rolledIds.add(id);
+            }
+        }
+
+        manager = new RollAnimationManager();
+        Fakes.inject(manager, "rolledManager", rolled);
+        manager.setAllTradeableItems(tradeables);
+        Fakes.inject(manager, "lockedSnapshot", manager.collectLockedItems());
+    }
+
+    @Benchmark
+    public int getRandomLockedItem()
+    {
+        return manager.getRandomLockedItem();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Integer> collectLockedItems()
+    {
+        return manager.collectLockedItems();
+    }
+}
@@ -0,0 +1,110 @@
+package com.chanceman.menus;
+
+import com.chanceman.ChanceManPlugin;
+import com.chanceman.bench.Fakes;
+import com.chanceman.managers.RolledItemsManager;
+import com.chanceman.metrics.PerfMetrics;
+import net.runelite.api.Client;
+import net.runelite.api.MenuAction;
+import net.runelite.api.MenuEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Cost of deciding whether one menu entry stays enabled, over a mix of item
+ * ops, world-object ops and skill ops on locked and unlocked items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActionHandlerBenchmark
+{
+    private static final int ENTRIES = 1024;
+    private static final String[] OPTIONS = {
+            "Wield", "Wear", "Eat", "Use", "Drop", "Examine", "Check", "Chop down", "Mine", "Open"
+    };
+    private static final MenuAction[] TYPES = {
+            MenuAction.CC_OP, MenuAction.WIDGET_TARGET, MenuAction.GAME_OBJECT_FIRST_OPTION,
+            MenuAction.NPC_FIRST_OPTION, MenuAction.CC_OP_LOW_PRIORITY
+    };
+
+    private ActionHandler handler;
+    private MenuEntry[] entries;
+    private int[] itemIds;
+
+    @Setup
+    public void setUp()
+    {
+        Random rnd = new Random(45);
+        ChanceManPlugin plugin = new ChanceManPlugin();
+        RolledItemsManager rolled = new RolledItemsManager();
+        Set<Integer> rolledIds = Fakes.read(rolled, "rolledItems");
+        for (int id = 1; id < Fakes.ITEM_SPACE; id += 5)
+        {
+            plugin.getAllTradeableItems().add(id);
+            if (rnd.nextBoolean())
+            {
+                rolledIds.add(id);
+            }
+        }
+
+        Client client = mock(Client.class);
+        Restrictions restrictions = new Restrictions();
+        Fakes.inject(restrictions, "plugin", plugin);
+        Fakes.inject(restrictions, "client", client);
+        Fakes.inject(restrictions, "rolledItemsManager", rolled);
+        Fakes.inject(restrictions, "perfMetrics", new PerfMetrics());
+
+        handler = new ActionHandler();
+        Fakes.inject(handler, "client", client);
+        Fakes.inject(handler, "plugin", plugin);
+        Fakes.inject(handler, "restrictions", restrictions);
+        Fakes.inject(handler, "rolledItemsManager", rolled);
+        Fakes.inject(handler, "perfMetrics", new PerfMetrics());
+
+        entries = new MenuEntry[ENTRIES];
+        itemIds = new int[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++)
+        {
+            int itemId = rnd.nextInt(Fakes.ITEM_SPACE);
+            String option = OPTIONS[rnd.nextInt(OPTIONS.length)];
+            MenuAction type = TYPES[rnd.nextInt(TYPES.length)];
+            entries[i] = Fakes.menuEntry(option, "<col=ff9040>Item " + itemId + "</col>", type, itemId, itemId);
+            itemIds[i] = itemId;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTRIES)
+    public int isEnabled()
+    {
+        int enabled = 0;
+        for (int i = 0; i < ENTRIES; i++)
+        {
+            MenuEntry entry = entries[i];
+            if (handler.isEnabled(itemIds[i], entry, entry.getType()))
+            {
+                enabled++;
+            }
+        }
+        return enabled;
+    }
+}
@@ -0,0 +1,88 @@
+package com.chanceman.persist;
+
+import com.google.gson.Gson;
+import net.runelite.client.config.ConfigManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Encoding and decoding a stamped item set against an in-memory
+ * ConfigManager, at the sizes of a fresh and a long-running account.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigPersistenceBenchmark
+{
+    private static final String PLAYER = "bench";
+    private static final String KEY = "rolled";
+
+    @Param({"200", "4000"})
+    public int items;
+
+    private ConfigPersistence persistence;
+    private Set<Integer> data;
+    private long stamp;
+
+    @Setup
+    public void setUp()
+    {
+        Map<String, String> store = new HashMap<>();
+        ConfigManager configManager = mock(ConfigManager.class);
+        when(configManager.getConfiguration(anyString(), anyString()))
+                .thenAnswer(inv -> store.get(inv.getArgument(0) + "." + inv.getArgument(1)));
+        doAnswer(inv -> store.put(inv.getArgument(0) + "." + inv.getArgument(1), inv.getArgument(2)))
+                .when(configManager).setConfiguration(anyString(), anyString(), anyString());
+
+        persistence = new ConfigPersistence(configManager, new Gson());
+        Random rnd = new Random(45);
+        data = new LinkedHashSet<>();
+        while (data.size() < items)
+        {
+            data.add(1 + rnd.nextInt(30000));
+        }
+        persistence.writeStampedSet(PLAYER, KEY, data, 1L);
+    }
+
+    @Benchmark
+    public void writeStampedSet()
+    {
+        persistence.writeStampedSet(PLAYER, KEY, data, ++stamp);
+    }
+
+    @Benchmark
+    public boolean writeStampedSetIfNewer()
+    {
+        return persistence.writeStampedSetIfNewer(PLAYER, KEY, data, ++stamp);
+    }
+
+    @Benchmark
+    public ConfigPersistence.StampedSet readStampedSet()
+    {
+        return persistence.readStampedSet(PLAYER, KEY);
+    }
+}
@@ -0,0 +1,99 @@
+package com.chanceman.ui;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ranking a search over the NPC name index: {@link FuzzyRanker} against the
+ * full-matrix Levenshtein sort that NpcSearchService used before it, kept here
+ * as the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuzzyRankerBenchmark
+{
+    private static final String[] WORDS = {
+            "goblin", "giant", "abyssal", "demon", "greater", "black", "dragon", "king", "hill",
+            "moss", "cave", "kraken", "dagannoth", "rex", "prime", "supreme", "guard", "skeleton",
+            "zombie", "chicken", "cow", "man", "woman", "dark", "wizard", "lizardman", "shaman"
+    };
+
+    @Param({"goblin", "abyssal demon", "kbd"})
+    public String query;
+
+    private List<String> names;
+
+    @Setup
+    public void setUp()
+    {
+        Random rnd = new Random(45);
+        names = new ArrayList<>();
+        for (int i = 0; i < 3000; i++)
+        {
+            int words = 1 + rnd.nextInt(3);
+            StringBuilder sb = new StringBuilder();
+            for (int w = 0; w < words; w++)
+            {
+                if (w > 0)
+                {
+                    sb.append(' ');
+                }
+                String word = WORDS[rnd.nextInt(WORDS.length)];
+                sb.append(w == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : word);
+            }
+            names.add(sb.toString());
+        }
+    }
+
+    @Benchmark
+    public List<String> fuzzyRanker()
+    {
+        return new FuzzyRanker(query).rank(names, Function.identity());
+    }
+
+    @Benchmark
+    public List<String> legacyLevenshteinSort()
+    {
+        String q = query.toLowerCase(Locale.ROOT);
+        return names.stream()
+                .sorted(Comparator.comparingInt(n -> levenshtein(n.toLowerCase(Locale.ROOT), q)))
+                .collect(Collectors.toList());
+    }
+
+    // The pre-FuzzyRanker implementation, verbatim
+    private static int levenshtein(String a, String b)
+    {
+        int[][] dp = new int[a.length()+1][b.length()+1];
+        for (int i = 0; i <= a.length(); i++) dp[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) dp[0][j] = j;
+        for (int i = 1; i <= a.length(); i++)
+            for (int j = 1; j <= b.length(); j++)
+                dp[i][j] = Math.min(
+                        Math.min(dp[i-1][j] + 1, dp[i][j-1] + 1),
+                        dp[i-1][j-1] + (a.charAt(i-1)==b.charAt(j-1) ? 0 : 1)
+                );
+        return dp[a.length()][b.length()];
+    }
+}
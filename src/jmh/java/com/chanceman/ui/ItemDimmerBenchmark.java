@@ -0,0 +1,81 @@
+package com.chanceman.ui;
+
+import com.chanceman.bench.Fakes;
+import com.chanceman.managers.RolledItemsManager;
+import com.chanceman.metrics.PerfMetrics;
+import net.runelite.api.Client;
+import net.runelite.api.ItemComposition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Per-widget dim decision for a bank-sized set of item icons, with the
+ * tradeable cache warm as it is after the first frame.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemDimmerBenchmark
+{
+    private static final int ICONS = 800;
+
+    private ItemDimmerController dimmer;
+    private int[] icons;
+
+    @Setup
+    public void setUp()
+    {
+        Random rnd = new Random(45);
+        ItemComposition[] items = Fakes.itemUniverse(45);
+        RolledItemsManager rolled = new RolledItemsManager();
+        Set<Integer> rolledIds = Fakes.read(rolled, "rolledItems");
+        for (int id = 0; id < items.length; id++)
+        {
+            if (items[id].isTradeable() && rnd.nextBoolean())
+            {
+                rolledIds.add(id);
+            }
+        }
+
+        dimmer = new ItemDimmerController(mock(Client.class), rolled, Fakes.itemManager(items), new PerfMetrics());
+        icons = new int[ICONS];
+        for (int i = 0; i < ICONS; i++)
+        {
+            icons[i] = rnd.nextInt(items.length);
+        }
+        shouldDim();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ICONS)
+    public int shouldDim()
+    {
+        int dimmed = 0;
+        for (int id : icons)
+        {
+            if (dimmer.shouldDim(id))
+            {
+                dimmed++;
+            }
+        }
+        return dimmed;
+    }
+}
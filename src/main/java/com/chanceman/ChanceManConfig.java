@@ -170,4 +170,63 @@ public interface ChanceManConfig extends Config
     {
         return 150;
     }
+
+    @ConfigItem(
+            keyName = "prefetchDropTables",
+            name = "Prefetch Drop Tables",
+            description = "Fetch drop tables in the background for NPCs you target, fight or see nearby," +
+                    " so Show Drops opens instantly.",
+            position = 18
+    )
+    default boolean prefetchDropTables()
+    {
+        return true;
+    }
+
+    @net.runelite.client.config.Range(min = 1, max = 30)
+    @ConfigItem(
+            keyName = "prefetchBudgetPerMinute",
+            name = "Prefetch Budget",
+            description = "Maximum number of background wiki fetches per minute.",
+            position = 19
+    )
+    default int prefetchBudgetPerMinute()
+    {
+        return 4;
+    }
+
+    @ConfigItem(
+            keyName = "batchRolls",
+            name = "Batch Rolls",
+            description = "When several rolls are queued at once (e.g. a raid chest), resolve them all together" +
+                    " with a single reveal and chat summary instead of one animation each.",
+            position = 20
+    )
+    default boolean batchRolls()
+    {
+        return false;
+    }
+
+    @ConfigItem(
+            keyName = "showPerfOverlay",
+            name = "Performance Overlay",
+            description = "Show a debug overlay with the plugin's per-frame and per-tick timings.",
+            position = 21
+    )
+    default boolean showPerfOverlay()
+    {
+        return false;
+    }
+
+    @net.runelite.client.config.Range(min = 0, max = 120)
+    @ConfigItem(
+            keyName = "perfLogIntervalMinutes",
+            name = "Performance Log Interval",
+            description = "Minutes between performance summaries written to the client log. 0 disables them.",
+            position = 22
+    )
+    default int perfLogIntervalMinutes()
+    {
+        return 0;
+    }
 }
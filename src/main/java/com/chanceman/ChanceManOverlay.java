@@ -1,5 +1,6 @@
 package com.chanceman;
 
+import com.chanceman.ui.ItemImages;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.client.audio.AudioPlayer;
@@ -19,6 +20,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 
 /**
@@ -81,6 +86,10 @@ public class ChanceManOverlay extends Overlay {
     private final BufferedImage iconFrameImage =
             ImageUtil.loadImageResource(getClass(), "/com/chanceman/icon_slot.png");
 
+    // One long-lived worker for roll sounds instead of a new thread per roll;
+    // created on first use and stopped by shutdown()
+    private ExecutorService audioExecutor;
+
     @Inject
     private AudioPlayer audioPlayer;
     @Inject
@@ -97,6 +106,20 @@ public class ChanceManOverlay extends Overlay {
     private Supplier<Integer> randomLockedItemSupplier;
     private volatile long lastUpdateNanos = 0L;
 
+    // Pre-rendered textures: the box once, each slot tile once per roll, and
+    // the visible strip only when it shifts by a slot. A frame is then a box
+    // blit plus one clipped strip blit.
+    private static final int STRIP_W = Math.round(DRAW_COUNT * STEP);
+    private BufferedImage boxCache;
+    private BufferedImage stripImage;
+    private volatile boolean stripDirty = true;
+    private final Map<Integer, BufferedImage> tileCache = new ConcurrentHashMap<>();
+
+    // Batch reveal state
+    private static final int BATCH_COLUMNS = 8;
+    private volatile List<Integer> batchItems = Collections.emptyList();
+    private volatile long batchEndsNs = 0L;
+
     // Snap state
     private boolean isSnapping = false;
     private long snapStartNs = 0L;
@@ -124,20 +147,8 @@ public class ChanceManOverlay extends Overlay {
      * @param randomLockedItemSupplier supplier of random locked item ids
      */
     public void startRollAnimation(int dummy, int rollDurationMs, Supplier<Integer> randomLockedItemSupplier) {
-        if (config.enableRollSounds()) {
-            Thread t = new Thread(() -> {
-                try {
-                    float volumeDb = toDb(config.rollSoundVolume());
-                    audioPlayer.play(ChanceManOverlay.class, "/com/chanceman/tick.wav", volumeDb);
-                } catch (IOException ex) {
-                    log.warn("ChanceMan: failed to play tick.wav", ex);
-                } catch (Exception ex) { // or Throwable, but Exception is usually enough
-                    log.warn("ChanceMan: unexpected error while playing tick.wav", ex);
-                }
-            }, "ChanceMan-Audio");
-            t.setDaemon(true);
-            t.start();
-        }
+        this.batchItems = Collections.emptyList();
+        playRollSound();
 
         this.rollDurationMs = rollDurationMs;
         this.rollStartNs = System.nanoTime();
@@ -159,9 +170,65 @@ public class ChanceManOverlay extends Overlay {
             for (int i = 0; i < DRAW_COUNT; i++) {
                 rollingItems.add(randomLockedItemSupplier.get());
             }
+            tileCache.clear();
+            stripDirty = true;
         }
     }
 
+    /**
+     * Shows several rolled items at once in a static grid, replacing any
+     * running strip animation, for {@code durationMs}.
+     *
+     * @param itemIds rolled item ids, in display order
+     * @param durationMs how long the grid stays on screen
+     */
+    public void startBatchReveal(List<Integer> itemIds, int durationMs) {
+        playRollSound();
+        this.isAnimating = false;
+        this.tileCache.clear();
+        this.batchItems = new ArrayList<>(itemIds);
+        this.batchEndsNs = System.nanoTime() + durationMs * 1_000_000L;
+    }
+
+    /**
+     * Stops the roll sound worker. Call when the plugin's features shut down;
+     * the next roll sound starts a new one.
+     */
+    public synchronized void shutdown() {
+        if (audioExecutor != null) {
+            audioExecutor.shutdownNow();
+            audioExecutor = null;
+        }
+    }
+
+    /** Plays the roll tick off the client thread, if roll sounds are enabled. */
+    private void playRollSound() {
+        if (!config.enableRollSounds()) {
+            return;
+        }
+        final float volumeDb = toDb(config.rollSoundVolume());
+        audioExecutor().execute(() -> {
+            try {
+                audioPlayer.play(ChanceManOverlay.class, "/com/chanceman/tick.wav", volumeDb);
+            } catch (IOException ex) {
+                log.warn("ChanceMan: failed to play tick.wav", ex);
+            } catch (Exception ex) { // or Throwable, but Exception is usually enough
+                log.warn("ChanceMan: unexpected error while playing tick.wav", ex);
+            }
+        });
+    }
+
+    private synchronized ExecutorService audioExecutor() {
+        if (audioExecutor == null) {
+            audioExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "ChanceMan-Audio");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return audioExecutor;
+    }
+
     /**
      * Returns the centered (winning) item after snap/highlight.
      *
@@ -190,14 +257,13 @@ public class ChanceManOverlay extends Overlay {
      */
     @Override
     public Dimension render(Graphics2D g) {
+        if (!batchItems.isEmpty()) {
+            return renderBatch(g);
+        }
         if (!isAnimating) {
             return null;
         }
 
-        // Rendering hints once per frame
-        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-
         final long nowNs = System.nanoTime();
         final long elapsedMs = (nowNs - rollStartNs) / 1_000_000L;
         final boolean inHighlightPhase = (elapsedMs > rollDurationMs);
@@ -209,7 +275,6 @@ public class ChanceManOverlay extends Overlay {
         }
 
         // Compute clamped dt and ease the speed (quintic-ish falloff via (1 - t)^3)
-        final long nowNanos = System.nanoTime();
         float dt = 0f;
         if (lastUpdateNanos != 0L) {
             dt = (nowNs - lastUpdateNanos) / 1_000_000_000f;
@@ -242,17 +307,10 @@ public class ChanceManOverlay extends Overlay {
         final float iconsLeftXF = contentCenterX - middleIndex * STEP - ICON_W / 2f;
         final int iconsY = boxTopY + OUTER_PAD;
 
-        // Background frame + subtle lines
-        if (rollBoxImage != null) {
-            final Composite prev = g.getComposite();
-            g.setComposite(AlphaComposite.SrcOver.derive(0.95f));
-            g.drawImage(rollBoxImage, boxLeftX, boxTopY, boxWidth, boxHeight, null);
-            g.setComposite(prev);
-
-            g.setColor(SHADE_BOTTOM);
-            g.fillRect(boxLeftX, boxTopY + boxHeight - 2, boxWidth, 2);
-            g.setColor(SHADE_TOP);
-            g.drawLine(boxLeftX + 2, boxTopY + 2, boxLeftX + boxWidth - 3, boxTopY + 2);
+        // Background frame + subtle lines, pre-composited
+        final BufferedImage box = getBoxImage(boxWidth, boxHeight);
+        if (box != null) {
+            g.drawImage(box, boxLeftX, boxTopY, null);
         }
 
         // Clip to the strip content
@@ -307,27 +365,17 @@ public class ChanceManOverlay extends Overlay {
             final int innerBoxW = ICON_W - innerBoxXInset * 2;
             final int innerBoxH = ICON_H - innerBoxYInset * 2;
 
-            // Draw items
-            final int itemsToDraw = Math.min(rollingItems.size(), DRAW_COUNT);
-            for (int i = 0; i < itemsToDraw; i++) {
-                final int itemId = rollingItems.get(i);
-                final BufferedImage image = itemManager.getImage(itemId, 1, false);
-                if (image == null) continue;
-
-                final float drawXF = iconsLeftXF + i * STEP - rollOffset;
-                final int drawX = Math.round(drawXF);
-
-                if (iconFrameImage != null) {
-                    g.drawImage(iconFrameImage, drawX, iconsY, ICON_W, ICON_H, null);
-                }
-
-                final int x = drawX + innerBoxXInset;
-                final int y = iconsY + innerBoxYInset;
-                g.drawImage(image, x, y, innerBoxW, innerBoxH, null);
+            // Draw items: one blit of the pre-rendered strip
+            if (stripDirty || stripImage == null) {
+                rebuildStrip();
             }
+            g.drawImage(stripImage, Math.round(iconsLeftXF - rollOffset), iconsY, null);
 
             // Highlight winner
             if (inHighlightPhase) {
+                g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
                 final int centerIndex = ICON_COUNT / 2;
                 final int winnerIndex = Math.min(centerIndex + winnerDelta, rollingItems.size() - 1);
 
@@ -377,6 +425,45 @@ public class ChanceManOverlay extends Overlay {
         return null;
     }
 
+    /**
+     * Draws the batch reveal grid until it expires.
+     */
+    private Dimension renderBatch(Graphics2D g) {
+        final List<Integer> items = batchItems;
+        if (System.nanoTime() - batchEndsNs >= 0) {
+            batchItems = Collections.emptyList();
+            return null;
+        }
+
+        final int cols = Math.min(BATCH_COLUMNS, items.size());
+        final int rows = (items.size() + BATCH_COLUMNS - 1) / BATCH_COLUMNS;
+        final int gridW = cols * ICON_W + (cols - 1) * SPACING;
+        final int gridH = rows * ICON_H + (rows - 1) * SPACING;
+        final int boxWidth = gridW + OUTER_PAD * 2 + EXTRA_WIDTH_BUFFER;
+        final int boxHeight = gridH + OUTER_PAD * 2;
+
+        final int centerX = client.getViewportXOffset() + client.getViewportWidth() / 2;
+        final int boxLeftX = centerX - boxWidth / 2 + BOX_SHIFT_X + CENTER_NUDGE_PX;
+        final int boxTopY = client.getViewportYOffset() + OFFSET_TOP;
+
+        final BufferedImage box = getBoxImage(boxWidth, boxHeight);
+        if (box != null) {
+            g.drawImage(box, boxLeftX, boxTopY, null);
+        }
+
+        final int gridLeftX = boxLeftX + (boxWidth - gridW) / 2;
+        final int gridTopY = boxTopY + OUTER_PAD;
+        for (int i = 0; i < items.size(); i++) {
+            final int x = gridLeftX + (i % BATCH_COLUMNS) * (ICON_W + SPACING);
+            final int y = gridTopY + (i / BATCH_COLUMNS) * (ICON_H + SPACING);
+            final BufferedImage tile = getTile(items.get(i));
+            if (tile != null) {
+                g.drawImage(tile, x, y, null);
+            }
+        }
+        return null;
+    }
+
     /**
      * Advances the strip by one slot when a full step is crossed.
      * Removes the left-most item and appends one from the supplier.
@@ -390,7 +477,107 @@ public class ChanceManOverlay extends Overlay {
             if (randomLockedItemSupplier != null) {
                 rollingItems.add(randomLockedItemSupplier.get());
             }
+            stripDirty = true;
+        }
+    }
+
+    /**
+     * Redraws the strip atlas from the current slot items. Called only when
+     * the items shift or a slot's sprite finishes loading; the caller holds
+     * the {@code rollingItems} lock.
+     */
+    private void rebuildStrip() {
+        if (stripImage == null) {
+            stripImage = new BufferedImage(STRIP_W, ICON_H, BufferedImage.TYPE_INT_ARGB);
+        }
+        stripDirty = false;
+
+        final Graphics2D sg = stripImage.createGraphics();
+        try {
+            sg.setComposite(AlphaComposite.Clear);
+            sg.fillRect(0, 0, STRIP_W, ICON_H);
+            sg.setComposite(AlphaComposite.SrcOver);
+
+            // Keep only tiles for items still on the strip
+            tileCache.keySet().retainAll(rollingItems);
+            final int itemsToDraw = Math.min(rollingItems.size(), DRAW_COUNT);
+            for (int i = 0; i < itemsToDraw; i++) {
+                final BufferedImage tile = getTile(rollingItems.get(i));
+                if (tile != null) {
+                    sg.drawImage(tile, Math.round(i * STEP), 0, null);
+                }
+            }
+        } finally {
+            sg.dispose();
+        }
+    }
+
+    /**
+     * Returns the slot frame with the item icon pre-scaled into it, or null if
+     * the item has no image. Sprites that are still loading mark the strip
+     * dirty once they are ready.
+     */
+    private BufferedImage getTile(int itemId) {
+        final BufferedImage cached = tileCache.get(itemId);
+        if (cached != null) {
+            return cached;
+        }
+        final BufferedImage image = itemManager.getImage(itemId, 1, false);
+        if (image == null) {
+            return null;
+        }
+
+        final BufferedImage tile = new BufferedImage(ICON_W, ICON_H, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D tg = tile.createGraphics();
+        try {
+            tg.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            if (iconFrameImage != null) {
+                tg.drawImage(iconFrameImage, 0, 0, ICON_W, ICON_H, null);
+            }
+            tg.drawImage(image, FRAME_CONTENT_INSET, FRAME_CONTENT_INSET,
+                    ICON_W - FRAME_CONTENT_INSET * 2, ICON_H - FRAME_CONTENT_INSET * 2, null);
+        } finally {
+            tg.dispose();
+        }
+        tileCache.put(itemId, tile);
+
+        // Most item images are loaded already; only a still-loading one needs its tile redrawn
+        ItemImages.whenLoaded(image, () -> {
+            if (tileCache.remove(itemId, tile)) {
+                stripDirty = true;
+            }
+        });
+        return tile;
+    }
+
+    /**
+     * Returns the background box composited at its draw alpha with the shade
+     * lines baked in, rebuilt only if the requested size changes.
+     */
+    private BufferedImage getBoxImage(int width, int height) {
+        if (rollBoxImage == null) {
+            return null;
+        }
+        if (boxCache != null && boxCache.getWidth() == width && boxCache.getHeight() == height) {
+            return boxCache;
+        }
+
+        final BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D bg = img.createGraphics();
+        try {
+            bg.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            bg.setComposite(AlphaComposite.SrcOver.derive(0.95f));
+            bg.drawImage(rollBoxImage, 0, 0, width, height, null);
+            bg.setComposite(AlphaComposite.SrcOver);
+            bg.setColor(SHADE_BOTTOM);
+            bg.fillRect(0, height - 2, width, 2);
+            bg.setColor(SHADE_TOP);
+            bg.drawLine(2, 2, width - 3, 2);
+        } finally {
+            bg.dispose();
         }
+        boxCache = img;
+        return img;
     }
     /**
      * Initializes snap state targeting the nearest slot boundary.
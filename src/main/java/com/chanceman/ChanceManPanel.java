@@ -1,23 +1,33 @@
 package com.chanceman;
 
+import com.chanceman.drops.DropCache;
+import com.chanceman.drops.ItemSource;
+import com.chanceman.drops.TargetRecommender;
+import com.chanceman.drops.TargetScore;
+import com.chanceman.managers.ItemNameIndex;
 import com.chanceman.managers.ObtainedItemsManager;
 import com.chanceman.managers.RollAnimationManager;
 import com.chanceman.managers.RolledItemsManager;
-import net.runelite.api.ItemComposition;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.ui.PluginPanel;
 import net.runelite.client.util.LinkBrowser;
 
 import javax.swing.*;
+import javax.swing.Timer;
 import javax.swing.border.*;
 import java.awt.*;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.awt.image.BufferedImage;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.*;
 import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Panel for Chance Man.
@@ -26,8 +36,10 @@ import java.util.concurrent.ConcurrentHashMap;
  *  - Rolled
  *  - Rolled, not Obtained
  *  - Usable (in both sets)
+ *  - Locked, known drops (not rolled, dropped by an NPC in the drop cache)
  * Items are shown newest-first based on underlying manager insertion order; for Usable,
- * ordering follows rolled recency.
+ * ordering follows rolled recency. Locked items are listed by item ID, and right-clicking
+ * one offers its known drop sources.
  */
 public class ChanceManPanel extends PluginPanel
 {
@@ -37,11 +49,15 @@ public class ChanceManPanel extends PluginPanel
     private final HashSet<Integer> allTradeableItems;
     private final ClientThread clientThread;
     private final RollAnimationManager rollAnimationManager;
+    private final ItemNameIndex itemNameIndex;
+    private final DropCache dropCache;
+    private final TargetRecommender targetRecommender;
 
-    private final Map<Integer, ImageIcon> itemIconCache = new ConcurrentHashMap<>();
-    private final Map<Integer, String> itemNameCache = new ConcurrentHashMap<>();
-    private final Set<Integer> nameFetchInFlight = Collections.newSetFromMap(new ConcurrentHashMap<>());
-    private final Set<Integer> iconFetchInFlight = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    // Icons for the rows around the viewport; prefetched in one client-thread hop per scroll
+    private static final int ICON_CACHE_SIZE = 256;
+    private static final int PREFETCH_LOOKAHEAD_ROWS = 20;
+    private final PanelItemCache itemCache;
+    private boolean prefetchQueued = false;
 
     private final JLabel modeLabel = new JLabel("Items Rolled");
     private final JTextField searchField = new JTextField();
@@ -50,12 +66,16 @@ public class ChanceManPanel extends PluginPanel
     private final JLabel countLabel = new JLabel("0/0");
     private final JButton rollButton = new JButton("Roll");
 
+    private static final int TOP_TARGETS = 5;
+    private final DefaultListModel<String> targetsModel = new DefaultListModel<>();
+
     private enum ListMode
     {
         ROLLED("Rolled"),
         OBTAINED("Obtained"),
         ROLLED_NOT_OBTAINED("Rolled, not Obtained"),
-        USABLE("Usable");
+        USABLE("Usable"),
+        LOCKED_WITH_SOURCES("Locked, known drops");
 
         private final String label;
 
@@ -80,7 +100,8 @@ public class ChanceManPanel extends PluginPanel
             ListMode.ROLLED, "Items that have been rolled/unlocked (legacy: Unlocked).",
             ListMode.OBTAINED, "Items you have obtained. (legacy: Rolled).",
             ListMode.ROLLED_NOT_OBTAINED, "Items you have rolled, but have not obtained yet.",
-            ListMode.USABLE, "Items that are both obtained and rolled."
+            ListMode.USABLE, "Items that are both obtained and rolled.",
+            ListMode.LOCKED_WITH_SOURCES, "Locked items dropped by an NPC whose drop table you have viewed."
     );
 
     private volatile ListMode listMode = ListMode.ROLLED;
@@ -88,13 +109,35 @@ public class ChanceManPanel extends PluginPanel
 
     private final JComboBox<ListMode> modeDropdown = new JComboBox<>(ListMode.values());
 
+    // Bursts of change notifications (e.g. raid loot) collapse into one refresh per frame
+    private static final int UPDATE_COALESCE_MS = 16;
+    private final AtomicBoolean updateQueued = new AtomicBoolean();
+    private final Timer updateTimer = new Timer(UPDATE_COALESCE_MS, e -> refreshList());
+
+    // Search filtering runs here; results from superseded refreshes are dropped
+    private static final int SEARCH_DEBOUNCE_MS = 150;
+    private final Timer searchTimer = new Timer(SEARCH_DEBOUNCE_MS, e -> scheduleRefresh());
+    private final AtomicInteger refreshGeneration = new AtomicInteger();
+    // Unfiltered list of the last refresh; search keystrokes re-filter it instead of rebuilding it
+    private final AtomicInteger baseVersion = new AtomicInteger();
+    private volatile BaseList lastBase;
+    private final ExecutorService filterExecutor = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread t = new Thread(r, "ChanceMan-PanelSearch");
+        t.setDaemon(true);
+        return t;
+    });
+
     public ChanceManPanel(
             ObtainedItemsManager obtainedItemsManager,
             RolledItemsManager rolledItemsManager,
             ItemManager itemManager,
             HashSet<Integer> allTradeableItems,
             ClientThread clientThread,
-            RollAnimationManager rollAnimationManager
+            RollAnimationManager rollAnimationManager,
+            ItemNameIndex itemNameIndex,
+            DropCache dropCache,
+            TargetRecommender targetRecommender
     )
     {
         this.obtainedItemsManager = obtainedItemsManager;
@@ -103,6 +146,13 @@ public class ChanceManPanel extends PluginPanel
         this.allTradeableItems = allTradeableItems;
         this.clientThread = clientThread;
         this.rollAnimationManager = rollAnimationManager;
+        this.itemNameIndex = itemNameIndex;
+        this.dropCache = dropCache;
+        this.targetRecommender = targetRecommender;
+        this.itemCache = new PanelItemCache(itemManager, clientThread, itemNameIndex,
+                ICON_CACHE_SIZE, itemList::repaint);
+        updateTimer.setRepeats(false);
+        searchTimer.setRepeats(false);
         init();
     }
 
@@ -296,7 +346,7 @@ public class ChanceManPanel extends PluginPanel
             public void keyReleased(KeyEvent e)
             {
                 searchText = searchField.getText().toLowerCase();
-                updatePanel();
+                searchTimer.restart();
             }
         });
 
@@ -310,6 +360,20 @@ public class ChanceManPanel extends PluginPanel
     {
         itemList.setCellRenderer(new ItemCellRenderer());
         itemList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        itemList.addMouseListener(new MouseAdapter()
+        {
+            @Override
+            public void mousePressed(MouseEvent e)
+            {
+                maybeShowItemMenu(e);
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e)
+            {
+                maybeShowItemMenu(e);
+            }
+        });
 
         JScrollPane scroll = new JScrollPane(
                 itemList,
@@ -317,6 +381,7 @@ public class ChanceManPanel extends PluginPanel
                 JScrollPane.HORIZONTAL_SCROLLBAR_NEVER
         );
         scroll.setBorder(null);
+        scroll.getViewport().addChangeListener(e -> schedulePrefetch());
 
         JPanel wrap = new JPanel(new BorderLayout());
         wrap.setOpaque(false);
@@ -334,6 +399,8 @@ public class ChanceManPanel extends PluginPanel
         bottom.setOpaque(false);
         bottom.setLayout(new BoxLayout(bottom, BoxLayout.Y_AXIS));
 
+        bottom.add(Box.createVerticalStrut(10));
+        bottom.add(buildTargetsCard());
         bottom.add(Box.createVerticalStrut(10));
 
         JPanel countPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 0, 0));
@@ -357,6 +424,48 @@ public class ChanceManPanel extends PluginPanel
         return bottom;
     }
 
+    /** Cached NPCs ranked by expected new items per kill. */
+    private JPanel buildTargetsCard()
+    {
+        JPanel card = new JPanel(new BorderLayout(0, 4));
+        card.setOpaque(false);
+        card.setBorder(new CompoundBorder(
+                new LineBorder(new Color(80, 80, 80)),
+                new EmptyBorder(6, 6, 6, 6)));
+
+        JLabel title = new JLabel("Best targets");
+        title.setFont(new Font("SansSerif", Font.BOLD, 12));
+        title.setForeground(new Color(210, 210, 210));
+        title.setToolTipText("NPCs from your drop cache, ranked by expected new items per kill.");
+
+        JList<String> targets = new JList<>(targetsModel);
+        targets.setVisibleRowCount(TOP_TARGETS);
+        targets.setFont(new Font("SansSerif", Font.PLAIN, 11));
+        targets.setBackground(new Color(60, 63, 65));
+        targets.setForeground(new Color(220, 220, 220));
+        targets.setFocusable(false);
+
+        card.add(title, BorderLayout.NORTH);
+        card.add(targets, BorderLayout.CENTER);
+        return card;
+    }
+
+    private void showTargets(List<TargetScore> top)
+    {
+        targetsModel.clear();
+        if (top.isEmpty())
+        {
+            targetsModel.addElement("View NPC drop tables to get suggestions.");
+            return;
+        }
+        for (TargetScore t : top)
+        {
+            String level = t.getLevel() > 0 ? " (lvl " + t.getLevel() + ")" : "";
+            targetsModel.addElement(String.format("%s%s: %.3f/kill, %d new",
+                    t.getNpcName(), level, t.getExpectedNewItems(), t.getNewItemCount()));
+        }
+    }
+
     private void setMode(ListMode mode)
     {
         listMode = mode;
@@ -378,13 +487,60 @@ public class ChanceManPanel extends PluginPanel
             case USABLE:
                 modeLabel.setText("Items Usable");
                 break;
+            case LOCKED_WITH_SOURCES:
+                modeLabel.setText("Locked Items with Known Drops");
+                // Pull in cached tables not opened this session, then refresh again
+                dropCache.indexItemSources().thenRun(this::updatePanel);
+                break;
         }
     }
 
+    /**
+     * Schedule a list refresh. Safe to call from any thread; calls made
+     * before the pending refresh runs are folded into it.
+     */
     public void updatePanel()
     {
+        baseVersion.incrementAndGet();
+        scheduleRefresh();
+    }
+
+    /** Queue a refresh without invalidating the unfiltered list, e.g. for a new search. */
+    private void scheduleRefresh()
+    {
+        if (updateQueued.compareAndSet(false, true))
+        {
+            SwingUtilities.invokeLater(updateTimer::restart);
+        }
+    }
+
+    /** Stop background work; the panel must not be used afterwards. */
+    public void shutDown()
+    {
+        refreshGeneration.incrementAndGet();
+        SwingUtilities.invokeLater(() ->
+        {
+            updateTimer.stop();
+            searchTimer.stop();
+            itemCache.clear();
+        });
+        filterExecutor.shutdownNow();
+    }
+
+    private void refreshList()
+    {
+        updateQueued.set(false);
+        final int gen = refreshGeneration.incrementAndGet();
         final ListMode modeSnap = listMode;
         final String searchSnap = searchText;
+        final int version = baseVersion.get();
+
+        BaseList reusable = lastBase;
+        if (reusable != null && reusable.version == version)
+        {
+            filterAndShow(gen, reusable.items, searchSnap);
+            return;
+        }
 
         clientThread.invokeLater(() ->
         {
@@ -412,40 +568,133 @@ public class ChanceManPanel extends PluginPanel
                     base.addAll(rolled);
                     base.removeIf(id -> !obtained.contains(id));
                     break;
-            }
 
-            Collections.reverse(base);
+                case LOCKED_WITH_SOURCES:
+                    synchronized (allTradeableItems)
+                    {
+                        for (Integer id : allTradeableItems)
+                        {
+                            if (!rolled.contains(id) && dropCache.hasItemSources(id))
+                            {
+                                base.add(id);
+                            }
+                        }
+                    }
+                    Collections.sort(base);
+                    break;
+            }
 
-            if (searchSnap != null && !searchSnap.isEmpty())
+            if (modeSnap != ListMode.LOCKED_WITH_SOURCES)
             {
-                base.removeIf(id ->
-                {
-                    ItemComposition comp = itemManager.getItemComposition(id);
-                    String name = comp.getName();
-                    return name == null || !name.toLowerCase().contains(searchSnap);
-                });
+                Collections.reverse(base);
             }
 
-            final int total;
-            synchronized (allTradeableItems)
+            // Usually already indexed with the tradeable universe; fill any gaps
+            // here so later searches over this list can run off the client thread
+            for (Integer id : base)
             {
-                total = allTradeableItems.size();
+                if (!itemNameIndex.contains(id))
+                {
+                    itemNameIndex.put(id, itemManager.getItemComposition(id).getName());
+                }
             }
 
-            SwingUtilities.invokeLater(() ->
+            List<Integer> built = Collections.unmodifiableList(base);
+            lastBase = new BaseList(version, built);
+            filterAndShow(gen, built, searchSnap);
+        });
+    }
+
+    /**
+     * Filter {@code base} by the search text off the EDT and show the result,
+     * unless a newer refresh has started meanwhile. {@code base} must not
+     * change afterwards: {@link ItemNameIndex#filter} narrows by identity.
+     */
+    private void filterAndShow(int gen, List<Integer> base, String searchSnap)
+    {
+        final int total;
+        synchronized (allTradeableItems)
+        {
+            total = allTradeableItems.size();
+        }
+
+        try
+        {
+            filterExecutor.execute(() ->
             {
-                listModel.clear();
-                for (Integer id : base)
+                if (gen != refreshGeneration.get())
                 {
-                    listModel.addElement(id);
+                    return;
                 }
-                countLabel.setText(base.size() + "/" + total);
-
-                // extra stability during mode swaps
-                itemList.revalidate();
-                itemList.repaint();
+                List<Integer> shown = itemNameIndex.filter(base, searchSnap);
+                List<TargetScore> top = targetRecommender.top(TOP_TARGETS);
+                SwingUtilities.invokeLater(() ->
+                {
+                    if (gen != refreshGeneration.get())
+                    {
+                        return;
+                    }
+                    applyDiff(shown);
+                    showTargets(top);
+                    countLabel.setText(shown.size() + "/" + total);
+                    schedulePrefetch();
+                });
             });
-        });
+        }
+        catch (RejectedExecutionException ignored)
+        {
+            // Panel shut down
+        }
+    }
+
+    /**
+     * Bring {@link #listModel} in line with {@code target} by replacing only
+     * the span between the longest common prefix and suffix. A single roll or
+     * obtain therefore fires one small insert/remove instead of a full clear
+     * and re-add, and mode swaps still cost at most two events.
+     */
+    private void applyDiff(List<Integer> target)
+    {
+        int oldSize = listModel.getSize();
+        int newSize = target.size();
+
+        int prefix = 0;
+        int maxPrefix = Math.min(oldSize, newSize);
+        while (prefix < maxPrefix && listModel.get(prefix).equals(target.get(prefix)))
+        {
+            prefix++;
+        }
+
+        int suffix = 0;
+        int maxSuffix = maxPrefix - prefix;
+        while (suffix < maxSuffix
+                && listModel.get(oldSize - 1 - suffix).equals(target.get(newSize - 1 - suffix)))
+        {
+            suffix++;
+        }
+
+        int oldEnd = oldSize - suffix;
+        int newEnd = newSize - suffix;
+        if (prefix < oldEnd)
+        {
+            listModel.removeRange(prefix, oldEnd - 1);
+        }
+        if (prefix < newEnd)
+        {
+            listModel.addAll(prefix, target.subList(prefix, newEnd));
+        }
+    }
+
+    private static final class BaseList
+    {
+        final int version;
+        final List<Integer> items;
+
+        BaseList(int version, List<Integer> items)
+        {
+            this.version = version;
+            this.items = items;
+        }
     }
 
     private class ItemCellRenderer extends JPanel implements ListCellRenderer<Integer>
@@ -469,26 +718,12 @@ public class ChanceManPanel extends PluginPanel
                 JList<? extends Integer> list, Integer value, int index,
                 boolean isSelected, boolean cellHasFocus)
         {
-            ImageIcon ico = itemIconCache.get(value);
-            if (ico != null)
-            {
-                icon.setIcon(ico);
-            }
-            else
-            {
-                icon.setIcon(null);
-                requestItemIcon(value, list, index);
-            }
-
-            String cached = itemNameCache.get(value);
-            if (cached != null)
+            icon.setIcon(itemCache.getIcon(value));
+            String cached = itemCache.getName(value);
+            name.setText(cached != null ? cached : "Loading...");
+            if (!itemCache.isLoaded(value))
             {
-                name.setText(cached);
-            }
-            else
-            {
-                name.setText("Loading...");
-                requestItemName(value, list, index);
+                schedulePrefetch();
             }
 
             setBackground(isSelected ? list.getSelectionBackground() : new Color(60, 63, 65));
@@ -497,77 +732,94 @@ public class ChanceManPanel extends PluginPanel
         }
     }
 
-    private void requestItemName(int itemId, JList<?> list, int index)
+    /**
+     * Queue one prefetch of the visible rows plus a lookahead window on each
+     * side. Calls made before it runs (e.g. one per cell during a paint) are
+     * folded into it.
+     */
+    private void schedulePrefetch()
     {
-        if (!nameFetchInFlight.add(itemId))
+        if (prefetchQueued)
         {
             return;
         }
-
-        clientThread.invokeLater(() ->
+        prefetchQueued = true;
+        SwingUtilities.invokeLater(() ->
         {
-            String resolved = "Unknown";
-            try
+            prefetchQueued = false;
+            int size = listModel.getSize();
+            if (size == 0)
             {
-                ItemComposition comp = itemManager.getItemComposition(itemId);
-                if (comp.getName() != null)
-                {
-                    resolved = comp.getName();
-                }
+                return;
             }
-            catch (Exception ignored)
+            int first = Math.max(0, itemList.getFirstVisibleIndex());
+            int last = itemList.getLastVisibleIndex();
+            if (last < 0)
             {
+                last = first;
             }
-
-            final String finalName = resolved;
-            SwingUtilities.invokeLater(() ->
+            int from = Math.max(0, first - PREFETCH_LOOKAHEAD_ROWS);
+            int to = Math.min(size - 1, last + PREFETCH_LOOKAHEAD_ROWS);
+            List<Integer> ids = new ArrayList<>(to - from + 1);
+            for (int i = from; i <= to; i++)
             {
-                itemNameCache.put(itemId, finalName);
-                nameFetchInFlight.remove(itemId);
-
-                Rectangle r = list.getCellBounds(index, index);
-                if (r != null) list.repaint(r);
-                else list.repaint();
-            });
+                ids.add(listModel.get(i));
+            }
+            itemCache.prefetch(ids);
         });
     }
 
-    private void requestItemIcon(int itemId, JList<?> list, int index)
+    private void maybeShowItemMenu(MouseEvent e)
     {
-        if (!iconFetchInFlight.add(itemId))
+        if (!e.isPopupTrigger())
+        {
+            return;
+        }
+        int index = itemList.locationToIndex(e.getPoint());
+        Rectangle cell = index >= 0 ? itemList.getCellBounds(index, index) : null;
+        if (cell == null || !cell.contains(e.getPoint()))
         {
             return;
         }
+        itemList.setSelectedIndex(index);
+        int itemId = listModel.get(index);
+
+        JPopupMenu menu = new JPopupMenu();
+        JMenuItem sources = new JMenuItem("Sources");
+        sources.setEnabled(!rolledItemsManager.isRolled(itemId));
+        sources.addActionListener(ev -> showSources(itemId));
+        menu.add(sources);
+        menu.show(itemList, e.getX(), e.getY());
+    }
 
-        clientThread.invokeLater(() ->
+    /** List the cached NPC tables that drop an item, most common rate first. */
+    private void showSources(int itemId)
+    {
+        dropCache.indexItemSources().whenComplete((v, ex) -> SwingUtilities.invokeLater(() ->
         {
-            ImageIcon resolved = null;
-            try
-            {
-                BufferedImage img = itemManager.getImage(itemId, 1, false);
-                if (img != null)
-                {
-                    resolved = new ImageIcon(img);
-                }
-            }
-            catch (Exception ignored)
+            List<ItemSource> found = dropCache.getItemSources(itemId);
+            String name = itemNameIndex.getName(itemId);
+            String title = "Sources: " + (name != null ? name : "Item " + itemId);
+            if (found.isEmpty())
             {
+                JOptionPane.showMessageDialog(this,
+                        "No cached drop table lists this item yet.\nView an NPC's drops to add its table.",
+                        title, JOptionPane.PLAIN_MESSAGE);
+                return;
             }
 
-            final ImageIcon finalIcon = resolved;
-            SwingUtilities.invokeLater(() ->
+            DefaultListModel<String> rows = new DefaultListModel<>();
+            for (ItemSource src : found)
             {
-                if (finalIcon != null)
-                {
-                    itemIconCache.put(itemId, finalIcon);
-                }
-                iconFetchInFlight.remove(itemId);
-
-                Rectangle r = list.getCellBounds(index, index);
-                if (r != null) list.repaint(r);
-                else list.repaint();
-            });
-        });
+                String level = src.getLevel() > 0 ? " (lvl " + src.getLevel() + ")" : "";
+                String rate = src.getRarity() == null || src.getRarity().isEmpty() ? "?" : src.getRarity();
+                String section = src.getSection() == null ? "" : " - " + src.getSection();
+                rows.addElement(src.getNpcName() + level + ": " + rate + section);
+            }
+            JScrollPane scroll = new JScrollPane(new JList<>(rows));
+            scroll.setPreferredSize(new Dimension(320, 200));
+            JOptionPane.showMessageDialog(this, scroll, title, JOptionPane.PLAIN_MESSAGE);
+        }));
     }
 
     private void performManualRoll(java.awt.event.ActionEvent e)
@@ -2,8 +2,14 @@ package com.chanceman;
 
 import com.chanceman.account.AccountChanged;
 import com.chanceman.account.AccountManager;
+import com.chanceman.account.AccountState;
+import com.chanceman.account.AccountStateCache;
 import com.chanceman.drops.DropFetcher;
 import com.chanceman.drops.DropCache;
+import com.chanceman.drops.DropPrefetcher;
+import com.chanceman.drops.TargetRecommender;
+import com.chanceman.metrics.PerfMetrics;
+import com.chanceman.metrics.PerfOverlay;
 import com.chanceman.filters.EnsouledHeadMapping;
 import com.chanceman.menus.ActionHandler;
 import com.chanceman.filters.ItemsFilter;
@@ -14,9 +20,12 @@ import com.chanceman.ui.MusicWidgetController;
 import com.chanceman.ui.NpcSearchService;
 import com.chanceman.ui.MusicSearchButton;
 import com.chanceman.ui.ItemDimmerController;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.gson.Gson;
 import com.google.inject.Provides;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import com.chanceman.managers.ItemNameIndex;
 import com.chanceman.managers.RollAnimationManager;
 import com.chanceman.managers.RolledItemsManager;
 import com.chanceman.managers.ObtainedItemsManager;
@@ -44,6 +53,7 @@ import java.util.*;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
+@Slf4j
 @PluginDescriptor(
         name = "ChanceMan",
         description = "Locks tradeable items until obtained via a random roll.",
@@ -63,14 +73,20 @@ public class ChanceManPlugin extends Plugin
     @Inject private ChanceManConfig config;
     @Inject private ConfigManager configManager;
     @Inject private AccountManager accountManager;
+    @Inject private AccountStateCache accountStateCache;
     @Inject private ObtainedItemsManager obtainedItemsManager;
     @Inject private RolledItemsManager rolledItemsManager;
     @Inject private RollAnimationManager rollAnimationManager;
+    @Inject private ItemNameIndex itemNameIndex;
     @Inject private EventBus eventBus;
     @Inject private ItemsFilter itemsFilter;
     @Inject private DropsTabUI dropsTabUI;
     @Inject private DropFetcher dropFetcher;
     @Inject private DropCache dropCache;
+    @Inject private DropPrefetcher dropPrefetcher;
+    @Inject private TargetRecommender targetRecommender;
+    @Inject private PerfMetrics perfMetrics;
+    @Inject private PerfOverlay perfOverlay;
     @Inject private MusicWidgetController musicWidgetController;
     @Inject private NpcSearchService npcSearchService;
     @Inject private MusicSearchButton musicSearchButton;
@@ -84,6 +100,8 @@ public class ChanceManPlugin extends Plugin
     private static final int GE_SEARCH_BUILD_SCRIPT = 751;
     private volatile boolean tradeableItemsInitialized = false;
     private boolean featuresActive = false;
+    // Account whose sets and tradeables are loaded right now; null before the first login
+    private String loadedAccount;
 
     @Provides
     ChanceManConfig provideConfig(ConfigManager configManager)
@@ -116,10 +134,10 @@ public class ChanceManPlugin extends Plugin
         accountManager.init();
         dropFetcher.startUp();
         dropCache.startUp();
-        dropCache.getAllNpcData();
         eventBus.register(accountManager);
         overlayManager.add(chanceManOverlay);
         overlayManager.add(dropsTooltipOverlay);
+        applyPerfSettings();
 
         fileExecutor = Executors.newSingleThreadExecutor(r -> {
             Thread t = new Thread(r, "ChanceMan-FileIO");
@@ -128,6 +146,7 @@ public class ChanceManPlugin extends Plugin
         });
         obtainedItemsManager.setExecutor(fileExecutor);
         rolledItemsManager.setExecutor(fileExecutor);
+        obtainedItemsManager.setObtainListener(targetRecommender);
 
         if (accountManager.ready())
         {
@@ -142,12 +161,14 @@ public class ChanceManPlugin extends Plugin
 
             obtainedItemsManager.loadObtainedItems();
             rolledItemsManager.loadRolledItems();
+            loadedAccount = accountManager.getPlayerName();
         }
 
         itemDimmerController.setEnabled(config.dimLockedItemsEnabled());
         itemDimmerController.setDimOpacity(config.dimLockedItemsOpacity());
         eventBus.register(itemDimmerController);
         rollAnimationManager.startUp();
+        eventBus.register(rollAnimationManager);
         dropsTabUI.startUp();
 
         chanceManPanel = new ChanceManPanel(
@@ -156,7 +177,10 @@ public class ChanceManPlugin extends Plugin
                 itemManager,
                 allTradeableItems,
                 clientThread,
-                rollAnimationManager
+                rollAnimationManager,
+                itemNameIndex,
+                dropCache,
+                targetRecommender
         );
         rollAnimationManager.setChanceManPanel(chanceManPanel);
 
@@ -181,6 +205,7 @@ public class ChanceManPlugin extends Plugin
 
         eventBus.register(musicWidgetController);
         eventBus.register(musicSearchButton);
+        eventBus.register(dropPrefetcher);
         musicSearchButton.onStart();
         tradeableItemsInitialized = false;
         rollAnimationManager.setAllTradeableItems(Collections.<Integer>emptySet());
@@ -193,6 +218,8 @@ public class ChanceManPlugin extends Plugin
 
         tutorialIslandGuard.shutDown();
 
+        accountStateCache.clear();
+        loadedAccount = null;
         try
         {
             if (obtainedItemsManager != null) obtainedItemsManager.stopWatching();
@@ -203,7 +230,11 @@ public class ChanceManPlugin extends Plugin
         catch (Exception ignored) { /* Non-fatal */ }
 
         clientThread.invokeLater(musicWidgetController::restore);
+        musicWidgetController.clearItemSprites();
+        musicWidgetController.closeSearchDialog();
         musicSearchButton.onStop();
+        eventBus.unregister(dropPrefetcher);
+        dropPrefetcher.reset();
         eventBus.unregister(musicSearchButton);
         eventBus.unregister(musicWidgetController);
         dropsTabUI.shutDown();
@@ -220,9 +251,12 @@ public class ChanceManPlugin extends Plugin
         {
             overlayManager.remove(chanceManOverlay);
             overlayManager.remove(dropsTooltipOverlay);
+            overlayManager.remove(perfOverlay);
         }
+        chanceManOverlay.shutdown();
         if (rollAnimationManager != null)
         {
+            eventBus.unregister(rollAnimationManager);
             rollAnimationManager.shutdown();
         }
         if (fileExecutor != null)
@@ -234,6 +268,7 @@ public class ChanceManPlugin extends Plugin
             {
                 obtainedItemsManager.setExecutor(null);
                 obtainedItemsManager.setOnChange(null);
+                obtainedItemsManager.setObtainListener(null);
             }
             if (rolledItemsManager != null)
             {
@@ -245,7 +280,12 @@ public class ChanceManPlugin extends Plugin
         dropCache.shutdown();
 
         // reset panel/tradeable state
+        if (chanceManPanel != null)
+        {
+            chanceManPanel.shutDown();
+        }
         chanceManPanel = null;
+        itemNameIndex.clear();
         allTradeableItems.clear();
         tradeableItemsInitialized = false;
         rollAnimationManager.setAllTradeableItems(Collections.emptySet());
@@ -264,31 +304,19 @@ public class ChanceManPlugin extends Plugin
     {
         clientThread.invokeLater(() ->
         {
+            long start = perfMetrics.start();
             tradeableItemsInitialized = false;
 
             allTradeableItems.clear();
-            for (int i = 0; i < 40000; i++)
-            {
-                ItemComposition comp = itemManager.getItemComposition(i);
-                if (comp != null && comp.isTradeable() && !isNotTracked(i)
-                        && !ItemsFilter.isBlocked(i, config))
-                {
-                    if (config.freeToPlay() && comp.isMembers())
-                    {
-                        continue;
-                    }
-                    if (!ItemsFilter.isPoisonEligible(i, config.requireWeaponPoison(),
-                            rolledItemsManager.getRolledItems()))
-                    {
-                        continue;
-                    }
-                    allTradeableItems.add(i);
-                }
-            }
+            collectTradeableItems(allTradeableItems);
             rollAnimationManager.setAllTradeableItems(allTradeableItems);
+            targetRecommender.setTradeableItems(allTradeableItems);
+            // Score every cached table, not just those opened this session
+            dropCache.indexItemSources();
 
             // Only now mark initialized (prevents early rolls on login/inventory scan).
             tradeableItemsInitialized = true;
+            perfMetrics.stop(PerfMetrics.REFRESH_TRADEABLES, start);
 
             if (chanceManPanel != null)
             {
@@ -297,6 +325,34 @@ public class ChanceManPlugin extends Plugin
         });
     }
 
+    /**
+     * Scans the item ID space and adds every rollable tradeable to {@code out},
+     * indexing its name on the way. Must run on the client thread.
+     */
+    @VisibleForTesting
+    void collectTradeableItems(Set<Integer> out)
+    {
+        for (int i = 0; i < 40000; i++)
+        {
+            ItemComposition comp = itemManager.getItemComposition(i);
+            if (comp != null && comp.isTradeable() && !isNotTracked(i)
+                    && !ItemsFilter.isBlocked(i, config))
+            {
+                if (config.freeToPlay() && comp.isMembers())
+                {
+                    continue;
+                }
+                if (!ItemsFilter.isPoisonEligible(i, config.requireWeaponPoison(),
+                        rolledItemsManager.getRolledItems()))
+                {
+                    continue;
+                }
+                out.add(i);
+                itemNameIndex.put(i, comp.getName());
+            }
+        }
+    }
+
     @Subscribe
     public void onConfigChanged(net.runelite.client.events.ConfigChanged event)
     {
@@ -309,15 +365,20 @@ public class ChanceManPlugin extends Plugin
             case "enableFlatpacks":
             case "enableItemSets":
             case "requireWeaponPoison":
+                accountStateCache.invalidateTradeables();
                 refreshTradeableItems();
                 break;
             case "showRareDropTable":
             case "showGemDropTable":
                 dropCache.clearAllCaches();
-                refreshDropsViewerIfOpen();
+                rebuildDropsViewerIfOpen();
                 break;
             case "sortDropsByRarity":
-                refreshDropsViewerIfOpen();
+                rebuildDropsViewerIfOpen();
+                break;
+            case "showPerfOverlay":
+            case "perfLogIntervalMinutes":
+                applyPerfSettings();
                 break;
             case "dimLockedItemsEnabled":
             case "dimLockedItemsOpacity":
@@ -327,19 +388,37 @@ public class ChanceManPlugin extends Plugin
         }
     }
 
+    /**
+     * Load the new account's state. An account used recently is restored from
+     * {@link AccountStateCache} and reconciled with disk and cloud in the
+     * background; any other account is loaded and scanned as on first login.
+     */
     @Subscribe
     private void onAccountChanged(AccountChanged event)
     {
         if (!featuresActive) return;
-        dropCache.pruneOldCaches();
+        String next = event.getPlayerName();
+        if (loadedAccount != null && !loadedAccount.equals(next))
+        {
+            accountStateCache.put(captureAccountState(loadedAccount));
+        }
 
         obtainedItemsManager.stopWatching();
         rolledItemsManager.stopWatching();
 
-        obtainedItemsManager.loadObtainedItems();
-        rolledItemsManager.loadRolledItems();
-
-        refreshTradeableItems();
+        AccountState cached = accountStateCache.take(next);
+        if (cached != null)
+        {
+            restoreAccountState(cached);
+        }
+        else
+        {
+            dropCache.startUp();
+            obtainedItemsManager.loadObtainedItems();
+            rolledItemsManager.loadRolledItems();
+            refreshTradeableItems();
+        }
+        loadedAccount = next;
         if (chanceManPanel != null)
         {
             SwingUtilities.invokeLater(chanceManPanel::updatePanel);
@@ -349,6 +428,52 @@ public class ChanceManPlugin extends Plugin
         rolledItemsManager.startWatching();
     }
 
+    private AccountState captureAccountState(String playerName)
+    {
+        return new AccountState(
+                playerName,
+                obtainedItemsManager.getObtainedItems(),
+                rolledItemsManager.getRolledItems(),
+                tradeableItemsInitialized ? new HashSet<>(allTradeableItems) : null,
+                dropCache.snapshotIndex()
+        );
+    }
+
+    /** Put a cached account state live, then reconcile its sets off the client thread. */
+    private void restoreAccountState(AccountState state)
+    {
+        long start = perfMetrics.start();
+        dropCache.restoreIndex(state.getDropIndex());
+        obtainedItemsManager.restore(state.getObtained());
+        rolledItemsManager.restore(state.getRolled());
+
+        if (state.getTradeables() == null)
+        {
+            refreshTradeableItems();
+        }
+        else
+        {
+            allTradeableItems.clear();
+            allTradeableItems.addAll(state.getTradeables());
+            rollAnimationManager.setAllTradeableItems(allTradeableItems);
+            targetRecommender.setTradeableItems(allTradeableItems);
+            dropCache.indexItemSources();
+            tradeableItemsInitialized = true;
+        }
+        perfMetrics.stop(PerfMetrics.ACCOUNT_RESTORE, start);
+        log.debug("Restored cached state for {}", state.getPlayerName());
+
+        obtainedItemsManager.reconcileInBackground();
+        rolledItemsManager.reconcileInBackground().thenAccept(changed ->
+        {
+            // Poison eligibility depends on the rolled set, so rescan if reconciling changed it
+            if (changed)
+            {
+                refreshTradeableItems();
+            }
+        });
+    }
+
     @Subscribe
     public void onGameTick(GameTick event)
     {
@@ -362,6 +487,22 @@ public class ChanceManPlugin extends Plugin
         {
             rollAnimationManager.process();
         }
+        perfMetrics.maybeLogSummary(config.perfLogIntervalMinutes());
+    }
+
+    /** Collect metrics only while something displays or logs them. */
+    private void applyPerfSettings()
+    {
+        boolean overlay = config.showPerfOverlay();
+        perfMetrics.setEnabled(overlay || config.perfLogIntervalMinutes() > 0);
+        if (overlay)
+        {
+            overlayManager.add(perfOverlay);
+        }
+        else
+        {
+            overlayManager.remove(perfOverlay);
+        }
     }
 
     @Subscribe
@@ -440,7 +581,7 @@ public class ChanceManPlugin extends Plugin
 
         if (event.getContainerId() == 93)
         {
-            Set<Integer> processed = new HashSet<>();
+            Set<Integer> processed = new LinkedHashSet<>();
             for (net.runelite.api.Item item : event.getItemContainer().getItems())
             {
                 int rawItemId = item.getId();
@@ -451,14 +592,18 @@ public class ChanceManPlugin extends Plugin
                     continue;
                 }
 
-                if (!processed.contains(canonicalId) && !obtainedItemsManager.isObtained(canonicalId))
+                if (!obtainedItemsManager.isObtained(canonicalId))
                 {
-                    obtainedItemsManager.markObtained(canonicalId);
-                    rollAnimationManager.enqueueRoll(canonicalId);
                     processed.add(canonicalId);
                 }
             }
-            if (!processed.isEmpty()) refreshDropsViewerIfOpen();
+            if (!processed.isEmpty())
+            {
+                // One save for the whole container change (raid chests, caskets)
+                obtainedItemsManager.markObtainedAll(processed);
+                processed.forEach(rollAnimationManager::enqueueRoll);
+                refreshDropsViewerIfOpen();
+            }
         }
     }
 
@@ -473,7 +618,17 @@ public class ChanceManPlugin extends Plugin
                 || worldTypes.contains(WorldType.TOURNAMENT_WORLD));
     }
 
+    /** Update obtained markers and progress in the open drops viewer. */
     private void refreshDropsViewerIfOpen()
+    {
+        if (musicWidgetController != null && musicWidgetController.hasData())
+        {
+            musicWidgetController.refreshObtainedState();
+        }
+    }
+
+    /** Fully rebuild the open drops viewer, e.g. after display settings change. */
+    private void rebuildDropsViewerIfOpen()
     {
         if (musicWidgetController != null
                 && musicWidgetController.hasData()
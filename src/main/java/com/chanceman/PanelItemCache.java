@@ -0,0 +1,136 @@
+package com.chanceman;
+
+import com.chanceman.managers.ItemNameIndex;
+import com.chanceman.ui.ItemImages;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.game.ItemManager;
+
+import javax.swing.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Icon and name source for the panel list renderer. Icons live in a bounded,
+ * access-ordered LRU; names come from the session {@link ItemNameIndex}.
+ * Misses are never resolved one cell at a time: callers hand over a whole
+ * range of item IDs and everything missing is resolved in a single
+ * client-thread task, followed by one repaint.
+ *
+ * <p>All methods must be called on the Swing event thread.</p>
+ */
+final class PanelItemCache
+{
+    private final ItemManager itemManager;
+    private final ClientThread clientThread;
+    private final ItemNameIndex itemNameIndex;
+    private final Runnable onLoaded;
+    private final LinkedHashMap<Integer, ImageIcon> icons;
+    private final Set<Integer> inFlight = new HashSet<>();
+
+    PanelItemCache(ItemManager itemManager, ClientThread clientThread, ItemNameIndex itemNameIndex,
+                   int capacity, Runnable onLoaded)
+    {
+        this.itemManager = itemManager;
+        this.clientThread = clientThread;
+        this.itemNameIndex = itemNameIndex;
+        this.onLoaded = onLoaded;
+        this.icons = new LinkedHashMap<Integer, ImageIcon>(capacity + 1, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, ImageIcon> eldest)
+            {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** @return the cached icon, or {@code null} if it has not been loaded */
+    ImageIcon getIcon(int itemId)
+    {
+        return icons.get(itemId);
+    }
+
+    /** @return the item name, or {@code null} if it has not been loaded */
+    String getName(int itemId)
+    {
+        return itemNameIndex.getName(itemId);
+    }
+
+    boolean isLoaded(int itemId)
+    {
+        return icons.containsKey(itemId) && itemNameIndex.contains(itemId);
+    }
+
+    /**
+     * Resolve icons and names for every item in {@code itemIds} that is not
+     * cached or already being loaded, in one client-thread task.
+     */
+    void prefetch(Collection<Integer> itemIds)
+    {
+        List<Integer> missing = new ArrayList<>();
+        for (Integer id : itemIds)
+        {
+            if (!isLoaded(id) && inFlight.add(id))
+            {
+                missing.add(id);
+            }
+        }
+        if (missing.isEmpty())
+        {
+            return;
+        }
+
+        clientThread.invokeLater(() ->
+        {
+            Map<Integer, ImageIcon> loaded = new HashMap<>();
+            for (Integer id : missing)
+            {
+                // A null icon is cached too, so failed items are not retried on every repaint
+                ImageIcon icon = null;
+                try
+                {
+                    if (!itemNameIndex.contains(id))
+                    {
+                        String name = itemManager.getItemComposition(id).getName();
+                        itemNameIndex.put(id, name != null ? name : "Unknown");
+                    }
+                    BufferedImage img = itemManager.getImage(id, 1, false);
+                    if (img != null)
+                    {
+                        icon = new ImageIcon(img);
+                        // Sprite may still be decoding; repaint once it has pixels
+                        ItemImages.whenLoaded(img, () -> SwingUtilities.invokeLater(onLoaded));
+                    }
+                }
+                catch (Exception ignored)
+                {
+                    if (!itemNameIndex.contains(id))
+                    {
+                        itemNameIndex.put(id, "Unknown");
+                    }
+                }
+                loaded.put(id, icon);
+            }
+
+            SwingUtilities.invokeLater(() ->
+            {
+                icons.putAll(loaded);
+                inFlight.removeAll(missing);
+                onLoaded.run();
+            });
+        });
+    }
+
+    void clear()
+    {
+        icons.clear();
+        inFlight.clear();
+    }
+}
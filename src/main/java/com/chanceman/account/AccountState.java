@@ -0,0 +1,28 @@
+package com.chanceman.account;
+
+import com.chanceman.drops.DropIndexSnapshot;
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * What the plugin had loaded for one account when it was switched away from:
+ * the reconciled obtained and rolled sets, the tradeable item universe and
+ * the drop cache index.
+ */
+@Value
+public class AccountState
+{
+	String playerName;
+	Set<Integer> obtained;
+	Set<Integer> rolled;
+	/** Null if the tradeable scan had not finished or was invalidated since. */
+	Set<Integer> tradeables;
+	/** Null if the drop cache had not indexed this account. */
+	DropIndexSnapshot dropIndex;
+
+	AccountState withoutTradeables()
+	{
+		return new AccountState(playerName, obtained, rolled, null, dropIndex);
+	}
+}
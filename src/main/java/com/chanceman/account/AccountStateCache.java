@@ -0,0 +1,67 @@
+package com.chanceman.account;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the state of the most recently used accounts in memory so switching
+ * back to one can restore it at once instead of reloading from disk and cloud
+ * and rescanning every item. Restored state is reconciled in the background
+ * afterwards, so a stale entry only lasts until that finishes.
+ */
+@Slf4j
+@Singleton
+public class AccountStateCache
+{
+	static final int MAX_ACCOUNTS = 4;
+
+	private final LinkedHashMap<String, AccountState> states =
+		new LinkedHashMap<String, AccountState>(MAX_ACCOUNTS + 1, 0.75f, true)
+		{
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, AccountState> eldest)
+			{
+				if (size() > MAX_ACCOUNTS)
+				{
+					log.debug("Evicting cached state for {}", eldest.getKey());
+					return true;
+				}
+				return false;
+			}
+		};
+
+	public synchronized void put(AccountState state)
+	{
+		states.put(state.getPlayerName(), state);
+	}
+
+	/**
+	 * Take the cached state for an account. The entry is removed, since the
+	 * restored account becomes the live one and is stored again when left.
+	 *
+	 * @return the cached state, or null if the account is not cached
+	 */
+	public synchronized AccountState take(String playerName)
+	{
+		return playerName == null ? null : states.remove(playerName);
+	}
+
+	/** Forget every cached tradeable universe, e.g. after a filter setting changed. */
+	public synchronized void invalidateTradeables()
+	{
+		states.replaceAll((name, state) -> state.withoutTradeables());
+	}
+
+	public synchronized void clear()
+	{
+		states.clear();
+	}
+
+	public synchronized int size()
+	{
+		return states.size();
+	}
+}
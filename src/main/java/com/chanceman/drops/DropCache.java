@@ -4,13 +4,18 @@ import static net.runelite.client.RuneLite.RUNELITE_DIR;
 
 import com.chanceman.account.AccountManager;
 import com.google.gson.Gson;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import lombok.extern.slf4j.Slf4j;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -19,13 +24,18 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * Persistent drop-table cache backed by JSON files in the user's RuneLite
- * directory. The cache is mirrored in memory to make name-based lookups and
- * searches effectively instantaneous.
+ * directory. Two tiers sit in front of the disk: a lightweight index of every
+ * cached NPC (name, level, ID and file) that stays resident for searches, and
+ * a small LRU of fully materialized tables that are loaded lazily on demand.
  */
 @Slf4j
 @Singleton
@@ -35,12 +45,100 @@ public class DropCache
     private final AccountManager accountManager;
     private final DropFetcher dropFetcher;
     private static final Duration MAX_AGE = Duration.ofDays(7);
+    private static final int MAX_TABLES_IN_MEMORY = 32;
+    private static final int MAX_SEARCH_RESULTS = 20;
+    private static final int MIN_LOCAL_SEARCH_RESULTS = 5;
+    private static final String BUNDLED_NPC_NAMES = "/com/chanceman/npc_names.txt";
     private final Map<Path, Object> writeLocks = new ConcurrentHashMap<>();
-    private final Map<Path, NpcDropData> cache = new ConcurrentHashMap<>();
+    private final Map<Path, NpcIndexEntry> index = new ConcurrentHashMap<>();
     private final Map<String, Path> nameIndex = new ConcurrentHashMap<>();
-    private volatile boolean indexLoaded = false;
+    private final Map<String, InFlightLoad> inFlight = new ConcurrentHashMap<>();
+    private final DropTableLru tables = new DropTableLru(MAX_TABLES_IN_MEMORY);
+    private final NpcNameIndex cachedNames = new NpcNameIndex();
+    private final NpcNameIndex bundledNames = new NpcNameIndex();
+    private final ItemSourceIndex itemSources = new ItemSourceIndex();
+    private final AtomicBoolean bundledNamesLoaded = new AtomicBoolean();
+    private final LongAdder sharedLoads = new LongAdder();
+    private final LongAdder wikiFetches = new LongAdder();
+    private final Object indexLock = new Object();
+    private volatile Path indexedDir;
+    private volatile CompletableFuture<Void> indexBootstrap;
+    private volatile CompletableFuture<Void> sourcesBootstrap;
 
-    // Dedicated IO executor so we dont block the common ForkJoinPool with file ops
+    /**
+     * A load shared by every caller asking for the same NPC. Each caller gets
+     * its own dependent future; the load itself, including a wiki request in
+     * flight, is only cancelled once every caller has cancelled theirs.
+     */
+    private static final class InFlightLoad
+    {
+        final CompletableFuture<NpcDropData> promise = new CompletableFuture<>();
+        // Callers still waiting; 0 once the load has been abandoned
+        private final AtomicInteger callers = new AtomicInteger(1);
+        private volatile CompletableFuture<?> fetch;
+
+        /** Join the load unless every earlier caller has already given up on it. */
+        boolean retain()
+        {
+            for (;;)
+            {
+                int n = callers.get();
+                if (n == 0)
+                {
+                    return false;
+                }
+                if (callers.compareAndSet(n, n + 1))
+                {
+                    return true;
+                }
+            }
+        }
+
+        /** @return true if this was the last caller, in which case the load is cancelled */
+        boolean release()
+        {
+            if (callers.decrementAndGet() != 0)
+            {
+                return false;
+            }
+            promise.cancel(false);
+            CompletableFuture<?> f = fetch;
+            if (f != null)
+            {
+                f.cancel(false);
+            }
+            return true;
+        }
+
+        boolean isAbandoned()
+        {
+            return callers.get() == 0;
+        }
+
+        /** Fail the load for every caller, e.g. when its queued work is discarded. */
+        void abort(Throwable cause)
+        {
+            callers.set(0);
+            promise.completeExceptionally(cause);
+            CompletableFuture<?> f = fetch;
+            if (f != null)
+            {
+                f.cancel(false);
+            }
+        }
+
+        void setFetch(CompletableFuture<?> fetch)
+        {
+            this.fetch = fetch;
+            if (isAbandoned())
+            {
+                fetch.cancel(false);
+            }
+        }
+    }
+
+    // Dedicated IO executor so we dont block the common ForkJoinPool with file ops;
+    // virtual threads where available, see IoExecutors
     private ExecutorService ioExecutor;
 
     @Inject
@@ -51,31 +149,134 @@ public class DropCache
         this.dropFetcher = dropFetcher;
     }
 
-    /** Preload on-disk index and prune stale cache entries. */
+    /** Start indexing the on-disk cache in the background and prune stale entries. */
     public void startUp()
     {
         ensureExecutor();
+        loadBundledNames();
         String player = accountManager.getPlayerName();
         if (player == null || player.isEmpty()) { return; }
-        loadIndex();
+        startIndexing();
         pruneOldCaches();
     }
 
     /**
      * Load from disk if possible; otherwise fetch from the wiki, write the
      * JSON, and return the data. Results without drop-table sections are
-     * discarded and never cached.
+     * discarded and never cached. Concurrent requests for the same NPC share
+     * a single load; cancelling the returned future withdraws this caller,
+     * and the shared load (with its wiki request) is cancelled once no
+     * caller is left waiting for it.
      */
     public CompletableFuture<NpcDropData> get(int npcId, String name, int level)
     {
-        loadIndex();
+        final String key = npcId + ":" + buildNameKey(name, level);
+        for (;;)
+        {
+            InFlightLoad existing = inFlight.get(key);
+            if (existing != null)
+            {
+                if (existing.retain())
+                {
+                    sharedLoads.increment();
+                    return attach(key, existing);
+                }
+                // Abandoned by its callers; replace it
+                inFlight.remove(key, existing);
+                continue;
+            }
+
+            InFlightLoad created = new InFlightLoad();
+            if (inFlight.putIfAbsent(key, created) != null)
+            {
+                continue;
+            }
+            load(npcId, name, level, created).whenComplete((data, ex) ->
+            {
+                inFlight.remove(key, created);
+                if (ex != null)
+                {
+                    created.promise.completeExceptionally(ex);
+                }
+                else
+                {
+                    created.promise.complete(data);
+                }
+            });
+            return attach(key, created);
+        }
+    }
+
+    /** Hand out a dependent copy so one caller cancelling cannot fail the others. */
+    private CompletableFuture<NpcDropData> attach(String key, InFlightLoad load)
+    {
+        CompletableFuture<NpcDropData> copy = load.promise.thenApply(Function.identity());
+        copy.whenComplete((data, ex) ->
+        {
+            if (copy.isCancelled() && !load.promise.isDone() && load.release())
+            {
+                inFlight.remove(key, load);
+                log.debug("Cancelled drop table load {}, no callers left", key);
+            }
+        });
+        return copy;
+    }
+
+    /**
+     * Warm the cache for an NPC without handing its table to the caller.
+     *
+     * @return completes with {@code true} if the wiki had to be queried,
+     * {@code false} if a fresh copy was already on disk
+     */
+    public CompletableFuture<Boolean> prefetch(int npcId, String name, int level)
+    {
+        startIndexing();
+        ExecutorService executor = ensureExecutor();
+        return CompletableFuture.supplyAsync(() ->
+        {
+            try
+            {
+                Path file = resolveCacheFile(npcId, name, level);
+                return file != null && Files.exists(file) && isFresh(file);
+            }
+            catch (IOException ex)
+            {
+                return false;
+            }
+        }, executor).thenCompose(local -> local
+                ? CompletableFuture.completedFuture(false)
+                : get(npcId, name, level).thenApply(data -> true));
+    }
+
+    /**
+     * Resolve the cache file for a lookup. Game NPC IDs differ from the wiki
+     * page IDs tables are stored under, so an ID lookup that misses on disk
+     * falls back to the name/level index before giving up.
+     */
+    private Path resolveCacheFile(int npcId, String name, int level) throws IOException
+    {
+        String safeName = name.replaceAll("[^A-Za-z0-9]", "_");
+        if (npcId == 0)
+        {
+            return findExistingCacheFile(safeName, level);
+        }
+        Path direct = getCacheFile(npcId, name, level);
+        if (Files.exists(direct))
+        {
+            return direct;
+        }
+        Path byName = safeName.isEmpty() ? null : findExistingCacheFile(safeName, level);
+        return byName != null ? byName : direct;
+    }
+
+    private CompletableFuture<NpcDropData> load(int npcId, String name, int level, InFlightLoad owner)
+    {
+        startIndexing();
         final String safeName = name.replaceAll("[^A-Za-z0-9]", "_");
         final Path file;
         try
         {
-            file = npcId == 0
-                    ? findExistingCacheFile(safeName, level)
-                    : getCacheFile(npcId, name, level);
+            file = resolveCacheFile(npcId, name, level);
         }
         catch (IOException ex)
         {
@@ -88,8 +289,8 @@ public class DropCache
         {
             if (file != null)
             {
-                NpcDropData cached = cache.get(file);
-                if (cached != null && Files.exists(file) && isFresh(file))
+                NpcDropData cached = Files.exists(file) && isFresh(file) ? readTable(file) : null;
+                if (cached != null)
                 {
                     return cached;
                 }
@@ -105,12 +306,15 @@ public class DropCache
             return null;
         }, executor).thenComposeAsync(cached ->
         {
-            if (cached != null)
+            if (cached != null || owner.isAbandoned())
             {
                 return CompletableFuture.completedFuture(cached);
             }
 
-            return dropFetcher.fetch(npcId, name, level)
+            wikiFetches.increment();
+            CompletableFuture<NpcDropData> fetch = dropFetcher.fetch(npcId, name, level);
+            owner.setFetch(fetch);
+            return fetch
                     .thenApplyAsync(data ->
                     {
                         try
@@ -146,8 +350,9 @@ public class DropCache
                                 }
                             }
 
-                            cache.put(out, data);
-                            nameIndex.put(buildNameKey(data.getName(), data.getLevel()), out);
+                            tables.put(out, data);
+                            putIndex(NpcIndexEntry.of(data, out));
+                            itemSources.put(out, data);
 
                             if (npcId == 0 && data.getNpcId() != 0)
                             {
@@ -168,52 +373,237 @@ public class DropCache
                     }, executor)
                     .exceptionally(ex ->
                     {
-                        log.error("Error fetching drop data for NPC {}", npcId, ex);
+                        if (owner.isAbandoned())
+                        {
+                            log.debug("Drop data fetch for NPC {} cancelled", npcId);
+                        }
+                        else
+                        {
+                            log.error("Error fetching drop data for NPC {}", npcId, ex);
+                        }
                         return null;
                     });
         }, executor);
     }
 
     /**
-     * @return a collection of all cached NPC drop data in memory
+     * @return index entries published so far for NPCs with a drop table on
+     * disk; may be partial while the background bootstrap is still running
      */
-    public Collection<NpcDropData> getAllNpcData()
+    public Collection<NpcIndexEntry> getIndexedNpcs()
     {
-        loadIndex();
-        return new ArrayList<>(cache.values());
+        startIndexing();
+        return new ArrayList<>(index.values());
     }
 
     /**
-     * Return a list of NPC names containing the supplied query. Matches from
-     * the local cache are combined with wiki search results to ensure partial
-     * lookups surface all relevant NPCs.
+     * @return counters for the in-memory table tier, load de-duplication and
+     * the IO pool
      */
-    public CompletableFuture<List<String>> searchNpcNames(String query)
+    public DropCacheStats getStats()
     {
-        ExecutorService executor = ensureExecutor();
-        return CompletableFuture.supplyAsync(() ->
+        ExecutorService executor = ioExecutor;
+        int ioActive = 0;
+        int ioQueued = 0;
+        if (executor instanceof ThreadPoolExecutor)
         {
-            String lc = query.toLowerCase(Locale.ROOT).trim();
-            loadIndex();
+            ThreadPoolExecutor pool = (ThreadPoolExecutor) executor;
+            ioActive = pool.getActiveCount();
+            ioQueued = pool.getQueue().size();
+        }
+        return new DropCacheStats(
+                tables.hits(),
+                tables.misses(),
+                tables.evictions(),
+                tables.size(),
+                tables.capacity(),
+                index.size(),
+                inFlight.size(),
+                sharedLoads.sum(),
+                wikiFetches.sum(),
+                ioActive,
+                ioQueued
+        );
+    }
 
-            // Preserve insertion order while de-duplicating names
-            Set<String> names = cache.values().stream()
-                    .map(NpcDropData::getName)
-                    .filter(Objects::nonNull)
-                    .filter(name -> name.toLowerCase(Locale.ROOT).contains(lc))
-                    .collect(Collectors.toCollection(LinkedHashSet::new));
+    /**
+     * @return cached NPC tables that drop the item, most common rate first;
+     * partial until {@link #indexItemSources()} has completed
+     */
+    public List<ItemSource> getItemSources(int itemId)
+    {
+        indexItemSources();
+        return itemSources.get(itemId);
+    }
 
-            try
+    /** Follow tables entering and leaving the item source index. */
+    void setItemSourceListener(ItemSourceIndex.Listener listener)
+    {
+        itemSources.setListener(listener);
+    }
+
+    /** @return whether any cached table known so far drops the item */
+    public boolean hasItemSources(int itemId)
+    {
+        return itemSources.hasSources(itemId);
+    }
+
+    /**
+     * Make sure every cached table is in the item source index. Tables pass
+     * through the index as they are fetched or read, so this only parses the
+     * files that have not been opened this session, one at a time in the
+     * background, without pulling them into the in-memory table tier.
+     *
+     * @return completes once every table indexed at call time is covered
+     */
+    public CompletableFuture<Void> indexItemSources()
+    {
+        startIndexing();
+        CompletableFuture<Void> existing = sourcesBootstrap;
+        if (existing != null)
+        {
+            return existing;
+        }
+
+        synchronized (indexLock)
+        {
+            if (sourcesBootstrap != null)
             {
-                names.addAll(dropFetcher.searchNpcNames(query));
+                return sourcesBootstrap;
             }
-            catch (Exception ex)
+            CompletableFuture<Void> bootstrap = indexBootstrap;
+            if (bootstrap == null)
             {
-                log.debug("Wiki search failed for {}", query, ex);
+                return CompletableFuture.completedFuture(null);
+            }
+            final Path dir = indexedDir;
+            ExecutorService executor = ensureExecutor();
+            CompletableFuture<Void> sources = bootstrap
+                    .handle((v, ex) -> null)
+                    .thenRunAsync(() -> indexSourcesIn(dir), executor);
+            sourcesBootstrap = sources;
+            return sources;
+        }
+    }
+
+    private void indexSourcesIn(Path dir)
+    {
+        int read = 0;
+        for (NpcIndexEntry entry : new ArrayList<>(index.values()))
+        {
+            Path file = entry.getFile();
+            if (!dir.equals(indexedDir))
+            {
+                return;
+            }
+            if (itemSources.isIndexed(file))
+            {
+                continue;
+            }
+            NpcDropData data = tables.peek(file);
+            if (data == null)
+            {
+                try
+                {
+                    data = gson.fromJson(Files.readString(file, StandardCharsets.UTF_8), NpcDropData.class);
+                }
+                catch (Exception e)
+                {
+                    log.debug("Skipping unreadable cache file {} while indexing item sources", file, e);
+                    continue;
+                }
+            }
+            if (data != null && index.containsKey(file))
+            {
+                itemSources.put(file, data);
+                read++;
+            }
+        }
+        log.debug("Indexed item sources for {} cached tables ({} items)", read, itemSources.itemIds().size());
+    }
+
+    /**
+     * Return NPC names matching the supplied query. Cached NPCs and the
+     * bundled name list are searched locally first (substring, then fuzzy);
+     * the wiki is only consulted when they yield fewer than
+     * {@link #MIN_LOCAL_SEARCH_RESULTS} names.
+     */
+    public CompletableFuture<List<String>> searchNpcNames(String query)
+    {
+        startIndexing();
+        loadBundledNames();
+
+        // Preserve rank order while de-duplicating names across sources
+        Set<String> names = new LinkedHashSet<>(cachedNames.search(query, MAX_SEARCH_RESULTS));
+        for (String name : bundledNames.search(query, MAX_SEARCH_RESULTS))
+        {
+            if (names.size() >= MAX_SEARCH_RESULTS)
+            {
+                break;
             }
+            names.add(name);
+        }
+        if (names.size() >= MIN_LOCAL_SEARCH_RESULTS)
+        {
+            return CompletableFuture.completedFuture(new ArrayList<>(names));
+        }
 
+        CompletableFuture<List<String>> wiki = dropFetcher.searchNpcNames(query);
+        CompletableFuture<List<String>> result = wiki.handle((found, ex) ->
+        {
+            if (ex != null)
+            {
+                log.debug("Wiki search failed for {}", query, ex);
+            }
+            else
+            {
+                names.addAll(found);
+            }
             return new ArrayList<>(names);
-        }, executor);
+        });
+        // Let a cancelled search abandon its wiki request
+        result.whenComplete((r, ex) ->
+        {
+            if (result.isCancelled())
+            {
+                wiki.cancel(false);
+            }
+        });
+        return result;
+    }
+
+    /** Load the bundled NPC name list once, in the background. */
+    private void loadBundledNames()
+    {
+        if (!bundledNamesLoaded.compareAndSet(false, true))
+        {
+            return;
+        }
+        CompletableFuture.runAsync(() ->
+        {
+            try (InputStream in = DropCache.class.getResourceAsStream(BUNDLED_NPC_NAMES))
+            {
+                if (in == null)
+                {
+                    log.debug("Bundled NPC name list {} not found", BUNDLED_NPC_NAMES);
+                    return;
+                }
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                String line;
+                while ((line = reader.readLine()) != null)
+                {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#"))
+                    {
+                        bundledNames.add(line);
+                    }
+                }
+            }
+            catch (IOException ex)
+            {
+                log.debug("Failed to load bundled NPC names", ex);
+            }
+        }, ensureExecutor());
     }
 
     private boolean isFresh(Path file)
@@ -236,6 +626,10 @@ public class DropCache
     {
         String key = safeName + "_" + level;
         Path p = nameIndex.get(key);
+        if (p == null && !isIndexComplete())
+        {
+            p = scanForNameKey(safeName, level);
+        }
         if (p != null && Files.exists(p))
         {
             if (isFresh(p))
@@ -357,81 +751,390 @@ public class DropCache
             }
         }
 
-        cache.clear();
+        tables.clear();
+        index.clear();
         nameIndex.clear();
-        indexLoaded = true;
+        cachedNames.clear();
+        itemSources.clear();
+        synchronized (indexLock)
+        {
+            // Nothing left on disk, so the (empty) index is already complete.
+            indexedDir = dir;
+            indexBootstrap = CompletableFuture.completedFuture(null);
+            sourcesBootstrap = indexBootstrap;
+        }
+    }
+
+    /**
+     * Return the table for a cached file, serving it from the memory tier when
+     * possible and otherwise materializing it from disk. Unreadable or empty
+     * files are dropped from the index and return {@code null}.
+     */
+    private NpcDropData readTable(Path file)
+    {
+        NpcDropData data = tables.get(file);
+        if (data != null)
+        {
+            return data;
+        }
+
+        try
+        {
+            String json = Files.readString(file, StandardCharsets.UTF_8);
+            data = gson.fromJson(json, NpcDropData.class);
+        }
+        catch (Exception e)
+        {
+            log.warn("Skipping bad cache file {}", file, e);
+            data = null;
+        }
+
+        if (data == null || data.getDropTableSections() == null || data.getDropTableSections().isEmpty())
+        {
+            removeIndex(file);
+            return null;
+        }
+
+        tables.put(file, data);
+        putIndex(NpcIndexEntry.of(data, file));
+        itemSources.put(file, data);
+        return data;
+    }
+
+    private void putIndex(NpcIndexEntry entry)
+    {
+        NpcIndexEntry previous = index.put(entry.getFile(), entry);
+        if (previous != null)
+        {
+            cachedNames.remove(previous.getName());
+        }
+        cachedNames.add(entry.getName());
+        nameIndex.put(buildNameKey(entry.getName(), entry.getLevel()), entry.getFile());
     }
 
     /** Remove the given file from the in-memory indices. */
     private void removeIndex(Path p)
     {
-        NpcDropData data = cache.remove(p);
-        if (data != null)
+        tables.remove(p);
+        itemSources.remove(p);
+        NpcIndexEntry entry = index.remove(p);
+        if (entry != null)
         {
-            nameIndex.remove(buildNameKey(data.getName(), data.getLevel()));
+            nameIndex.remove(buildNameKey(entry.getName(), entry.getLevel()), p);
+            cachedNames.remove(entry.getName());
         }
     }
 
-    /** Lazily populate the in-memory indices from existing cache files. */
-    private void loadIndex()
+    /**
+     * Start populating the name/level index for the current player's cache
+     * directory if it is not already indexed. This never blocks: the directory
+     * listing and one header read per file fan out on the IO pool, and each
+     * entry is published as soon as it is read, so lookups made while the
+     * bootstrap is running see a partial index rather than waiting for it.
+     */
+    private void startIndexing()
     {
-        if (indexLoaded)
+        final Path dir;
+        try
+        {
+            dir = getCacheDir();
+        }
+        catch (IOException e)
+        {
+            return;
+        }
+        if (dir.equals(indexedDir))
         {
             return;
         }
-        synchronized (this)
+
+        synchronized (indexLock)
         {
-            if (indexLoaded)
+            if (dir.equals(indexedDir))
             {
                 return;
             }
-            try
+            switchIndexTo(dir, null);
+        }
+    }
+
+    /**
+     * @return the NPC index of the directory currently indexed, or null if
+     * none is; may be partial while the bootstrap is still running
+     */
+    public DropIndexSnapshot snapshotIndex()
+    {
+        synchronized (indexLock)
+        {
+            Path dir = indexedDir;
+            return dir == null ? null : new DropIndexSnapshot(dir, new ArrayList<>(index.values()), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Start up for the current player with a previously taken index, so
+     * cached NPCs are searchable at once. The directory is still re-scanned
+     * in the background, re-reading only files added or modified since the
+     * snapshot and dropping entries whose files are gone. Falls back to
+     * {@link #startUp()} if the snapshot belongs to another directory.
+     */
+    public void restoreIndex(DropIndexSnapshot snapshot)
+    {
+        ensureExecutor();
+        loadBundledNames();
+        final Path dir;
+        try
+        {
+            dir = accountManager.getPlayerName() == null ? null : getCacheDir();
+        }
+        catch (IOException e)
+        {
+            return;
+        }
+        if (snapshot == null || dir == null || !dir.equals(snapshot.getDir()))
+        {
+            startUp();
+            return;
+        }
+
+        synchronized (indexLock)
+        {
+            if (!dir.equals(indexedDir))
+            {
+                switchIndexTo(dir, snapshot);
+            }
+        }
+    }
+
+    private boolean isIndexComplete()
+    {
+        CompletableFuture<Void> bootstrap = indexBootstrap;
+        return bootstrap != null && bootstrap.isDone();
+    }
+
+    /** Point the index at {@code dir} and start its bootstrap. Caller holds {@link #indexLock}. */
+    private void switchIndexTo(Path dir, DropIndexSnapshot snapshot)
+    {
+        if (indexedDir != null)
+        {
+            // Player changed; entries for the previous directory no longer apply.
+            tables.clear();
+            index.clear();
+            nameIndex.clear();
+            cachedNames.clear();
+            itemSources.clear();
+        }
+        indexedDir = dir;
+        sourcesBootstrap = null;
+
+        final long knownAsOf;
+        if (snapshot != null)
+        {
+            for (NpcIndexEntry entry : snapshot.getEntries())
             {
-                Path dir = getCacheDir();
-                if (Files.exists(dir))
+                putIndex(entry);
+            }
+            knownAsOf = snapshot.getTakenAtMillis();
+        }
+        else
+        {
+            knownAsOf = 0L;
+        }
+
+        ExecutorService executor = ensureExecutor();
+        indexBootstrap = CompletableFuture.supplyAsync(() -> listCacheFiles(dir), executor)
+                .thenCompose(files ->
                 {
-                    try (Stream<Path> files = Files.list(dir))
+                    if (knownAsOf > 0)
                     {
-                        for (Path p : files.filter(Files::isRegularFile).collect(Collectors.toList()))
+                        // Forget restored entries whose files were deleted meanwhile
+                        Set<Path> present = new HashSet<>(files);
+                        for (Path known : new ArrayList<>(index.keySet()))
                         {
-                            if (!isFresh(p))
-                            {
-                                Files.deleteIfExists(p);
-                                continue;
-                            }
-                            try
-                            {
-                                String json = Files.readString(p, StandardCharsets.UTF_8);
-                                NpcDropData data = gson.fromJson(json, NpcDropData.class);
-                                if (data != null && data.getDropTableSections() != null && !data.getDropTableSections().isEmpty())
-                                {
-                                    cache.put(p, data);
-                                    nameIndex.put(buildNameKey(data.getName(), data.getLevel()), p);
-                                }
-                                else
-                                {
-                                    Files.deleteIfExists(p);
-                                }
-                            }
-                            catch (Exception e)
+                            if (!present.contains(known) && dir.equals(indexedDir))
                             {
-                                log.warn("Skipping bad cache file {}", p, e);
-                                Files.deleteIfExists(p);
+                                removeIndex(known);
                             }
                         }
                     }
+                    return CompletableFuture.allOf(files.stream()
+                            .map(p -> CompletableFuture.runAsync(() -> indexFile(dir, p, knownAsOf), executor))
+                            .toArray(CompletableFuture[]::new));
+                })
+                .whenComplete((v, ex) ->
+                {
+                    if (ex != null)
+                    {
+                        log.debug("Error loading cache index", ex);
+                    }
+                    else
+                    {
+                        log.debug("Indexed {} cached drop tables in {}", index.size(), dir);
+                    }
+                });
+    }
+
+    private List<Path> listCacheFiles(Path dir)
+    {
+        if (!Files.exists(dir))
+        {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(dir))
+        {
+            return files.filter(p -> p.getFileName().toString().endsWith(".json"))
+                    .filter(Files::isRegularFile)
+                    .collect(Collectors.toList());
+        }
+        catch (IOException e)
+        {
+            log.debug("Error listing cache directory {}", dir, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /** Read one file's header and publish its index entry, dropping stale or bad files. */
+    private void indexFile(Path dir, Path p, long knownAsOf)
+    {
+        if (!dir.equals(indexedDir))
+        {
+            return;
+        }
+        try
+        {
+            if (!isFresh(p))
+            {
+                Files.deleteIfExists(p);
+                removeIndex(p);
+                return;
+            }
+            if (knownAsOf > 0 && index.containsKey(p)
+                    && Files.getLastModifiedTime(p).toMillis() <= knownAsOf)
+            {
+                return; // unchanged since the restored snapshot
+            }
+            NpcIndexEntry entry = readHeader(p);
+            if (entry != null)
+            {
+                putIndex(entry);
+            }
+            else
+            {
+                Files.deleteIfExists(p);
+                removeIndex(p);
+            }
+        }
+        catch (Exception e)
+        {
+            log.warn("Skipping bad cache file {}", p, e);
+            try { Files.deleteIfExists(p); } catch (IOException ignored) {}
+            removeIndex(p);
+        }
+    }
+
+    /**
+     * Stream just the leading fields of a cached table. Gson writes
+     * {@link NpcDropData} fields in declaration order, so ID, name and level
+     * precede the sections and the reader can stop once it has confirmed the
+     * section list is non-empty, without touching the bulk of the file.
+     *
+     * @return the entry, or {@code null} if the file has no drop sections
+     */
+    private NpcIndexEntry readHeader(Path p) throws IOException
+    {
+        int npcId = 0;
+        int level = 0;
+        String name = null;
+        boolean hasSections = false;
+
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(p, StandardCharsets.UTF_8)))
+        {
+            reader.beginObject();
+            while (reader.hasNext())
+            {
+                String field = reader.nextName();
+                if (reader.peek() == JsonToken.NULL)
+                {
+                    reader.nextNull();
+                    continue;
+                }
+                if ("npcId".equals(field))
+                {
+                    npcId = reader.nextInt();
+                }
+                else if ("name".equals(field))
+                {
+                    name = reader.nextString();
+                }
+                else if ("level".equals(field))
+                {
+                    level = reader.nextInt();
+                }
+                else if ("dropTableSections".equals(field))
+                {
+                    reader.beginArray();
+                    hasSections = reader.hasNext();
+                    break;
+                }
+                else
+                {
+                    reader.skipValue();
                 }
             }
-            catch (IOException e)
+        }
+
+        if (!hasSections)
+        {
+            return null;
+        }
+        if (name == null)
+        {
+            // Unexpected field order; fall back to a full parse.
+            NpcDropData data = gson.fromJson(Files.readString(p, StandardCharsets.UTF_8), NpcDropData.class);
+            return data != null && data.getName() != null ? NpcIndexEntry.of(data, p) : null;
+        }
+        return new NpcIndexEntry(npcId, name, level, p);
+    }
+
+    /**
+     * Scan the cache directory for a file matching a name/level key. Used only
+     * while the index bootstrap is still running and the key is not yet known.
+     */
+    private Path scanForNameKey(String safeName, int level) throws IOException
+    {
+        Path dir = getCacheDir();
+        if (!Files.exists(dir))
+        {
+            return null;
+        }
+        String suffix = "_" + safeName + "_" + level + ".json";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + suffix))
+        {
+            for (Path p : files)
             {
-                log.debug("Error loading cache index", e);
+                String fn = p.getFileName().toString();
+                String id = fn.substring(0, fn.length() - suffix.length());
+                if (id.matches("-?\\d+"))
+                {
+                    return p;
+                }
             }
-            indexLoaded = true;
         }
+        return null;
     }
 
     /** Gracefully shutdown IO executor. */
     public void shutdown() {
+        // shutdownNow() drops queued loads, so settle their callers here or they would wait forever
+        CancellationException stopped = new CancellationException("Drop cache shut down");
+        for (Map.Entry<String, InFlightLoad> e : inFlight.entrySet())
+        {
+            if (inFlight.remove(e.getKey(), e.getValue()))
+            {
+                e.getValue().abort(stopped);
+            }
+        }
+
         ExecutorService executor = ioExecutor;
         if (executor == null) {
             return;
@@ -439,16 +1142,25 @@ public class DropCache
 
         executor.shutdownNow();
         ioExecutor = null;
-        cache.clear();
+        log.debug("Drop cache stats at shutdown: {}", getStats());
+        tables.clear();
+        index.clear();
         nameIndex.clear();
-        indexLoaded = false;
+        cachedNames.clear();
+        itemSources.clear();
+        synchronized (indexLock)
+        {
+            indexedDir = null;
+            indexBootstrap = null;
+            sourcesBootstrap = null;
+        }
     }
 
     private synchronized ExecutorService ensureExecutor() {
         if (ioExecutor == null || ioExecutor.isShutdown() || ioExecutor.isTerminated()) {
-            ioExecutor = Executors.newFixedThreadPool(
-                    Math.max(2, Runtime.getRuntime().availableProcessors() / 2),
-                    new ThreadFactoryBuilder().setNameFormat("dropcache-io-%d").build()
+            ioExecutor = IoExecutors.newIoExecutor(
+                    "dropcache-io",
+                    Math.max(2, Runtime.getRuntime().availableProcessors() / 2)
             );
         }
         return ioExecutor;
@@ -0,0 +1,37 @@
+package com.chanceman.drops;
+
+import lombok.Value;
+
+/**
+ * Point-in-time snapshot of {@link DropCache} statistics: the memory tier,
+ * load de-duplication and the IO pool.
+ */
+@Value
+public class DropCacheStats
+{
+    long hits;
+    long misses;
+    long evictions;
+    int tablesInMemory;
+    int capacity;
+    int indexedNpcs;
+    /** Distinct loads currently running. */
+    int loadsInFlight;
+    /** Requests that joined a load already in flight instead of starting one. */
+    long sharedLoads;
+    /** Loads that had to go to the wiki. */
+    long wikiFetches;
+    /** IO pool threads busy right now; always 0 when IO runs on virtual threads. */
+    int ioActive;
+    /** IO tasks waiting for a pool thread; always 0 when IO runs on virtual threads. */
+    int ioQueued;
+
+    /**
+     * @return fraction of table lookups served from memory, or 0 if none were made
+     */
+    public double getHitRate()
+    {
+        long total = hits + misses;
+        return total == 0 ? 0d : (double) hits / total;
+    }
+}
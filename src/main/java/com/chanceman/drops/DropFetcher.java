@@ -1,5 +1,7 @@
 package com.chanceman.drops;
 
+import com.chanceman.metrics.PerfMetrics;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
@@ -9,6 +11,9 @@ import net.runelite.api.ItemComposition;
 import net.runelite.client.callback.ClientThread;
 import net.runelite.client.game.ItemManager;
 import net.runelite.http.api.item.ItemPrice;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -20,7 +25,6 @@ import org.jsoup.select.Elements;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
@@ -30,68 +34,169 @@ import java.util.concurrent.*;
 /**
  * Retrieves NPC drop information from the wiki and
  * resolves item and NPC IDs.
+ *
+ * <p>Requests are enqueued on OkHttp's dispatcher rather than executed on a
+ * pool thread, so no thread waits on the network, and at most
+ * {@link #MAX_REQUESTS_PER_HOST} of them are in flight per host. A fetch
+ * downloads the page, parses it on a small CPU pool, resolves the wiki page
+ * ID, then resolves item IDs on the client thread. Failed requests are
+ * retried a few times with jittered backoff, the whole fetch is bounded by a
+ * timeout, and cancelling the returned future cancels the request in
+ * flight.</p>
  */
 @Slf4j
 @Singleton
 public class DropFetcher
 {
     private static final String USER_AGENT = "RuneLite-ChanceMan/3.1.0";
+    static final String DEFAULT_WIKI_BASE = "https://oldschool.runescape.wiki/";
+    private static final long FETCH_TIMEOUT_SECONDS = 30;
+    private static final long SEARCH_TIMEOUT_SECONDS = 10;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BASE_DELAY_MS = 250;
+    /** Below the shared dispatcher's default of five, so other wiki users keep a slot. */
+    public static final int MAX_REQUESTS_PER_HOST = 4;
     private final OkHttpClient httpClient;
     private final ItemManager itemManager;
     private final ClientThread clientThread;
-    private ExecutorService fetchExecutor;
+    private final PerfMetrics perfMetrics;
+    private final HostLimiter hostLimiter = new HostLimiter(MAX_REQUESTS_PER_HOST);
+    private ExecutorService parseExecutor;
+    private volatile String wikiBase = DEFAULT_WIKI_BASE;
 
     @Inject
-    public DropFetcher(OkHttpClient httpClient, ItemManager itemManager, ClientThread clientThread)
+    public DropFetcher(OkHttpClient httpClient, ItemManager itemManager, ClientThread clientThread,
+                       PerfMetrics perfMetrics)
     {
         this.httpClient = httpClient;
         this.itemManager  = itemManager;
         this.clientThread = clientThread;
+        this.perfMetrics = perfMetrics;
+    }
+
+    /**
+     * Send page and API requests to another wiki host, such as a local mirror
+     * or a test stand-in serving recorded pages.
+     *
+     * @param baseUrl absolute http(s) URL of the wiki root; null restores the
+     *                live wiki
+     */
+    public void setWikiBaseUrl(String baseUrl)
+    {
+        if (baseUrl == null)
+        {
+            wikiBase = DEFAULT_WIKI_BASE;
+            return;
+        }
+        if (HttpUrl.parse(baseUrl) == null)
+        {
+            throw new IllegalArgumentException("Not an http(s) URL: " + baseUrl);
+        }
+        wikiBase = baseUrl.endsWith("/") ? baseUrl : baseUrl + "/";
+    }
+
+    public String getWikiBaseUrl()
+    {
+        return wikiBase;
+    }
+
+    /** A downloaded page reduced to what the later stages need. */
+    private static final class ParsedPage
+    {
+        final String name;
+        final int level;
+        final List<DropTableSection> sections;
+        final String canonicalTitle;
+
+        ParsedPage(String name, int level, List<DropTableSection> sections, String canonicalTitle)
+        {
+            this.name = name;
+            this.level = level;
+            this.sections = sections;
+            this.canonicalTitle = canonicalTitle;
+        }
     }
 
     /**
      * Asynchronously fetch an NPC's drop table from the wiki.
-     * 1) Download + parse document (BG thread)
-     * 2) Resolve item IDs on client thread using ItemManager.search (canonicalized)
+     * 1) Download the page (OkHttp dispatcher, retried)
+     * 2) Parse the document (parse pool)
+     * 3) Resolve the wiki page ID (api.php)
+     * 4) Resolve item IDs on client thread using ItemManager.search (canonicalized)
+     *
+     * @return completes with null for pages without drop tables; fails after
+     * {@link #FETCH_TIMEOUT_SECONDS}; cancelling it abandons the fetch
      */
     public CompletableFuture<NpcDropData> fetch(int npcId, String name, int level)
     {
-        return CompletableFuture.supplyAsync(() -> {
-            String url = buildWikiUrl(npcId, name);
-            String html = fetchHtml(url);
-            Document doc = Jsoup.parse(html);
-
-            String actualName = name;
-            Element heading = doc.selectFirst("h1#firstHeading");
-            if (heading != null) {
-                actualName = heading.text();
-            }
+        final CompletableFuture<NpcDropData> result = new CompletableFuture<>();
+        final Request req = request(buildWikiUrl(npcId, name));
+        final long downloadStart = perfMetrics.start();
+
+        get(req, result)
+                .whenComplete((html, ex) -> {
+                    perfMetrics.stop(PerfMetrics.WIKI_DOWNLOAD, downloadStart);
+                    if (ex != null && !result.isDone()) {
+                        perfMetrics.increment(PerfMetrics.WIKI_FETCH_ERRORS);
+                    }
+                })
+                .thenApplyAsync(html -> parsePage(html, name, level), parseExecutor)
+                .thenCompose(page -> {
+                    if (page == null) {
+                        return CompletableFuture.completedFuture(null); // skip NPCs without drop tables
+                    }
+                    return resolveNpcId(page.canonicalTitle, result)
+                            .thenApply(id -> new NpcDropData(id, page.name, page.level, page.sections));
+                })
+                .thenCompose(data -> data == null || result.isDone()
+                        ? CompletableFuture.completedFuture(data)
+                        : resolveItemIds(data))
+                .whenComplete((data, ex) -> {
+                    if (ex != null) {
+                        result.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null
+                                ? ex.getCause()
+                                : ex);
+                    } else {
+                        result.complete(data);
+                    }
+                });
+        return result.orTimeout(FETCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
 
-            int resolvedLevel = level > 0 ? level : parseCombatLevel(doc);
-            int actualId = resolveNpcId(doc);
-            List<DropTableSection> sections = parseSections(doc);
-            if (sections.isEmpty()) {
-                return null; // skip NPCs without drop tables
-            }
-            return new NpcDropData(actualId, actualName, resolvedLevel, sections);
-        }, fetchExecutor).thenCompose(data -> {
-            if (data == null) {
-                return CompletableFuture.completedFuture(null);
-            }
+    private ParsedPage parsePage(String html, String name, int level)
+    {
+        long parseStart = perfMetrics.start();
+        Document doc = Jsoup.parse(html);
 
-            CompletableFuture<NpcDropData> resolved = new CompletableFuture<>();
-            clientThread.invoke(() -> {
-                for (DropTableSection sec : data.getDropTableSections()) {
-                    List<DropItem> items = sec.getItems();
-                    for (int i = 0; i < items.size(); i++) {
-                        DropItem d = items.get(i);
-                        d.setItemId(resolveItemId(d.getName()));
-                    }
+        String actualName = name;
+        Element heading = doc.selectFirst("h1#firstHeading");
+        if (heading != null) {
+            actualName = heading.text();
+        }
+
+        int resolvedLevel = level > 0 ? level : parseCombatLevel(doc);
+        List<DropTableSection> sections = parseSections(doc);
+        String title = sections.isEmpty() ? null : canonicalTitle(doc);
+        perfMetrics.stop(PerfMetrics.WIKI_PARSE, parseStart);
+        return sections.isEmpty() ? null : new ParsedPage(actualName, resolvedLevel, sections, title);
+    }
+
+    private CompletableFuture<NpcDropData> resolveItemIds(NpcDropData data)
+    {
+        CompletableFuture<NpcDropData> resolved = new CompletableFuture<>();
+        clientThread.invoke(() -> {
+            long resolveStart = perfMetrics.start();
+            for (DropTableSection sec : data.getDropTableSections()) {
+                List<DropItem> items = sec.getItems();
+                for (int i = 0; i < items.size(); i++) {
+                    DropItem d = items.get(i);
+                    d.setItemId(resolveItemId(d.getName()));
                 }
-                resolved.complete(data);
-            });
-            return resolved;
+            }
+            perfMetrics.stop(PerfMetrics.WIKI_RESOLVE_ITEMS, resolveStart);
+            resolved.complete(data);
         });
+        return resolved;
     }
 
     /** Resolve an item name to an ID using ItemManager.search only (canonicalized). */
@@ -122,7 +227,8 @@ public class DropFetcher
     }
 
     /** Extract drop table sections (skips Nothing rows). */
-    private List<DropTableSection> parseSections(Document doc)
+    @VisibleForTesting
+    List<DropTableSection> parseSections(Document doc)
     {
         Elements tables = doc.select("table.item-drops");
         List<DropTableSection> sections = new ArrayList<>();
@@ -362,19 +468,19 @@ public class DropFetcher
         return 0;
     }
 
-    /** Resolve the canonical wiki page ID for the provided document. */
-    private int resolveNpcId(Document doc)
+    /** @return the page title from the document's canonical link, or null if it has none */
+    private String canonicalTitle(Document doc)
     {
         Element link = doc.selectFirst("link[rel=canonical]");
         if (link == null)
         {
-            return 0;
+            return null;
         }
 
         String href = link.attr("href");
         if (href == null || href.isEmpty())
         {
-            return 0;
+            return null;
         }
 
         // Strip query / fragment just in case the canonical ever includes them.
@@ -385,24 +491,35 @@ public class DropFetcher
 
         String title = href.substring(href.lastIndexOf('/') + 1);
         title = URLDecoder.decode(title, StandardCharsets.UTF_8);
-        title = title.replace(' ', '_');
-        String apiUrl = "https://oldschool.runescape.wiki/api.php?action=query&format=json&prop=info&titles="
-                + URLEncoder.encode(title, StandardCharsets.UTF_8);
+        return title.replace(' ', '_');
+    }
 
-        Request req = new Request.Builder()
-                .url(apiUrl)
-                .header("User-Agent", USER_AGENT)
-                .build();
+    /**
+     * Resolve the wiki page ID for a page title.
+     *
+     * @return completes with 0 if the title is null or the lookup fails
+     */
+    private CompletableFuture<Integer> resolveNpcId(String title, CompletableFuture<?> owner)
+    {
+        if (title == null)
+        {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        String apiUrl = wikiBase + "api.php?action=query&format=json&prop=info&titles="
+                + URLEncoder.encode(title, StandardCharsets.UTF_8);
 
-        try (Response res = httpClient.newCall(req).execute())
+        return get(request(apiUrl), owner).handle((body, ex) ->
         {
-            if (!res.isSuccessful())
+            if (ex != null)
             {
-                log.warn("Failed to resolve NPC ID for {}: HTTP {}", title, res.code());
+                if (!owner.isDone())
+                {
+                    log.warn("Error resolving NPC ID for {}", title, ex);
+                }
                 return 0;
             }
 
-            String body = res.body().string();
             JsonElement root = new JsonParser().parse(body);
             JsonElement pages = root.getAsJsonObject()
                     .getAsJsonObject("query")
@@ -418,30 +535,21 @@ public class DropFetcher
             }
 
             log.warn("No page ID found for title {}", title);
-        }
-        catch (IOException ex)
-        {
-            log.warn("Error resolving NPC ID for {}", title, ex);
-        }
-        return 0;
+            return 0;
+        });
     }
 
-    /** Query the wiki's search API for NPC names matching the provided text. */
-    public List<String> searchNpcNames(String query)
+    /**
+     * Query the wiki's search API for NPC names matching the provided text.
+     * Cancelling the returned future cancels the request.
+     */
+    public CompletableFuture<List<String>> searchNpcNames(String query)
     {
-        String url = "https://oldschool.runescape.wiki/api.php?action=opensearch&format=json&limit=20&namespace=0&search="
+        String url = wikiBase + "api.php?action=opensearch&format=json&limit=20&namespace=0&search="
                 + URLEncoder.encode(query, StandardCharsets.UTF_8);
-        Request req = new Request.Builder()
-                .url(url)
-                .header("User-Agent", USER_AGENT)
-                .build();
-        try (Response res = httpClient.newCall(req).execute())
+        CompletableFuture<List<String>> result = new CompletableFuture<>();
+        get(request(url), result).thenApply(body ->
         {
-            if (!res.isSuccessful())
-            {
-                throw new IOException("HTTP " + res.code());
-            }
-            String body = res.body().string();
             JsonArray arr = new JsonParser().parse(body).getAsJsonArray();
             JsonArray titles = arr.get(1).getAsJsonArray();
             List<String> names = new ArrayList<>();
@@ -449,17 +557,24 @@ public class DropFetcher
                 names.add(titles.get(i).getAsString());
             }
             return names;
-        }
-        catch (IOException ex)
+        }).whenComplete((names, ex) ->
         {
-            throw new UncheckedIOException(ex);
-        }
+            if (ex != null)
+            {
+                result.completeExceptionally(ex);
+            }
+            else
+            {
+                result.complete(names);
+            }
+        });
+        return result.orTimeout(SEARCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
     }
 
     private String buildWikiUrl(int npcId, String name)
     {
         String fallback = URLEncoder.encode(name.replace(' ', '_'), StandardCharsets.UTF_8);
-        StringBuilder url = new StringBuilder("https://oldschool.runescape.wiki/w/Special:Lookup?type=npc");
+        StringBuilder url = new StringBuilder(wikiBase).append("w/Special:Lookup?type=npc");
 
         if (npcId > 0)
         {
@@ -475,31 +590,133 @@ public class DropFetcher
         return url.toString();
     }
 
-    private String fetchHtml(String url)
+    private Request request(String url)
     {
-        Request req = new Request.Builder()
+        return new Request.Builder()
                 .url(url)
                 .header("User-Agent", USER_AGENT)
                 .build();
-        try (Response res = httpClient.newCall(req).execute())
+    }
+
+    /**
+     * Enqueue a request and complete with its body. Network errors, 429 and
+     * 5xx responses are retried up to {@link #MAX_ATTEMPTS} times. Once
+     * {@code owner} completes (done, failed, timed out or cancelled) the call
+     * in flight is cancelled and no further attempts are made.
+     */
+    private CompletableFuture<String> get(Request req, CompletableFuture<?> owner)
+    {
+        CompletableFuture<String> body = new CompletableFuture<>();
+        attempt(req, owner, body, 1);
+        return body;
+    }
+
+    private void attempt(Request req, CompletableFuture<?> owner, CompletableFuture<String> body, int attempt)
+    {
+        if (owner.isDone())
+        {
+            body.cancel(false);
+            return;
+        }
+
+        String host = req.url().host();
+        CompletableFuture<Void> slot = hostLimiter.acquire(host);
+        owner.whenComplete((r, ex) -> slot.cancel(false));
+        slot.whenComplete((v, ex) ->
+        {
+            if (ex != null)
+            {
+                // Stopped waiting because the fetch ended
+                body.cancel(false);
+                return;
+            }
+            send(req, host, owner, body, attempt);
+        });
+    }
+
+    /** Enqueue one attempt while holding a slot for {@code host}, releasing it when the call ends. */
+    private void send(Request req, String host, CompletableFuture<?> owner, CompletableFuture<String> body,
+                      int attempt)
+    {
+        if (owner.isDone())
         {
-            if (!res.isSuccessful()) throw new IOException("HTTP " + res.code());
-            return res.body().string();
+            hostLimiter.release(host);
+            body.cancel(false);
+            return;
         }
-        catch (IOException ex)
+
+        Call call = httpClient.newCall(req);
+        owner.whenComplete((r, ex) -> call.cancel());
+        call.enqueue(new Callback()
+        {
+            @Override
+            public void onFailure(Call c, IOException ex)
+            {
+                hostLimiter.release(host);
+                retryOrFail(req, owner, body, attempt, ex);
+            }
+
+            @Override
+            public void onResponse(Call c, Response res)
+            {
+                try (res)
+                {
+                    if (res.isSuccessful())
+                    {
+                        body.complete(res.body().string());
+                        return;
+                    }
+                    IOException ex = new IOException("HTTP " + res.code());
+                    if (res.code() == 429 || res.code() >= 500)
+                    {
+                        retryOrFail(req, owner, body, attempt, ex);
+                    }
+                    else
+                    {
+                        body.completeExceptionally(ex);
+                    }
+                }
+                catch (IOException ex)
+                {
+                    retryOrFail(req, owner, body, attempt, ex);
+                }
+                finally
+                {
+                    hostLimiter.release(host);
+                }
+            }
+        });
+    }
+
+    private void retryOrFail(Request req, CompletableFuture<?> owner, CompletableFuture<String> body,
+                             int attempt, IOException ex)
+    {
+        if (attempt >= MAX_ATTEMPTS || owner.isDone())
         {
-            throw new UncheckedIOException(ex);
+            body.completeExceptionally(ex);
+            return;
         }
+
+        // Exponential backoff with jitter, so retries from a burst of fetches spread out
+        long window = RETRY_BASE_DELAY_MS << (attempt - 1);
+        long delay = window / 2 + ThreadLocalRandom.current().nextLong(window / 2 + 1);
+        log.debug("Retrying {} in {} ms after {}", req.url(), delay, ex.getMessage());
+        perfMetrics.increment(PerfMetrics.WIKI_RETRIES);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                .execute(() -> attempt(req, owner, body, attempt + 1));
     }
 
-    /** Creates the fetch executor if it is missing or has been shut down. */
+    /**
+     * Creates the parse executor if it is missing or has been shut down.
+     * Downloads run on OkHttp's dispatcher, so this pool only does CPU work.
+     */
     public void startUp()
     {
-        if (fetchExecutor == null || fetchExecutor.isShutdown() || fetchExecutor.isTerminated())
+        if (parseExecutor == null || parseExecutor.isShutdown() || parseExecutor.isTerminated())
         {
-            fetchExecutor = Executors.newFixedThreadPool(
-                    4,
-                    new ThreadFactoryBuilder().setNameFormat("dropfetch-%d").build()
+            parseExecutor = Executors.newFixedThreadPool(
+                    Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2)),
+                    new ThreadFactoryBuilder().setNameFormat("dropparse-%d").build()
             );
         }
     }
@@ -507,10 +724,10 @@ public class DropFetcher
     /** Shut down the executor service. */
     public void shutdown()
     {
-        if (fetchExecutor != null)
+        if (parseExecutor != null)
         {
-            fetchExecutor.shutdownNow();
-            fetchExecutor = null;
+            parseExecutor.shutdownNow();
+            parseExecutor = null;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.chanceman.drops;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The NPC index of one account's drop cache directory, taken when the
+ * account is switched away from so switching back can restore searches
+ * without waiting for the directory to be re-indexed.
+ */
+@Getter
+public final class DropIndexSnapshot
+{
+    private final Path dir;
+    private final List<NpcIndexEntry> entries;
+    /** Files not modified since this time are taken from the snapshot as is. */
+    private final long takenAtMillis;
+
+    DropIndexSnapshot(Path dir, List<NpcIndexEntry> entries, long takenAtMillis)
+    {
+        this.dir = dir;
+        this.entries = Collections.unmodifiableList(entries);
+        this.takenAtMillis = takenAtMillis;
+    }
+}
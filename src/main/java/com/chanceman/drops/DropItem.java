@@ -1,5 +1,6 @@
 package com.chanceman.drops;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -17,6 +18,21 @@ public class DropItem
     private String name;
     private String rarity;
 
+    /*
+     * Rarity normalized once when the item is built and persisted with it.
+     * Denominators are 0 when unknown so the JSON never holds Infinity/NaN.
+     * Tables cached before these fields existed deserialize with oneOver
+     * null and are normalized on first use.
+     */
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private String oneOver;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private double oneOverMin;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private double oneOverMax;
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private boolean always;
+
     // Anchored patterns for correctness & speed
     private static final Pattern PCT       = Pattern.compile("^(\\d+(?:\\.\\d+)?)%$");
     private static final Pattern MULT      = Pattern.compile("^(\\d+(?:\\.\\d+)?)\\s*[xX]\\s*(\\d+(?:\\.\\d+)?)\\s*/\\s*(\\d+(?:\\.\\d+)?)$");
@@ -25,49 +41,95 @@ public class DropItem
     private static final Pattern IN_SYNT   = Pattern.compile("\\bin\\b", Pattern.CASE_INSENSITIVE);
     private static final Pattern BRACKETS  = Pattern.compile("\\[[^\\]]*\\]");
     private static final Pattern ONE_OVER  = Pattern.compile("1/(\\d+(?:\\.\\d+)?)");
+    private static final Pattern SEGMENTS  = Pattern.compile("\\s*;\\s*|,\\s+");
+    private static final Pattern RANGE     = Pattern.compile("\\s*[–—-]\\s*");
 
     public DropItem(int itemId, String name, String rarity)
     {
         this.itemId = itemId;
         this.name = name;
+        setRarity(rarity);
+    }
+
+    public void setRarity(String rarity)
+    {
         this.rarity = rarity;
+        normalize();
     }
 
     /** Convert raw rarity to normalized one-over form (preserves ranges like “1/64–1/32”). */
     public String getOneOverRarity()
     {
-        if (rarity == null) return "";
-        String[] parts = rarity.split("\\s*;\\s*|,\\s+");
-        return Arrays.stream(parts)
-                .map(this::normalizeSegment)
-                .collect(Collectors.joining("; "));
+        ensureNormalized();
+        return oneOver;
+    }
+
+    /** @return the most common one-over denominator (“1/64–1/32” -> 32), or 0 if unknown */
+    public double getOneOverMin()
+    {
+        ensureNormalized();
+        return oneOverMin;
+    }
+
+    /** @return the rarest one-over denominator (“1/64–1/32” -> 64), or 0 if unknown */
+    public double getOneOverMax()
+    {
+        ensureNormalized();
+        return oneOverMax;
+    }
+
+    public boolean isAlways()
+    {
+        ensureNormalized();
+        return always;
     }
 
     /**
-     * Parse rarity and return the denominator (e.g., “1/128” -> 128).
-     * Unknown values sort as rarest (POSITIVE_INFINITY). “Always” -> 0.
+     * Sort key for rarity: the most common one-over denominator
+     * (e.g., “1/128” -> 128). Unknown values sort as rarest
+     * (POSITIVE_INFINITY). “Always” -> 0.
      */
     public double getRarityValue()
     {
-        String oneOver = getOneOverRarity();
-        if (oneOver.isEmpty())
+        ensureNormalized();
+        if (always)
         {
-            return Double.POSITIVE_INFINITY;
+            return 0d;
         }
+        return oneOverMin > 0 ? oneOverMin : Double.POSITIVE_INFINITY;
+    }
 
-        Matcher m = ONE_OVER.matcher(oneOver);
-        if (m.find())
+    private void ensureNormalized()
+    {
+        if (oneOver == null)
         {
-            try { return Double.parseDouble(m.group(1)); }
-            catch (NumberFormatException ignored) { return Double.POSITIVE_INFINITY; }
+            normalize();
         }
+    }
 
-        if (oneOver.equalsIgnoreCase("Always"))
+    private void normalize()
+    {
+        String display = rarity == null ? "" : Arrays.stream(SEGMENTS.split(rarity))
+                .map(this::normalizeSegment)
+                .collect(Collectors.joining("; "));
+
+        double min = 0;
+        double max = 0;
+        Matcher m = ONE_OVER.matcher(display);
+        while (m.find())
         {
-            return 0d;
+            double v = safeDouble(m.group(1));
+            if (v > 0 && !Double.isInfinite(v))
+            {
+                min = min == 0 ? v : Math.min(min, v);
+                max = Math.max(max, v);
+            }
         }
 
-        return Double.POSITIVE_INFINITY;
+        oneOver = display;
+        oneOverMin = min;
+        oneOverMax = max;
+        always = min == 0 && display.equalsIgnoreCase("Always");
     }
 
     private String normalizeSegment(String raw)
@@ -79,12 +141,12 @@ public class DropItem
                 .replace(",", "")
                 .replace("≈", "")
                 .replace("~", "")
-                .replaceAll(PAREN.pattern(), "")
-                .replaceAll(IN_SYNT.pattern(), "/")
                 .trim();
+        cleaned = PAREN.matcher(cleaned).replaceAll("");
+        cleaned = IN_SYNT.matcher(cleaned).replaceAll("/").trim();
 
         // Handle ranges like "1/128 – 1/64"
-        String[] range = cleaned.split("\\s*[–—-]\\s*");
+        String[] range = RANGE.split(cleaned);
         if (range.length > 1)
         {
             return Arrays.stream(range)
@@ -0,0 +1,240 @@
+package com.chanceman.drops;
+
+import com.chanceman.ChanceManConfig;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Actor;
+import net.runelite.api.Client;
+import net.runelite.api.GameState;
+import net.runelite.api.NPC;
+import net.runelite.api.Player;
+import net.runelite.api.coords.WorldPoint;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.HitsplatApplied;
+import net.runelite.api.events.InteractingChanged;
+import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.NpcSpawned;
+import net.runelite.client.eventbus.Subscribe;
+import net.runelite.client.util.Text;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Warms {@link DropCache} in the background for NPCs the player is likely to
+ * inspect next. Candidates are ranked by how strongly the player is engaged
+ * with them (hit > targeted > aggressive > merely spawned) plus proximity, and
+ * at most one prefetch runs at a time under a per-minute wiki budget.
+ */
+@Slf4j
+@Singleton
+public class DropPrefetcher
+{
+    private static final int WEIGHT_SPAWNED = 0;
+    private static final int WEIGHT_AGGRESSOR = 40;
+    private static final int WEIGHT_TARGETED = 60;
+    private static final int WEIGHT_HIT = 80;
+    private static final int PROXIMITY_RANGE = 15;
+    private static final int MAX_CANDIDATES = 32;
+    private static final long RETRY_AFTER_MS = TimeUnit.MINUTES.toMillis(10);
+    private static final long BUDGET_WINDOW_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Client client;
+    private final DropCache dropCache;
+    private final ChanceManConfig config;
+
+    // Client-thread only
+    private final Map<NPC, Integer> candidates = new HashMap<>();
+
+    // Touched from IO completions as well as the client thread
+    private final Map<String, Long> attempted = new ConcurrentHashMap<>();
+    private final Deque<Long> recentFetches = new ConcurrentLinkedDeque<>();
+    // The prefetch in progress, if any; kept so reset() can drop one the cache will never finish
+    private final AtomicReference<CompletableFuture<Boolean>> pending = new AtomicReference<>();
+
+    @Inject
+    public DropPrefetcher(Client client, DropCache dropCache, ChanceManConfig config)
+    {
+        this.client = client;
+        this.dropCache = dropCache;
+        this.config = config;
+    }
+
+    /** Forget all candidates and history, e.g. on shutdown or account switch. */
+    public void reset()
+    {
+        CompletableFuture<Boolean> running = pending.getAndSet(null);
+        if (running != null)
+        {
+            // DropCache.shutdown() discards queued work, so this may never complete by itself
+            running.cancel(true);
+        }
+        candidates.clear();
+        attempted.clear();
+        recentFetches.clear();
+    }
+
+    @Subscribe
+    public void onNpcSpawned(NpcSpawned event)
+    {
+        bump(event.getNpc(), WEIGHT_SPAWNED);
+    }
+
+    @Subscribe
+    public void onNpcDespawned(NpcDespawned event)
+    {
+        candidates.remove(event.getNpc());
+    }
+
+    @Subscribe
+    public void onInteractingChanged(InteractingChanged event)
+    {
+        Player local = client.getLocalPlayer();
+        if (local == null)
+        {
+            return;
+        }
+        Actor source = event.getSource();
+        Actor target = event.getTarget();
+        if (source == local && target instanceof NPC)
+        {
+            bump((NPC) target, WEIGHT_TARGETED);
+        }
+        else if (target == local && source instanceof NPC)
+        {
+            bump((NPC) source, WEIGHT_AGGRESSOR);
+        }
+    }
+
+    @Subscribe
+    public void onHitsplatApplied(HitsplatApplied event)
+    {
+        if (event.getActor() instanceof NPC && event.getHitsplat().isMine())
+        {
+            bump((NPC) event.getActor(), WEIGHT_HIT);
+        }
+    }
+
+    @Subscribe
+    public void onGameTick(GameTick tick)
+    {
+        if (!config.prefetchDropTables()
+                || client.getGameState() != GameState.LOGGED_IN
+                || candidates.isEmpty()
+                || pending.get() != null
+                || !withinBudget())
+        {
+            return;
+        }
+
+        NPC best = pickCandidate();
+        if (best == null)
+        {
+            return;
+        }
+        candidates.remove(best);
+
+        final String name = Text.removeTags(best.getName());
+        final int level = best.getCombatLevel();
+        attempted.put(attemptKey(name, level), System.currentTimeMillis());
+
+        CompletableFuture<Boolean> prefetch = dropCache.prefetch(best.getId(), name, level);
+        pending.set(prefetch);
+        prefetch.whenComplete((fetched, ex) ->
+        {
+            if (ex != null)
+            {
+                log.debug("Prefetch failed for {} (lvl {})", name, level, ex);
+            }
+            if (ex != null || Boolean.TRUE.equals(fetched))
+            {
+                recentFetches.addLast(System.currentTimeMillis());
+            }
+            pending.compareAndSet(prefetch, null);
+        });
+    }
+
+    private void bump(NPC npc, int weight)
+    {
+        if (npc == null || npc.getCombatLevel() <= 0 || npc.getName() == null)
+        {
+            return;
+        }
+        Integer current = candidates.get(npc);
+        if (current == null && candidates.size() >= MAX_CANDIDATES && weight == WEIGHT_SPAWNED)
+        {
+            return;
+        }
+        candidates.put(npc, current == null ? weight : Math.max(current, weight));
+    }
+
+    /**
+     * Highest scoring candidate that has not been attempted recently, or
+     * {@code null}. Candidates still inside their retry window are dropped.
+     */
+    private NPC pickCandidate()
+    {
+        Player local = client.getLocalPlayer();
+        WorldPoint here = local != null ? local.getWorldLocation() : null;
+        long now = System.currentTimeMillis();
+
+        NPC best = null;
+        int bestScore = Integer.MIN_VALUE;
+        Iterator<Map.Entry<NPC, Integer>> it = candidates.entrySet().iterator();
+        while (it.hasNext())
+        {
+            Map.Entry<NPC, Integer> e = it.next();
+            NPC npc = e.getKey();
+            String name = npc.getName();
+            if (name == null)
+            {
+                it.remove();
+                continue;
+            }
+            Long last = attempted.get(attemptKey(Text.removeTags(name), npc.getCombatLevel()));
+            if (last != null && now - last < RETRY_AFTER_MS)
+            {
+                it.remove();
+                continue;
+            }
+
+            int score = e.getValue();
+            if (here != null)
+            {
+                WorldPoint there = npc.getWorldLocation();
+                int distance = there != null ? there.distanceTo(here) : Integer.MAX_VALUE;
+                score += Math.max(0, PROXIMITY_RANGE - distance);
+            }
+            if (score > bestScore)
+            {
+                bestScore = score;
+                best = npc;
+            }
+        }
+        return best;
+    }
+
+    private boolean withinBudget()
+    {
+        long cutoff = System.currentTimeMillis() - BUDGET_WINDOW_MS;
+        Long head;
+        while ((head = recentFetches.peekFirst()) != null && head < cutoff)
+        {
+            recentFetches.pollFirst();
+        }
+        return recentFetches.size() < config.prefetchBudgetPerMinute();
+    }
+
+    private static String attemptKey(String name, int level)
+    {
+        return name.toLowerCase() + "|" + level;
+    }
+}
@@ -0,0 +1,99 @@
+package com.chanceman.drops;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded, access-ordered memory tier for fully materialized drop tables.
+ * The least recently used table is dropped once {@code capacity} is exceeded;
+ * it can always be reloaded from disk through the index.
+ */
+final class DropTableLru
+{
+    private final int capacity;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LinkedHashMap<Path, NpcDropData> tables;
+
+    DropTableLru(int capacity)
+    {
+        this.capacity = capacity;
+        this.tables = new LinkedHashMap<Path, NpcDropData>(capacity + 1, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, NpcDropData> eldest)
+            {
+                if (size() > DropTableLru.this.capacity)
+                {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /** Look up a table, recording a hit or a miss. */
+    synchronized NpcDropData get(Path file)
+    {
+        NpcDropData data = tables.get(file);
+        if (data != null)
+        {
+            hits.increment();
+        }
+        else
+        {
+            misses.increment();
+        }
+        return data;
+    }
+
+    /** Look up a table without recording a hit or a miss, e.g. for background work. */
+    synchronized NpcDropData peek(Path file)
+    {
+        return tables.get(file);
+    }
+
+    synchronized void put(Path file, NpcDropData data)
+    {
+        tables.put(file, data);
+    }
+
+    synchronized NpcDropData remove(Path file)
+    {
+        return tables.remove(file);
+    }
+
+    synchronized void clear()
+    {
+        tables.clear();
+    }
+
+    synchronized int size()
+    {
+        return tables.size();
+    }
+
+    long hits()
+    {
+        return hits.sum();
+    }
+
+    long misses()
+    {
+        return misses.sum();
+    }
+
+    long evictions()
+    {
+        return evictions.sum();
+    }
+
+    int capacity()
+    {
+        return capacity;
+    }
+}
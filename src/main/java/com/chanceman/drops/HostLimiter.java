@@ -0,0 +1,100 @@
+package com.chanceman.drops;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caps the number of this plugin's requests in flight to any one host. The
+ * OkHttp client is shared with the rest of RuneLite, and its dispatcher's
+ * per-host cap is shared with it; without this a large fan-out of fetches
+ * would take every wiki slot and queue other plugins' wiki requests behind
+ * it. Waiting never blocks a thread: {@link #acquire} returns a future that
+ * completes once a slot is free.
+ */
+final class HostLimiter
+{
+    private static final class Host
+    {
+        int active;
+        final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    }
+
+    private final int permitsPerHost;
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+    HostLimiter(int permitsPerHost)
+    {
+        this.permitsPerHost = permitsPerHost;
+    }
+
+    /**
+     * Ask for a slot for a request to {@code host}. Once the returned future
+     * completes the caller holds the slot and must {@link #release} it when
+     * the request finishes. Cancel the future to stop waiting; a cancelled
+     * wait never takes a slot.
+     *
+     * @return a future completed when the slot is granted, in request order
+     */
+    CompletableFuture<Void> acquire(String host)
+    {
+        Host h = hosts.computeIfAbsent(host, k -> new Host());
+        synchronized (h)
+        {
+            if (h.active < permitsPerHost)
+            {
+                h.active++;
+                return CompletableFuture.completedFuture(null);
+            }
+            CompletableFuture<Void> slot = new CompletableFuture<>();
+            h.waiting.add(slot);
+            return slot;
+        }
+    }
+
+    /** Give a slot back, handing it to the longest waiting request if any. */
+    void release(String host)
+    {
+        Host h = hosts.get(host);
+        if (h == null)
+        {
+            return;
+        }
+        CompletableFuture<Void> next;
+        synchronized (h)
+        {
+            do
+            {
+                next = h.waiting.poll();
+            }
+            while (next != null && next.isDone());
+
+            if (next == null)
+            {
+                h.active = Math.max(0, h.active - 1);
+                return;
+            }
+        }
+        // Complete outside the lock: the waiter's continuation runs here
+        if (!next.complete(null))
+        {
+            // Cancelled after it was polled; pass the slot on
+            release(host);
+        }
+    }
+
+    /** @return requests to {@code host} holding a slot right now */
+    int inFlight(String host)
+    {
+        Host h = hosts.get(host);
+        if (h == null)
+        {
+            return 0;
+        }
+        synchronized (h)
+        {
+            return h.active;
+        }
+    }
+}
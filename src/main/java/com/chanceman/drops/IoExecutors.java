@@ -0,0 +1,93 @@
+package com.chanceman.drops;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Executors for blocking disk work. On JDK 21+ every task gets its own
+ * virtual thread, so the index bootstrap's one header read per cached file
+ * and a burst of table loads wait on the disk rather than on a handful of
+ * pool threads; older runtimes get the fixed platform pool used before. The
+ * plugin compiles against Java 11, so the virtual-thread API is reached
+ * reflectively.
+ *
+ * <p>Set {@code -Dchanceman.virtualThreads=false} to force the fixed pool.</p>
+ */
+@Slf4j
+final class IoExecutors
+{
+    static final String VIRTUAL_THREADS_PROPERTY = "chanceman.virtualThreads";
+
+    private static final boolean VIRTUAL = probeVirtualThreads();
+
+    private IoExecutors()
+    {
+    }
+
+    /**
+     * @return whether {@link #newIoExecutor} hands out virtual-thread executors
+     */
+    static boolean isVirtual()
+    {
+        return VIRTUAL;
+    }
+
+    /**
+     * Create an executor for blocking IO.
+     *
+     * @param name            thread name prefix, e.g. {@code "dropcache-io"}
+     * @param fallbackThreads pool size when virtual threads are unavailable
+     */
+    static ExecutorService newIoExecutor(String name, int fallbackThreads)
+    {
+        if (isVirtual())
+        {
+            try
+            {
+                return newVirtualExecutor(name);
+            }
+            catch (ReflectiveOperationException | RuntimeException ex)
+            {
+                log.warn("Could not create virtual-thread executor {}, using a fixed pool", name, ex);
+            }
+        }
+        return Executors.newFixedThreadPool(
+                fallbackThreads,
+                new ThreadFactoryBuilder().setNameFormat(name + "-%d").build()
+        );
+    }
+
+    private static ExecutorService newVirtualExecutor(String name) throws ReflectiveOperationException
+    {
+        Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+        Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+        builder = builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+        ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        Method perTask = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        return (ExecutorService) perTask.invoke(null, factory);
+    }
+
+    private static boolean probeVirtualThreads()
+    {
+        if (!Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "true")))
+        {
+            return false;
+        }
+        try
+        {
+            // JDK 19/20 expose the API but throw unless preview features are enabled
+            newVirtualExecutor("probe").shutdown();
+            log.debug("Using virtual threads for drop table IO");
+            return true;
+        }
+        catch (ReflectiveOperationException | RuntimeException | LinkageError ex)
+        {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.chanceman.drops;
+
+import lombok.Value;
+
+/**
+ * One place an item drops: an NPC from the drop cache, the table section it
+ * is listed under and its normalized rate there.
+ */
+@Value
+public class ItemSource
+{
+    int npcId;
+    String npcName;
+    int level;
+    String section;
+    String rarity;
+    /** One-over denominator used for ordering; 0 = always, infinite = unknown. */
+    double rarityValue;
+}
@@ -0,0 +1,167 @@
+package com.chanceman.drops;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index from canonical item ID to every cached NPC table that drops
+ * it. Tables are added and removed as a whole, keyed by their cache file, so
+ * a re-fetched table simply replaces its previous entries. Lookups are
+ * lock-free and cost one map probe plus a sort of the (small) result.
+ */
+final class ItemSourceIndex
+{
+    private static final Comparator<ItemSource> BY_RARITY = Comparator
+            .comparingDouble(ItemSource::getRarityValue)
+            .thenComparing(ItemSource::getNpcName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingInt(ItemSource::getLevel);
+
+    private final Map<Integer, Map<Path, List<ItemSource>>> byItem = new ConcurrentHashMap<>();
+    private final Map<Path, int[]> itemsByFile = new ConcurrentHashMap<>();
+    private volatile Listener listener;
+
+    /** Follows tables entering and leaving the index; called while the index is locked. */
+    interface Listener
+    {
+        void tableIndexed(Path file, NpcDropData data);
+
+        void tableRemoved(Path file);
+
+        void cleared();
+    }
+
+    void setListener(Listener listener)
+    {
+        this.listener = listener;
+    }
+
+    /** Index every item in {@code data}, replacing what was indexed for {@code file}. */
+    synchronized void put(Path file, NpcDropData data)
+    {
+        removeLocked(file);
+        if (data == null || data.getDropTableSections() == null)
+        {
+            return;
+        }
+
+        Map<Integer, List<ItemSource>> found = new HashMap<>();
+        for (DropTableSection section : data.getDropTableSections())
+        {
+            if (section == null || section.getItems() == null)
+            {
+                continue;
+            }
+            for (DropItem item : section.getItems())
+            {
+                if (item == null || item.getItemId() <= 0)
+                {
+                    continue;
+                }
+                found.computeIfAbsent(item.getItemId(), id -> new ArrayList<>(1)).add(new ItemSource(
+                        data.getNpcId(),
+                        data.getName(),
+                        data.getLevel(),
+                        section.getHeader(),
+                        item.getOneOverRarity(),
+                        item.getRarityValue()));
+            }
+        }
+
+        int[] ids = new int[found.size()];
+        int i = 0;
+        for (Map.Entry<Integer, List<ItemSource>> e : found.entrySet())
+        {
+            ids[i++] = e.getKey();
+            byItem.computeIfAbsent(e.getKey(), id -> new ConcurrentHashMap<>())
+                    .put(file, Collections.unmodifiableList(e.getValue()));
+        }
+        itemsByFile.put(file, ids);
+
+        Listener l = listener;
+        if (l != null)
+        {
+            l.tableIndexed(file, data);
+        }
+    }
+
+    synchronized void remove(Path file)
+    {
+        removeLocked(file);
+    }
+
+    private void removeLocked(Path file)
+    {
+        int[] ids = itemsByFile.remove(file);
+        if (ids == null)
+        {
+            return;
+        }
+        Listener l = listener;
+        if (l != null)
+        {
+            l.tableRemoved(file);
+        }
+        for (int id : ids)
+        {
+            Map<Path, List<ItemSource>> sources = byItem.get(id);
+            if (sources != null)
+            {
+                sources.remove(file);
+                if (sources.isEmpty())
+                {
+                    byItem.remove(id);
+                }
+            }
+        }
+    }
+
+    synchronized void clear()
+    {
+        byItem.clear();
+        itemsByFile.clear();
+        Listener l = listener;
+        if (l != null)
+        {
+            l.cleared();
+        }
+    }
+
+    boolean isIndexed(Path file)
+    {
+        return itemsByFile.containsKey(file);
+    }
+
+    boolean hasSources(int itemId)
+    {
+        return byItem.containsKey(itemId);
+    }
+
+    Set<Integer> itemIds()
+    {
+        return Collections.unmodifiableSet(byItem.keySet());
+    }
+
+    /** @return sources for the item, most common rate first */
+    List<ItemSource> get(int itemId)
+    {
+        Map<Path, List<ItemSource>> sources = byItem.get(itemId);
+        if (sources == null)
+        {
+            return Collections.emptyList();
+        }
+        List<ItemSource> out = new ArrayList<>();
+        for (List<ItemSource> perTable : sources.values())
+        {
+            out.addAll(perTable);
+        }
+        out.sort(BY_RARITY);
+        return out;
+    }
+}
@@ -0,0 +1,32 @@
+package com.chanceman.drops;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * Lightweight, always-resident pointer to a drop table stored on disk.
+ * Holds just enough to search and resolve an NPC without keeping the
+ * full table in memory.
+ */
+@Getter
+public class NpcIndexEntry
+{
+    private final int npcId;
+    private final String name;
+    private final int level;
+    private final Path file;
+
+    public NpcIndexEntry(int npcId, String name, int level, Path file)
+    {
+        this.npcId = npcId;
+        this.name = name;
+        this.level = level;
+        this.file = file;
+    }
+
+    static NpcIndexEntry of(NpcDropData data, Path file)
+    {
+        return new NpcIndexEntry(data.getNpcId(), data.getName(), data.getLevel(), file);
+    }
+}
@@ -0,0 +1,257 @@
+package com.chanceman.drops;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory search index over NPC names. Substring queries intersect
+ * per-trigram posting bitsets, short queries go through a sorted token-prefix
+ * map, and when too few names contain the query a Dice-coefficient pass over
+ * shared trigrams picks up near misses such as typos.
+ *
+ * <p>Names are reference counted so the same NPC cached at several combat
+ * levels is only removed once every level is gone.</p>
+ */
+final class NpcNameIndex
+{
+    private static final double MIN_FUZZY_SCORE = 0.45;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<String> lowerNames = new ArrayList<>();
+    private final List<Integer> gramCounts = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final Map<Integer, Integer> refCounts = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final Map<Integer, BitSet> trigrams = new HashMap<>();
+    private final NavigableMap<String, BitSet> tokens = new TreeMap<>();
+
+    synchronized void add(String name)
+    {
+        if (name == null || name.trim().isEmpty())
+        {
+            return;
+        }
+        String lc = name.toLowerCase(Locale.ROOT).trim();
+        Integer id = ids.get(lc);
+        if (id == null)
+        {
+            id = names.size();
+            names.add(name.trim());
+            lowerNames.add(lc);
+            ids.put(lc, id);
+            int[] nameGrams = grams(lc);
+            gramCounts.add(nameGrams.length);
+            for (int gram : nameGrams)
+            {
+                trigrams.computeIfAbsent(gram, g -> new BitSet()).set(id);
+            }
+            for (String token : lc.split("[^a-z0-9]+"))
+            {
+                if (!token.isEmpty())
+                {
+                    tokens.computeIfAbsent(token, t -> new BitSet()).set(id);
+                }
+            }
+        }
+        refCounts.merge(id, 1, Integer::sum);
+        live.set(id);
+    }
+
+    synchronized void remove(String name)
+    {
+        if (name == null)
+        {
+            return;
+        }
+        Integer id = ids.get(name.toLowerCase(Locale.ROOT).trim());
+        if (id == null)
+        {
+            return;
+        }
+        // Postings are left in place; the live mask hides the name until re-added
+        if (refCounts.merge(id, -1, Integer::sum) <= 0)
+        {
+            refCounts.remove(id);
+            live.clear(id);
+        }
+    }
+
+    synchronized void clear()
+    {
+        names.clear();
+        lowerNames.clear();
+        gramCounts.clear();
+        ids.clear();
+        refCounts.clear();
+        live.clear();
+        trigrams.clear();
+        tokens.clear();
+    }
+
+    synchronized int size()
+    {
+        return live.cardinality();
+    }
+
+    /**
+     * Find names matching {@code query}, best first: exact, whole-name prefix,
+     * word prefix, then plain substring. If that yields fewer than
+     * {@code limit} names the remainder is filled with fuzzy matches.
+     */
+    synchronized List<String> search(String query, int limit)
+    {
+        List<String> out = new ArrayList<>();
+        String q = query == null ? "" : query.toLowerCase(Locale.ROOT).trim();
+        if (q.isEmpty() || limit <= 0 || live.isEmpty())
+        {
+            return out;
+        }
+
+        BitSet hits = q.length() < 3 ? prefixCandidates(q) : substringCandidates(q);
+        List<Integer> ranked = new ArrayList<>();
+        for (int id = hits.nextSetBit(0); id >= 0; id = hits.nextSetBit(id + 1))
+        {
+            if (lowerNames.get(id).contains(q))
+            {
+                ranked.add(id);
+            }
+        }
+        ranked.sort(Comparator.<Integer>comparingInt(id -> matchRank(lowerNames.get(id), q))
+                .thenComparingInt(id -> lowerNames.get(id).length())
+                .thenComparing(lowerNames::get));
+        for (int i = 0; i < ranked.size() && out.size() < limit; i++)
+        {
+            out.add(names.get(ranked.get(i)));
+        }
+
+        if (out.size() < limit && q.length() >= 3)
+        {
+            BitSet seen = new BitSet();
+            ranked.forEach(seen::set);
+            fuzzy(q, seen, limit - out.size(), out);
+        }
+        return out;
+    }
+
+    /** Names with any word starting with {@code q}; used for one- and two-letter queries. */
+    private BitSet prefixCandidates(String q)
+    {
+        BitSet acc = new BitSet();
+        for (BitSet posting : tokens.subMap(q, true, q + Character.MAX_VALUE, false).values())
+        {
+            acc.or(posting);
+        }
+        acc.and(live);
+        return acc;
+    }
+
+    /** Names containing every trigram of {@code q}; still needs a contains() check. */
+    private BitSet substringCandidates(String q)
+    {
+        BitSet acc = null;
+        for (int gram : grams(q))
+        {
+            BitSet posting = trigrams.get(gram);
+            if (posting == null)
+            {
+                return new BitSet();
+            }
+            if (acc == null)
+            {
+                acc = (BitSet) posting.clone();
+                acc.and(live);
+            }
+            else
+            {
+                acc.and(posting);
+            }
+            if (acc.isEmpty())
+            {
+                break;
+            }
+        }
+        return acc == null ? new BitSet() : acc;
+    }
+
+    private void fuzzy(String q, BitSet exclude, int limit, List<String> out)
+    {
+        int[] queryGrams = grams(q);
+        int[] shared = new int[names.size()];
+        for (int gram : queryGrams)
+        {
+            BitSet posting = trigrams.get(gram);
+            if (posting == null)
+            {
+                continue;
+            }
+            for (int id = posting.nextSetBit(0); id >= 0; id = posting.nextSetBit(id + 1))
+            {
+                shared[id]++;
+            }
+        }
+
+        List<int[]> scored = new ArrayList<>();
+        for (int id = live.nextSetBit(0); id >= 0; id = live.nextSetBit(id + 1))
+        {
+            if (shared[id] == 0 || exclude.get(id))
+            {
+                continue;
+            }
+            int nameGrams = gramCounts.get(id);
+            double dice = 2.0 * shared[id] / (queryGrams.length + nameGrams);
+            if (dice >= MIN_FUZZY_SCORE)
+            {
+                scored.add(new int[]{id, (int) Math.round(dice * 1000)});
+            }
+        }
+        scored.sort((a, b) -> b[1] != a[1] ? Integer.compare(b[1], a[1]) : Integer.compare(a[0], b[0]));
+        for (int i = 0; i < scored.size() && i < limit; i++)
+        {
+            out.add(names.get(scored.get(i)[0]));
+        }
+    }
+
+    private static int matchRank(String name, String q)
+    {
+        if (name.equals(q))
+        {
+            return 0;
+        }
+        if (name.startsWith(q))
+        {
+            return 1;
+        }
+        int at = name.indexOf(q);
+        return at > 0 && !Character.isLetterOrDigit(name.charAt(at - 1)) ? 2 : 3;
+    }
+
+    /**
+     * Distinct trigrams of a lower-cased string, packed into ints. Strings
+     * shorter than three characters are padded so they still produce a gram.
+     */
+    private static int[] grams(String s)
+    {
+        String padded = s.length() < 3 ? (s + "  ").substring(0, 3) : s;
+        Set<Integer> out = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++)
+        {
+            out.add((padded.charAt(i) << 16) ^ (padded.charAt(i + 1) << 8) ^ padded.charAt(i + 2));
+        }
+        int[] arr = new int[out.size()];
+        int i = 0;
+        for (int g : out)
+        {
+            arr[i++] = g;
+        }
+        return arr;
+    }
+}
@@ -0,0 +1,255 @@
+package com.chanceman.drops;
+
+import com.chanceman.managers.ObtainedItemsManager;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ranks cached NPCs by the expected number of new (tradeable, not yet
+ * obtained) items a single kill yields: the sum of the per-kill drop chance of
+ * every such item in the NPC's table.
+ *
+ * <p>Each table is turned once into a probability vector over its distinct
+ * items. A score keeps a bit per vector slot saying whether that item is
+ * currently counted, so an obtain only subtracts its chance from the NPCs
+ * that drop it, and a table indexed concurrently with an obtain can never be
+ * debited twice. Full recomputation only happens when the obtained or
+ * tradeable sets are replaced wholesale.</p>
+ */
+@Slf4j
+@Singleton
+public class TargetRecommender implements ItemSourceIndex.Listener, ObtainedItemsManager.ObtainListener
+{
+    private static final Comparator<Target> BY_SCORE = Comparator
+            .comparingDouble((Target t) -> t.score).reversed()
+            .thenComparing(t -> t.name, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+
+    private final ObtainedItemsManager obtainedItemsManager;
+
+    // Guarded by this
+    private final Map<Path, Target> targets = new HashMap<>();
+    private final Map<Integer, List<Target>> targetsByItem = new HashMap<>();
+    private Set<Integer> tradeable = Collections.emptySet();
+
+    private static final class Target
+    {
+        final int npcId;
+        final String name;
+        final int level;
+        final int[] itemIds;
+        final double[] chances;
+        final BitSet counted;
+        double score;
+
+        Target(NpcDropData data, int[] itemIds, double[] chances)
+        {
+            this.npcId = data.getNpcId();
+            this.name = data.getName();
+            this.level = data.getLevel();
+            this.itemIds = itemIds;
+            this.chances = chances;
+            this.counted = new BitSet(itemIds.length);
+        }
+    }
+
+    @Inject
+    public TargetRecommender(DropCache dropCache, ObtainedItemsManager obtainedItemsManager)
+    {
+        this.obtainedItemsManager = obtainedItemsManager;
+        dropCache.setItemSourceListener(this);
+    }
+
+    /** Replace the tradeable universe and rescore every NPC. */
+    public synchronized void setTradeableItems(Collection<Integer> items)
+    {
+        tradeable = new HashSet<>(items);
+        recomputeAll();
+    }
+
+    /**
+     * @return up to {@code limit} NPCs with at least one new item, best first
+     */
+    public synchronized List<TargetScore> top(int limit)
+    {
+        List<Target> ranked = new ArrayList<>();
+        for (Target t : targets.values())
+        {
+            if (t.score > 0)
+            {
+                ranked.add(t);
+            }
+        }
+        ranked.sort(BY_SCORE);
+
+        List<TargetScore> out = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (Target t : ranked.subList(0, Math.min(limit, ranked.size())))
+        {
+            out.add(new TargetScore(t.npcId, t.name, t.level, t.score, t.counted.cardinality()));
+        }
+        return out;
+    }
+
+    @Override
+    public synchronized void tableIndexed(Path file, NpcDropData data)
+    {
+        removeTarget(file);
+
+        // Distinct items; the same item under several sections adds up
+        Map<Integer, Double> chanceByItem = new HashMap<>();
+        for (DropTableSection section : data.getDropTableSections())
+        {
+            if (section == null || section.getItems() == null)
+            {
+                continue;
+            }
+            for (DropItem item : section.getItems())
+            {
+                double chance = item == null ? 0 : chancePerKill(item);
+                if (chance > 0 && item.getItemId() > 0)
+                {
+                    chanceByItem.merge(item.getItemId(), chance, Double::sum);
+                }
+            }
+        }
+
+        int[] ids = new int[chanceByItem.size()];
+        double[] chances = new double[ids.length];
+        int i = 0;
+        for (Map.Entry<Integer, Double> e : chanceByItem.entrySet())
+        {
+            ids[i] = e.getKey();
+            chances[i] = Math.min(1d, e.getValue());
+            i++;
+        }
+
+        Target t = new Target(data, ids, chances);
+        rescore(t);
+        targets.put(file, t);
+        for (int id : ids)
+        {
+            targetsByItem.computeIfAbsent(id, k -> new ArrayList<>(2)).add(t);
+        }
+    }
+
+    @Override
+    public synchronized void tableRemoved(Path file)
+    {
+        removeTarget(file);
+    }
+
+    @Override
+    public synchronized void cleared()
+    {
+        targets.clear();
+        targetsByItem.clear();
+    }
+
+    @Override
+    public synchronized void onObtained(Collection<Integer> itemIds)
+    {
+        for (Integer id : itemIds)
+        {
+            List<Target> affected = targetsByItem.get(id);
+            if (affected == null)
+            {
+                continue;
+            }
+            for (Target t : affected)
+            {
+                int slot = slotOf(t, id);
+                if (slot >= 0 && t.counted.get(slot))
+                {
+                    t.counted.clear(slot);
+                    t.score = Math.max(0d, t.score - t.chances[slot]);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onReloaded()
+    {
+        recomputeAll();
+    }
+
+    private void recomputeAll()
+    {
+        for (Target t : targets.values())
+        {
+            rescore(t);
+        }
+        log.debug("Rescored {} drop tables for target recommendations", targets.size());
+    }
+
+    private void rescore(Target t)
+    {
+        t.counted.clear();
+        double score = 0;
+        for (int i = 0; i < t.itemIds.length; i++)
+        {
+            int id = t.itemIds[i];
+            if (tradeable.contains(id) && !obtainedItemsManager.isObtained(id))
+            {
+                t.counted.set(i);
+                score += t.chances[i];
+            }
+        }
+        t.score = score;
+    }
+
+    private void removeTarget(Path file)
+    {
+        Target t = targets.remove(file);
+        if (t == null)
+        {
+            return;
+        }
+        for (int id : t.itemIds)
+        {
+            List<Target> list = targetsByItem.get(id);
+            if (list != null)
+            {
+                list.remove(t);
+                if (list.isEmpty())
+                {
+                    targetsByItem.remove(id);
+                }
+            }
+        }
+    }
+
+    private static int slotOf(Target t, int itemId)
+    {
+        for (int i = 0; i < t.itemIds.length; i++)
+        {
+            if (t.itemIds[i] == itemId)
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static double chancePerKill(DropItem item)
+    {
+        if (item.isAlways())
+        {
+            return 1d;
+        }
+        double oneOver = item.getRarityValue();
+        return oneOver > 0 && !Double.isInfinite(oneOver) ? 1d / oneOver : 0d;
+    }
+}
@@ -0,0 +1,18 @@
+package com.chanceman.drops;
+
+import lombok.Value;
+
+/**
+ * A cached NPC ranked by {@link TargetRecommender}.
+ */
+@Value
+public class TargetScore
+{
+    int npcId;
+    String npcName;
+    int level;
+    /** Expected number of not-yet-obtained tradeable items per kill. */
+    double expectedNewItems;
+    /** How many distinct not-yet-obtained tradeable items the NPC drops. */
+    int newItemCount;
+}
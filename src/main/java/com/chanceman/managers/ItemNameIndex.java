@@ -0,0 +1,107 @@
+package com.chanceman.managers;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Session-wide cache of item names, kept both as displayed and lower-cased for
+ * matching. It is filled while the tradeable universe is built, so panel
+ * searches never need the client thread. Lookups are thread-safe.
+ */
+@Singleton
+public class ItemNameIndex
+{
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+    private final Map<Integer, String> lowerNames = new ConcurrentHashMap<>();
+
+    // Last filter result, reused when the next query extends the previous one
+    private volatile Narrowing last;
+
+    public void put(int itemId, String name)
+    {
+        if (name == null)
+        {
+            return;
+        }
+        names.put(itemId, name);
+        lowerNames.put(itemId, name.toLowerCase(Locale.ROOT));
+        last = null;
+    }
+
+    /** @return the display name, or {@code null} if not indexed yet */
+    public String getName(int itemId)
+    {
+        return names.get(itemId);
+    }
+
+    public boolean contains(int itemId)
+    {
+        return names.containsKey(itemId);
+    }
+
+    public int size()
+    {
+        return names.size();
+    }
+
+    public void clear()
+    {
+        names.clear();
+        lowerNames.clear();
+        last = null;
+    }
+
+    /**
+     * Keep the items of {@code ids} whose name contains {@code query}
+     * (case-insensitive), preserving order. When the query extends the
+     * previous one over the same list instance, e.g. while the user is
+     * typing, only the previous matches are re-checked, so callers must not
+     * modify {@code ids} between calls. Unindexed items never match.
+     */
+    public List<Integer> filter(List<Integer> ids, String query)
+    {
+        String q = query == null ? "" : query.toLowerCase(Locale.ROOT);
+        if (q.isEmpty())
+        {
+            return new ArrayList<>(ids);
+        }
+
+        Narrowing prev = last;
+        Collection<Integer> source = ids;
+        if (prev != null && prev.input == ids && q.startsWith(prev.query))
+        {
+            source = prev.result;
+        }
+
+        List<Integer> out = new ArrayList<>();
+        for (Integer id : source)
+        {
+            String name = lowerNames.get(id);
+            if (name != null && name.contains(q))
+            {
+                out.add(id);
+            }
+        }
+        last = new Narrowing(ids, q, out);
+        return out;
+    }
+
+    private static final class Narrowing
+    {
+        final List<Integer> input;
+        final String query;
+        final List<Integer> result;
+
+        Narrowing(List<Integer> input, String query, List<Integer> result)
+        {
+            this.input = input;
+            this.query = query;
+            this.result = result;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.chanceman.managers;
 
 import com.chanceman.account.AccountManager;
+import com.chanceman.metrics.PerfMetrics;
 import com.chanceman.persist.ConfigPersistence;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -16,6 +17,7 @@ import java.lang.reflect.Type;
 import java.nio.file.*;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 
 import static net.runelite.client.RuneLite.RUNELITE_DIR;
@@ -40,9 +42,24 @@ public class ObtainedItemsManager
     @Inject private AccountManager accountManager;
     @Inject private Gson gson;
     @Inject private ConfigPersistence configPersistence;
+    @Inject private PerfMetrics perfMetrics;
 
     @Setter private ExecutorService executor; // file writes & cloud mirror
     @Setter private Runnable onChange;
+    @Setter private ObtainListener obtainListener;
+
+    /**
+     * Fine-grained change notifications for consumers that keep derived state
+     * up to date incrementally instead of recomputing it on every change.
+     */
+    public interface ObtainListener
+    {
+        /** Items that were just added to the obtained set. */
+        void onObtained(Collection<Integer> itemIds);
+
+        /** The whole set was replaced, e.g. loaded for another account or reconciled. */
+        void onReloaded();
+    }
 
     private volatile long lastConfigWriteMs = 0L;
     private volatile boolean configWriteWarned = false;
@@ -70,6 +87,29 @@ public class ObtainedItemsManager
         {
             dirty = true;
             saveObtainedItems();
+            notifyObtained(Collections.singletonList(itemId));
+            safeNotifyChange();
+        }
+    }
+
+    /**
+     * Mark several items as obtained with a single save and change notification.
+     */
+    public void markObtainedAll(Collection<Integer> itemIds)
+    {
+        List<Integer> added = new ArrayList<>();
+        for (Integer id : itemIds)
+        {
+            if (obtainedItems.add(id))
+            {
+                added.add(id);
+            }
+        }
+        if (!added.isEmpty())
+        {
+            dirty = true;
+            saveObtainedItems();
+            notifyObtained(added);
             safeNotifyChange();
         }
     }
@@ -80,6 +120,70 @@ public class ObtainedItemsManager
         safeNotifyChange();
     }
 
+    /**
+     * Replace the in-memory set with a copy kept for the current account,
+     * without touching disk or cloud. Follow with {@link #reconcileInBackground()}.
+     */
+    public void restore(Set<Integer> items)
+    {
+        synchronized (obtainedItems)
+        {
+            obtainedItems.clear();
+            obtainedItems.addAll(items);
+        }
+        dirty = false;
+        ObtainListener listener = obtainListener;
+        if (listener != null)
+        {
+            try { listener.onReloaded(); }
+            catch (Throwable t) { log.error("obtainListener threw", t); }
+        }
+        safeNotifyChange();
+    }
+
+    /**
+     * Run the usual disk/cloud reconciliation on the executor. Skipped if the
+     * account changes before it starts.
+     *
+     * @return completes with true if reconciling changed the set
+     */
+    public CompletableFuture<Boolean> reconcileInBackground()
+    {
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+        String player = accountManager.getPlayerName();
+        if (player == null || !isExecutorAvailable())
+        {
+            done.complete(false);
+            return done;
+        }
+
+        executor.submit(() ->
+        {
+            try
+            {
+                if (!player.equals(accountManager.getPlayerName()))
+                {
+                    done.complete(false);
+                    return;
+                }
+                Set<Integer> before = snapshotObtained();
+                reconcileWithCloud(true);
+                boolean changed = !before.equals(snapshotObtained());
+                if (changed)
+                {
+                    safeNotifyChange();
+                }
+                done.complete(changed);
+            }
+            catch (Throwable t)
+            {
+                log.error("Background reconcile of obtained items failed", t);
+                done.complete(false);
+            }
+        });
+        return done;
+    }
+
     /** Normal save: disk + debounced cloud with current time. */
     public void saveObtainedItems()
     {
@@ -217,6 +321,12 @@ public class ObtainedItemsManager
             obtainedItems.clear();
             obtainedItems.addAll(winner);
         }
+        ObtainListener listener = obtainListener;
+        if (listener != null)
+        {
+            try { listener.onReloaded(); }
+            catch (Throwable t) { log.error("obtainListener threw", t); }
+        }
         if (legacySeeded && legacyFile != null && Files.exists(legacyFile) && !newFileExisted)
         {
             try
@@ -356,6 +466,16 @@ public class ObtainedItemsManager
         return true;
     }
 
+    private void notifyObtained(Collection<Integer> itemIds)
+    {
+        ObtainListener listener = obtainListener;
+        if (listener != null)
+        {
+            try { listener.onObtained(itemIds); }
+            catch (Throwable t) { log.error("obtainListener threw", t); }
+        }
+    }
+
     private void safeNotifyChange()
     {
         Runnable cb = onChange;
@@ -445,10 +565,12 @@ public class ObtainedItemsManager
     /** Write JSON to .tmp and atomically replace the main file; mark self-write for watcher echo suppression. */
     private void writeJsonAtomic(Path file, Set<Integer> data) throws IOException
     {
+        long start = perfMetrics.start();
         Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
         try (BufferedWriter w = Files.newBufferedWriter(tmp)) { gson.toJson(data, w); }
         safeMove(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
         lastSelfWriteMs = System.currentTimeMillis();
+        perfMetrics.stop(PerfMetrics.PERSIST_OBTAINED, start);
     }
 
     /** Move with fallback when ATOMIC_MOVE not supported. */
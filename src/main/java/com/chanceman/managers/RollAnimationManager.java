@@ -3,12 +3,14 @@ package com.chanceman.managers;
 import com.chanceman.ChanceManOverlay;
 import com.chanceman.ChanceManPanel;
 import com.chanceman.ChanceManConfig;
+import com.google.common.annotations.VisibleForTesting;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.api.ChatMessageType;
 import net.runelite.api.Client;
 import net.runelite.api.ItemComposition;
-import net.runelite.client.callback.ClientThread;
+import net.runelite.api.events.ClientTick;
+import net.runelite.client.eventbus.Subscribe;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.util.ColorUtil;
 
@@ -17,12 +19,16 @@ import javax.inject.Singleton;
 import javax.swing.*;
 import java.util.*;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Manages roll animations and result announcements.
  *
+ * A roll moves through {@link Phase#SPINNING} and {@link Phase#HIGHLIGHT}
+ * back to {@link Phase#IDLE}; transitions are checked on every
+ * {@link ClientTick} against frame timestamps, so no thread is parked for
+ * the duration of a roll.
+ *
  * New domain meanings:
  *  - ObtainedItemsManager = items you have obtained (legacy: Rolled)
  *  - RolledItemsManager   = items that have been rolled/unlocked (legacy: Unlocked)
@@ -32,7 +38,6 @@ public class RollAnimationManager
 {
     @Inject private ItemManager itemManager;
     @Inject private Client client;
-    @Inject private ClientThread clientThread;
 
     @Inject private ObtainedItemsManager obtainedManager;
     @Inject private RolledItemsManager rolledManager;
@@ -44,15 +49,29 @@ public class RollAnimationManager
 
     private Set<Integer> allTradeableItems = Collections.emptySet();
 
+    private enum Phase
+    {
+        IDLE,
+        SPINNING,
+        HIGHLIGHT
+    }
+
     private final Queue<Integer> rollQueue = new ConcurrentLinkedQueue<>();
-    private ExecutorService executor = Executors.newSingleThreadExecutor();
 
-    private volatile boolean isRolling = false;
+    // Roll lifecycle; written on the client thread, read from the panel
+    private volatile Phase phase = Phase.IDLE;
+    private long phaseEndsNs;
+    private int currentObtainedItemId;
+    private boolean currentManual;
+    private List<Integer> lockedSnapshot = Collections.emptyList();
 
     // tradeables gating
     private volatile boolean tradeablesReady = false;
 
+    private static final int ROLL_DURATION_MS = 3000;
     private static final int SNAP_WINDOW_MS = 350;
+    private static final int BATCH_REVEAL_MS = 4000;
+    private static final int BATCH_SUMMARY_NAMES = 8;
     private final Random random = new Random();
 
     @Getter
@@ -82,7 +101,7 @@ public class RollAnimationManager
     }
 
     /**
-     * Process pending rolls if idle.
+     * Start the next pending roll if idle. Must be called on the client thread.
      */
     public void process()
     {
@@ -91,122 +110,211 @@ public class RollAnimationManager
             return; // queue stays intact until tradeables are built
         }
 
-        if (!isRolling && !rollQueue.isEmpty())
+        if (phase == Phase.IDLE && !rollQueue.isEmpty())
         {
-            int obtainedItemId = rollQueue.poll();
-            isRolling = true;
-            executor.submit(() -> performRoll(obtainedItemId));
+            if (config.batchRolls() && rollQueue.size() > 1)
+            {
+                beginBatch(System.nanoTime());
+            }
+            else
+            {
+                beginRoll(rollQueue.poll(), System.nanoTime());
+            }
         }
     }
 
     /**
-     * Perform the roll animation and announce the result.
-     * The rolled item is selected during the snap window and immediately
-     * marked as ROLLED (legacy: unlocked), while the animation finishes visually.
+     * Advance the running roll. The rolled item is read once the spin and
+     * snap window have elapsed and is immediately marked as ROLLED (legacy:
+     * unlocked), while the overlay keeps highlighting it.
      */
-    private void performRoll(int obtainedItemId)
+    @Subscribe
+    public void onClientTick(ClientTick event)
     {
-        try
+        if (phase == Phase.IDLE)
         {
-            // If tradeables became invalid mid-roll, bail safely.
-            if (!hasTradeablesReady())
-            {
-                return;
-            }
+            return;
+        }
 
-            int rollDuration = 3000;
-            overlay.startRollAnimation(0, rollDuration, this::getRandomLockedItem);
+        final long now = System.nanoTime();
+        if (now - phaseEndsNs < 0)
+        {
+            return;
+        }
 
-            try
-            {
-                Thread.sleep(rollDuration + SNAP_WINDOW_MS);
-            }
-            catch (InterruptedException e)
-            {
-                Thread.currentThread().interrupt();
-            }
+        if (phase == Phase.SPINNING)
+        {
+            finishSpin(now);
+        }
+        else
+        {
+            endRoll();
+            process();
+        }
+    }
+
+    private void beginRoll(int obtainedItemId, long now)
+    {
+        currentObtainedItemId = obtainedItemId;
+        currentManual = manualRoll;
+        lockedSnapshot = collectLockedItems();
+        phase = Phase.SPINNING;
+        phaseEndsNs = now + TimeUnit.MILLISECONDS.toNanos(ROLL_DURATION_MS + SNAP_WINDOW_MS);
+        overlay.startRollAnimation(0, ROLL_DURATION_MS, this::getRandomLockedItem);
+    }
+
+    /**
+     * Resolve every queued roll at once: draw distinct locked items, persist
+     * them in one save, post one chat summary and show them together. Takes
+     * the same time however deep the queue is.
+     */
+    private void beginBatch(long now)
+    {
+        List<Integer> obtained = new ArrayList<>();
+        Integer next;
+        while ((next = rollQueue.poll()) != null)
+        {
+            obtained.add(next);
+        }
 
-            int rolledItemId = overlay.getFinalItem();
+        List<Integer> pool = collectLockedItems();
+        Collections.shuffle(pool, random);
+        List<Integer> rolled = new ArrayList<>(pool.subList(0, Math.min(obtained.size(), pool.size())));
+        if (rolled.isEmpty())
+        {
+            manualRoll = false;
+            return;
+        }
 
-            rolledManager.markRolled(rolledItemId);
+        rolledManager.markRolledAll(rolled);
+        announceBatch(rolled, obtained.size());
+        overlay.startBatchReveal(rolled, BATCH_REVEAL_MS);
 
-            final boolean wasManual = manualRoll;
+        phase = Phase.HIGHLIGHT;
+        phaseEndsNs = now + TimeUnit.MILLISECONDS.toNanos(BATCH_REVEAL_MS);
+    }
 
-            clientThread.invoke(() ->
-            {
-                String rolledTag = ColorUtil.wrapWithColorTag(
-                        getItemName(rolledItemId),
-                        config.unlockedItemColor()
-                );
-
-                String message;
-                if (wasManual)
-                {
-                    String pressTag = ColorUtil.wrapWithColorTag(
-                            "pressing a button",
-                            config.rolledItemColor()
-                    );
-                    message = "Rolled " + rolledTag + " by " + pressTag;
-                }
-                else
-                {
-                    String obtainedTag = ColorUtil.wrapWithColorTag(
-                            getItemName(obtainedItemId),
-                            config.rolledItemColor()
-                    );
-                    message = "Rolled " + rolledTag + " by obtaining " + obtainedTag;
-                }
-
-                client.addChatMessage(
-                        ChatMessageType.GAMEMESSAGE,
-                        "",
-                        message,
-                        null
-                );
-
-                if (chanceManPanel != null)
-                {
-                    SwingUtilities.invokeLater(chanceManPanel::updatePanel);
-                }
-            });
-
-            int remainingHighlight =
-                    Math.max(0, overlay.getHighlightDurationMs() - SNAP_WINDOW_MS);
-
-            if (remainingHighlight > 0)
+    private void announceBatch(List<Integer> rolled, int obtainedCount)
+    {
+        StringBuilder names = new StringBuilder();
+        int shown = Math.min(rolled.size(), BATCH_SUMMARY_NAMES);
+        for (int i = 0; i < shown; i++)
+        {
+            if (i > 0)
             {
-                try
-                {
-                    Thread.sleep(remainingHighlight);
-                }
-                catch (InterruptedException e)
-                {
-                    Thread.currentThread().interrupt();
-                }
+                names.append(", ");
             }
+            names.append(ColorUtil.wrapWithColorTag(getItemName(rolled.get(i)), config.unlockedItemColor()));
         }
-        finally
+        if (rolled.size() > shown)
         {
-            manualRoll = false;
-            isRolling = false;
+            names.append(" and ").append(rolled.size() - shown).append(" more");
+        }
+
+        String cause = "obtaining " + obtainedCount + " new items";
+        String message = "Rolled " + rolled.size() + " items by "
+                + ColorUtil.wrapWithColorTag(cause, config.rolledItemColor()) + ": " + names;
+
+        client.addChatMessage(
+                ChatMessageType.GAMEMESSAGE,
+                "",
+                message,
+                null
+        );
+
+        if (chanceManPanel != null)
+        {
+            SwingUtilities.invokeLater(chanceManPanel::updatePanel);
+        }
+    }
+
+    private void finishSpin(long now)
+    {
+        // If tradeables became invalid mid-roll, bail safely.
+        if (!hasTradeablesReady())
+        {
+            endRoll();
+            return;
+        }
+
+        int rolledItemId = overlay.getFinalItem();
+        rolledManager.markRolled(rolledItemId);
+        announce(rolledItemId, currentObtainedItemId, currentManual);
+
+        int remainingHighlight = Math.max(0, overlay.getHighlightDurationMs() - SNAP_WINDOW_MS);
+        phase = Phase.HIGHLIGHT;
+        phaseEndsNs = now + TimeUnit.MILLISECONDS.toNanos(remainingHighlight);
+    }
+
+    private void endRoll()
+    {
+        lockedSnapshot = Collections.emptyList();
+        manualRoll = false;
+        phase = Phase.IDLE;
+    }
+
+    private void announce(int rolledItemId, int obtainedItemId, boolean wasManual)
+    {
+        String rolledTag = ColorUtil.wrapWithColorTag(
+                getItemName(rolledItemId),
+                config.unlockedItemColor()
+        );
+
+        String message;
+        if (wasManual)
+        {
+            String pressTag = ColorUtil.wrapWithColorTag(
+                    "pressing a button",
+                    config.rolledItemColor()
+            );
+            message = "Rolled " + rolledTag + " by " + pressTag;
+        }
+        else
+        {
+            String obtainedTag = ColorUtil.wrapWithColorTag(
+                    getItemName(obtainedItemId),
+                    config.rolledItemColor()
+            );
+            message = "Rolled " + rolledTag + " by obtaining " + obtainedTag;
+        }
+
+        client.addChatMessage(
+                ChatMessageType.GAMEMESSAGE,
+                "",
+                message,
+                null
+        );
+
+        if (chanceManPanel != null)
+        {
+            SwingUtilities.invokeLater(chanceManPanel::updatePanel);
         }
     }
 
     public boolean isRolling()
     {
-        return isRolling;
+        return phase != Phase.IDLE;
     }
 
     /**
-     * Pick a random locked item to display during the roll.
+     * Pick a random locked item to display during the roll. Draws from the
+     * snapshot taken when the roll began instead of rescanning every
+     * tradeable each time the strip advances a slot.
      */
-    private int getRandomLockedItem()
+    @VisibleForTesting
+    int getRandomLockedItem()
     {
-        if (!hasTradeablesReady())
+        List<Integer> locked = lockedSnapshot;
+        if (!hasTradeablesReady() || locked.isEmpty())
         {
             return overlay.getFinalItem();
         }
+        return locked.get(random.nextInt(locked.size()));
+    }
 
+    @VisibleForTesting
+    List<Integer> collectLockedItems()
+    {
         List<Integer> locked = new ArrayList<>();
         for (int id : allTradeableItems)
         {
@@ -215,13 +323,7 @@ public class RollAnimationManager
                 locked.add(id);
             }
         }
-
-        if (locked.isEmpty())
-        {
-            return overlay.getFinalItem();
-        }
-
-        return locked.get(random.nextInt(locked.size()));
+        return locked;
     }
 
     private String getItemName(int itemId)
@@ -232,14 +334,12 @@ public class RollAnimationManager
 
     public void startUp()
     {
-        if (executor == null || executor.isShutdown() || executor.isTerminated())
-        {
-            executor = Executors.newSingleThreadExecutor();
-        }
+        endRoll();
     }
 
+    /** Abandon any roll in progress; queued rolls are kept. */
     public void shutdown()
     {
-        executor.shutdownNow();
+        endRoll();
     }
 }
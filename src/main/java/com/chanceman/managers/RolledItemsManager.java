@@ -1,6 +1,7 @@
 package com.chanceman.managers;
 
 import com.chanceman.account.AccountManager;
+import com.chanceman.metrics.PerfMetrics;
 import com.chanceman.persist.ConfigPersistence;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -16,6 +17,7 @@ import java.lang.reflect.Type;
 import java.nio.file.*;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 
 import static net.runelite.client.RuneLite.RUNELITE_DIR;
@@ -40,6 +42,7 @@ public class RolledItemsManager
     @Inject private AccountManager accountManager;
     @Inject private Gson gson;
     @Inject private ConfigPersistence configPersistence;
+    @Inject private PerfMetrics perfMetrics;
 
     @Setter private ExecutorService executor; // file writes & cloud mirror
     @Setter private Runnable onChange; // optional UI refresh
@@ -75,6 +78,19 @@ public class RolledItemsManager
         }
     }
 
+    /**
+     * Mark several items as rolled with a single save and change notification.
+     */
+    public void markRolledAll(Collection<Integer> itemIds)
+    {
+        if (rolledItems.addAll(itemIds))
+        {
+            dirty = true;
+            safeNotifyChange();
+            saveRolledItems();
+        }
+    }
+
     /** Initial load + LWW reconciliation. */
     public void loadRolledItems()
     {
@@ -82,6 +98,64 @@ public class RolledItemsManager
         safeNotifyChange();
     }
 
+    /**
+     * Replace the in-memory set with a copy kept for the current account,
+     * without touching disk or cloud. Follow with {@link #reconcileInBackground()}.
+     */
+    public void restore(Set<Integer> items)
+    {
+        synchronized (rolledItems)
+        {
+            rolledItems.clear();
+            rolledItems.addAll(items);
+        }
+        dirty = false;
+        safeNotifyChange();
+    }
+
+    /**
+     * Run the usual disk/cloud reconciliation on the executor. Skipped if the
+     * account changes before it starts.
+     *
+     * @return completes with true if reconciling changed the set
+     */
+    public CompletableFuture<Boolean> reconcileInBackground()
+    {
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+        String player = accountManager.getPlayerName();
+        if (player == null || !isExecutorAvailable())
+        {
+            done.complete(false);
+            return done;
+        }
+
+        executor.submit(() ->
+        {
+            try
+            {
+                if (!player.equals(accountManager.getPlayerName()))
+                {
+                    done.complete(false);
+                    return;
+                }
+                Set<Integer> before = snapshotRolled();
+                reconcileWithCloud(true);
+                boolean changed = !before.equals(snapshotRolled());
+                if (changed)
+                {
+                    safeNotifyChange();
+                }
+                done.complete(changed);
+            }
+            catch (Throwable t)
+            {
+                log.error("Background reconcile of rolled items failed", t);
+                done.complete(false);
+            }
+        });
+        return done;
+    }
+
     /** Normal save: disk + debounced cloud with current time. */
     public void saveRolledItems()
     {
@@ -380,10 +454,12 @@ public class RolledItemsManager
     /** Write JSON to .tmp and atomically replace the main file; mark self-write for watcher echo suppression. */
     private void writeJsonAtomic(Path file, Set<Integer> data) throws IOException
     {
+        long start = perfMetrics.start();
         Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
         try (BufferedWriter w = Files.newBufferedWriter(tmp)) { gson.toJson(data, w); }
         safeMove(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
         lastSelfWriteMs = System.currentTimeMillis();
+        perfMetrics.stop(PerfMetrics.PERSIST_ROLLED, start);
     }
 
     /** Move with fallback when ATOMIC_MOVE not supported. */
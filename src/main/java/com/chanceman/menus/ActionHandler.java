@@ -4,6 +4,8 @@ import com.chanceman.ChanceManConfig;
 import com.chanceman.ChanceManPlugin;
 import com.chanceman.filters.EnsouledHeadMapping;
 import com.chanceman.managers.RolledItemsManager;
+import com.chanceman.metrics.PerfMetrics;
+import com.google.common.annotations.VisibleForTesting;
 import lombok.Getter;
 import lombok.Setter;
 import net.runelite.api.GameState;
@@ -96,6 +98,8 @@ public class ActionHandler {
 	private Restrictions restrictions;
 	@Inject
 	private RolledItemsManager rolledItemsManager;
+	@Inject
+	private PerfMetrics perfMetrics;
 	@Getter
 	@Setter
 	private int enabledUIOpen = -1;
@@ -140,6 +144,15 @@ public class ActionHandler {
 
 	@Subscribe
 	public void onMenuEntryAdded(MenuEntryAdded event) {
+		long start = perfMetrics.start();
+		try {
+			greyOutIfLocked(event);
+		} finally {
+			perfMetrics.stop(PerfMetrics.MENU_ENTRY_ADDED, start);
+		}
+	}
+
+	private void greyOutIfLocked(MenuEntryAdded event) {
 		if (inactive()) return;
 
 		EnabledUI ui = currentEnabledUi();
@@ -165,6 +178,7 @@ public class ActionHandler {
 			entry.setOption("<col=808080>" + option);
 			entry.setTarget("<col=808080>" + target);
 			entry.onClick(DISABLED);
+			perfMetrics.increment(PerfMetrics.MENU_ENTRIES_GREYED);
 			if (config.deprioritizeLockedOptions()) {
 				entry.setDeprioritized(true);
 			}
@@ -219,7 +233,8 @@ public class ActionHandler {
 	 * This method handles non-ground items (or any other cases) by checking if the item is enabled.
 	 * It returns true if the action should be allowed.
 	 */
-	private boolean isEnabled(int id, MenuEntry entry, MenuAction action) {
+	@VisibleForTesting
+	boolean isEnabled(int id, MenuEntry entry, MenuAction action) {
 		if (isHealthOrbCure(entry))
 		{
 			return true;
@@ -2,6 +2,7 @@ package com.chanceman.menus;
 
 import com.chanceman.ChanceManPlugin;
 import com.chanceman.managers.RolledItemsManager;
+import com.chanceman.metrics.PerfMetrics;
 import com.chanceman.account.AccountManager;
 import net.runelite.api.*;
 import net.runelite.api.coords.WorldArea;
@@ -61,11 +62,25 @@ public class Restrictions
 	@Inject private Client client;
 	@Inject private RolledItemsManager rolledItemsManager;
 	@Inject private AccountManager accountManager;
+	@Inject private PerfMetrics perfMetrics;
 	private final Set<SkillOp> enabledSkillOps = EnumSet.noneOf(SkillOp.class);
 	private final HashSet<Integer> availableRunes = new HashSet<>();
 
 	@Subscribe
 	public void onGameTick(GameTick event)
+	{
+		long start = perfMetrics.start();
+		try
+		{
+			refreshAvailability();
+		}
+		finally
+		{
+			perfMetrics.stop(PerfMetrics.RESTRICTIONS_TICK, start);
+		}
+	}
+
+	private void refreshAvailability()
 	{
 		if (!accountManager.ready()) return;
 		enabledSkillOps.clear();
@@ -0,0 +1,119 @@
+package com.chanceman.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of nanosecond durations, in the spirit of
+ * HdrHistogram: every power of two is split into {@value #SUB_BUCKETS}
+ * linear sub-buckets, so any recorded value is reported within 1/8 of its
+ * true size while the whole range from 1 ns to about 2.4 hours fits in a
+ * few hundred counters; longer durations share the last bucket. Recording
+ * is two array/adder increments and never allocates.
+ */
+final class LatencyHistogram
+{
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 42;
+    // One linear group below SUB_BUCKETS, then one per exponent up to MAX_EXPONENT
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long nanos)
+    {
+        long v = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(v));
+        count.increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    void reset()
+    {
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * Copy the current state. Concurrent recordings may land on either side
+     * of the copy, so totals can be off by the few values recorded during it.
+     */
+    MetricSnapshot snapshot(String name)
+    {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++)
+        {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        long n = count.sum();
+        double mean = n == 0 ? 0 : (double) sum.sum() / n;
+        return new MetricSnapshot(
+                name,
+                n,
+                mean,
+                percentile(copy, total, 0.50),
+                percentile(copy, total, 0.99),
+                max.get());
+    }
+
+    private static long percentile(long[] copy, long total, double p)
+    {
+        if (total == 0)
+        {
+            return 0;
+        }
+        long rank = (long) Math.ceil(p * total);
+        long seen = 0;
+        for (int i = 0; i < copy.length; i++)
+        {
+            seen += copy[i];
+            if (seen >= rank)
+            {
+                return upperBoundOf(i);
+            }
+        }
+        return upperBoundOf(copy.length - 1);
+    }
+
+    static int bucketOf(long v)
+    {
+        if (v < SUB_BUCKETS)
+        {
+            return (int) v;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(v);
+        if (exponent > MAX_EXPONENT)
+        {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (v >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /** @return the largest value that maps to {@code bucket} */
+    static long upperBoundOf(int bucket)
+    {
+        if (bucket < SUB_BUCKETS)
+        {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        long base = 1L << exponent;
+        long width = base >>> SUB_BUCKET_BITS;
+        return base + (sub + 1) * width - 1;
+    }
+}
@@ -0,0 +1,19 @@
+package com.chanceman.metrics;
+
+import lombok.Value;
+
+/**
+ * Point-in-time view of one {@link PerfMetrics} timer. Durations are in
+ * nanoseconds; percentiles are bucket upper bounds, so they may overstate
+ * the true value by up to 1/8.
+ */
+@Value
+public class MetricSnapshot
+{
+    String name;
+    long count;
+    double meanNanos;
+    long p50Nanos;
+    long p99Nanos;
+    long maxNanos;
+}
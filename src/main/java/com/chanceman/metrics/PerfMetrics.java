@@ -0,0 +1,155 @@
+package com.chanceman.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Singleton;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of hot-path timers and counters.
+ *
+ * <p>Instrumented code brackets its work with {@link #start()} and
+ * {@link #stop(String, long)}. While metrics are disabled {@code start()}
+ * returns 0 without reading the clock and {@code stop} returns at once, so
+ * the instrumentation can stay in per-frame and per-menu-entry paths.
+ * Timers and counters are created on first use and are lock-free
+ * afterwards.</p>
+ */
+@Slf4j
+@Singleton
+public class PerfMetrics
+{
+    public static final String DIMMER_BEFORE_RENDER = "dimmer.beforeRender";
+    public static final String MENU_ENTRY_ADDED = "menu.entryAdded";
+    public static final String RESTRICTIONS_TICK = "restrictions.gameTick";
+    public static final String REFRESH_TRADEABLES = "tradeables.refresh";
+    public static final String PERSIST_OBTAINED = "persist.obtained";
+    public static final String PERSIST_ROLLED = "persist.rolled";
+    public static final String WIKI_DOWNLOAD = "wiki.download";
+    public static final String WIKI_PARSE = "wiki.parse";
+    public static final String WIKI_RESOLVE_ITEMS = "wiki.resolveItems";
+    public static final String ACCOUNT_RESTORE = "account.restore";
+
+    public static final String MENU_ENTRIES_GREYED = "menu.entriesGreyed";
+    public static final String WIKI_FETCH_ERRORS = "wiki.fetchErrors";
+    public static final String WIKI_RETRIES = "wiki.retries";
+
+    private final Map<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private volatile long lastSummaryNanos = System.nanoTime();
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    /** @return a start timestamp for {@link #stop}, or 0 while disabled */
+    public long start()
+    {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    /** Record the time since {@code startNanos} under {@code timer}. */
+    public void stop(String timer, long startNanos)
+    {
+        if (startNanos == 0L)
+        {
+            return;
+        }
+        timers.computeIfAbsent(timer, k -> new LatencyHistogram()).record(System.nanoTime() - startNanos);
+    }
+
+    public void increment(String counter)
+    {
+        add(counter, 1);
+    }
+
+    public void add(String counter, long delta)
+    {
+        if (enabled)
+        {
+            counters.computeIfAbsent(counter, k -> new LongAdder()).add(delta);
+        }
+    }
+
+    /** @return every timer recorded so far, sorted by name */
+    public List<MetricSnapshot> timers()
+    {
+        List<MetricSnapshot> out = new ArrayList<>();
+        new TreeMap<>(timers).forEach((name, h) -> out.add(h.snapshot(name)));
+        return out;
+    }
+
+    /** @return every counter recorded so far, sorted by name */
+    public Map<String, Long> counters()
+    {
+        Map<String, Long> out = new TreeMap<>();
+        counters.forEach((name, c) -> out.put(name, c.sum()));
+        return out;
+    }
+
+    public void reset()
+    {
+        timers.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Log a summary if at least {@code intervalMinutes} have passed since the
+     * last one. Cheap enough to call every game tick.
+     */
+    public void maybeLogSummary(int intervalMinutes)
+    {
+        if (!enabled || intervalMinutes <= 0)
+        {
+            return;
+        }
+        long now = System.nanoTime();
+        if (now - lastSummaryNanos < intervalMinutes * 60_000_000_000L)
+        {
+            return;
+        }
+        lastSummaryNanos = now;
+
+        StringBuilder sb = new StringBuilder("ChanceMan performance summary:");
+        for (MetricSnapshot s : timers())
+        {
+            sb.append(String.format(Locale.ROOT, "%n  %-22s n=%-8d mean=%s p50=%s p99=%s max=%s",
+                    s.getName(), s.getCount(), formatNanos((long) s.getMeanNanos()),
+                    formatNanos(s.getP50Nanos()), formatNanos(s.getP99Nanos()), formatNanos(s.getMaxNanos())));
+        }
+        counters().forEach((name, value) ->
+                sb.append(String.format(Locale.ROOT, "%n  %-22s %d", name, value)));
+        log.info(sb.toString());
+    }
+
+    /** Format a duration with a unit suited to its size, e.g. "850ns", "12.4us", "3.1ms". */
+    public static String formatNanos(long nanos)
+    {
+        if (nanos < 1_000L)
+        {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000L)
+        {
+            return String.format(Locale.ROOT, "%.1fus", nanos / 1_000d);
+        }
+        if (nanos < 1_000_000_000L)
+        {
+            return String.format(Locale.ROOT, "%.1fms", nanos / 1_000_000d);
+        }
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1_000_000_000d);
+    }
+}
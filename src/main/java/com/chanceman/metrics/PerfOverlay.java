@@ -0,0 +1,61 @@
+package com.chanceman.metrics;
+
+import net.runelite.client.ui.overlay.OverlayPanel;
+import net.runelite.client.ui.overlay.OverlayPosition;
+import net.runelite.client.ui.overlay.components.LineComponent;
+import net.runelite.client.ui.overlay.components.TitleComponent;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.util.Map;
+
+/**
+ * Debug overlay listing the p50/p99 of every {@link PerfMetrics} timer and
+ * the value of every counter. Only added while the performance overlay
+ * option is enabled.
+ */
+@Singleton
+public class PerfOverlay extends OverlayPanel
+{
+    private static final Color SLOW = new Color(255, 120, 80);
+    // Highlight timers whose p99 exceeds a tenth of a 50 fps frame
+    private static final long SLOW_P99_NANOS = 2_000_000L;
+
+    private final PerfMetrics metrics;
+
+    @Inject
+    public PerfOverlay(PerfMetrics metrics)
+    {
+        this.metrics = metrics;
+        setPosition(OverlayPosition.TOP_LEFT);
+        panelComponent.setPreferredSize(new Dimension(230, 0));
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics)
+    {
+        panelComponent.getChildren().add(TitleComponent.builder()
+                .text("ChanceMan perf (p50 / p99)")
+                .build());
+
+        for (MetricSnapshot s : metrics.timers())
+        {
+            panelComponent.getChildren().add(LineComponent.builder()
+                    .left(s.getName())
+                    .right(PerfMetrics.formatNanos(s.getP50Nanos()) + " / " + PerfMetrics.formatNanos(s.getP99Nanos()))
+                    .rightColor(s.getP99Nanos() > SLOW_P99_NANOS ? SLOW : Color.WHITE)
+                    .build());
+        }
+        for (Map.Entry<String, Long> c : metrics.counters().entrySet())
+        {
+            panelComponent.getChildren().add(LineComponent.builder()
+                    .left(c.getKey())
+                    .right(Long.toString(c.getValue()))
+                    .build());
+        }
+        return super.render(graphics);
+    }
+}
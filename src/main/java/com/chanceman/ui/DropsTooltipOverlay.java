@@ -4,8 +4,8 @@ import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.FontMetrics;
 import java.awt.Color;
+import java.awt.Font;
 import java.awt.Rectangle;
-import java.util.Map;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -13,7 +13,6 @@ import com.chanceman.drops.DropItem;
 
 import net.runelite.api.Client;
 import net.runelite.api.Point;
-import net.runelite.api.widgets.Widget;
 import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPosition;
@@ -21,13 +20,28 @@ import net.runelite.client.ui.overlay.OverlayPosition;
 /**
  * Overlay that displays item name tooltips when hovering drop icons
  * injected into the music tab by {@link MusicWidgetController}.
+ * The hovered icon is found with {@link MusicWidgetController#dropAt}, and
+ * the text and measurements of the last tooltip are reused while the same
+ * item stays hovered.
  */
 @Singleton
 public class DropsTooltipOverlay extends Overlay
 {
+    private static final String RATE_PREFIX = "Rate: ";
+    private static final Color BOX_FILL = new Color(0, 0, 0, 100);
+    private static final Color BOX_BORDER = new Color(50, 50, 50, 200);
+
     private final Client client;
     private final MusicWidgetController widgetController;
 
+    // Tooltip for the last hovered drop, valid for lastFont
+    private DropItem lastDrop;
+    private Font lastFont;
+    private String lastRarity;
+    private int nameW;
+    private int prefixW;
+    private int rateW;
+
     @Inject
     public DropsTooltipOverlay(
             Client client,
@@ -46,33 +60,33 @@ public class DropsTooltipOverlay extends Overlay
         if (!widgetController.isOverrideActive()) {return null;}
 
         Point mouse = client.getMouseCanvasPosition();
-        for (Map.Entry<Widget, DropItem> entry : widgetController.getIconItemMap().entrySet())
+        DropItem drop = widgetController.dropAt(mouse.getX(), mouse.getY());
+        if (drop != null)
         {
-            Widget w = entry.getKey();
-            if (w == null || w.isHidden()) {continue;}
-            Rectangle bounds = w.getBounds();
-            if (bounds.contains(mouse.getX(), mouse.getY()))
-            {
-                DropItem drop = entry.getValue();
-                drawTooltip(graphics, drop.getName(), drop.getOneOverRarity(), mouse);
-                break;
-            }
+            drawTooltip(graphics, drop, mouse);
         }
         return null;
     }
 
-    private void drawTooltip(Graphics2D g, String name, String rarity, Point mouse)
+    private void drawTooltip(Graphics2D g, DropItem drop, Point mouse)
     {
         FontMetrics fm = g.getFontMetrics();
+        if (drop != lastDrop || !fm.getFont().equals(lastFont))
+        {
+            lastDrop = drop;
+            lastFont = fm.getFont();
+            lastRarity = drop.getOneOverRarity();
+            nameW = fm.stringWidth(drop.getName());
+            prefixW = fm.stringWidth(RATE_PREFIX);
+            rateW = prefixW + fm.stringWidth(lastRarity);
+        }
+        String name = drop.getName();
+        String rarity = lastRarity;
+
         int padding = 4;
         int gap = 2;
         int lineH  = fm.getHeight();
 
-        String rateText = "Rate: " + rarity;
-
-        int nameW = fm.stringWidth(name);
-        int rateW = fm.stringWidth(rateText);
-
         int nameBoxW = nameW + padding * 2;
         int rateBoxW = rateW + padding * 2;
         int boxH     = lineH + padding * 2;
@@ -95,11 +109,9 @@ public class DropsTooltipOverlay extends Overlay
         g.drawString(name, x + padding, base);
 
         int rateBase = y - boxH + padding + fm.getAscent();
-        String prefix = "Rate: ";
-        int prefixW = fm.stringWidth(prefix);
 
         g.setColor(Color.WHITE);
-        g.drawString(prefix, x + padding, rateBase);
+        g.drawString(RATE_PREFIX, x + padding, rateBase);
 
         g.setColor(Color.ORANGE);
         g.drawString(rarity, x + padding + prefixW, rateBase);
@@ -107,9 +119,9 @@ public class DropsTooltipOverlay extends Overlay
 
     private void drawBox(Graphics2D g, int x, int y, int w, int h)
     {
-        g.setColor(new Color(0, 0, 0, 100));
+        g.setColor(BOX_FILL);
         g.fillRect(x, y, w, h);
-        g.setColor(new Color(50, 50, 50, 200));
+        g.setColor(BOX_BORDER);
         g.drawRect(x, y, w, h);
     }
 }
@@ -0,0 +1,161 @@
+package com.chanceman.ui;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Ranks names against a single query. Each candidate is scored exactly once
+ * with a two-row, band-limited Levenshtein distance that gives up as soon as
+ * the distance can no longer stay under the cutoff, then adjusted by bonuses
+ * for whole-name and word prefixes. Lower scores rank first.
+ *
+ * <p>Instances reuse their scratch rows and are not thread-safe; create one
+ * per query.</p>
+ */
+final class FuzzyRanker
+{
+    private static final int DISTANCE_WEIGHT = 4;
+    private static final int PREFIX_BONUS = 8;
+    private static final int TOKEN_PREFIX_BONUS = 4;
+    private static final int CONTAINS_BONUS = 2;
+
+    private final String query;
+    private final int maxDistance;
+    private int[] prev;
+    private int[] curr;
+
+    /**
+     * @param query       search text; case is ignored
+     * @param maxDistance edit distance beyond which candidates are not
+     *                    distinguished any further
+     */
+    FuzzyRanker(String query, int maxDistance)
+    {
+        this.query = query == null ? "" : query.toLowerCase(Locale.ROOT).trim();
+        this.maxDistance = Math.max(0, maxDistance);
+        this.prev = new int[this.query.length() + 1];
+        this.curr = new int[this.query.length() + 1];
+    }
+
+    FuzzyRanker(String query)
+    {
+        this(query, Math.max(3, query == null ? 0 : query.length()));
+    }
+
+    /** Order {@code items} by the score of their name, computing each score once. */
+    <T> List<T> rank(Collection<T> items, Function<T, String> nameOf)
+    {
+        List<Scored<T>> scored = new ArrayList<>(items.size());
+        for (T item : items)
+        {
+            scored.add(new Scored<>(item, score(nameOf.apply(item))));
+        }
+        // Stable sort keeps the incoming order for ties
+        scored.sort((a, b) -> Integer.compare(a.score, b.score));
+        List<T> out = new ArrayList<>(scored.size());
+        for (Scored<T> s : scored)
+        {
+            out.add(s.item);
+        }
+        return out;
+    }
+
+    /** Score a single name; lower is a better match. */
+    int score(String name)
+    {
+        String lc = name == null ? "" : name.toLowerCase(Locale.ROOT);
+        int score = distance(lc) * DISTANCE_WEIGHT;
+        if (query.isEmpty())
+        {
+            return score;
+        }
+        if (lc.startsWith(query))
+        {
+            score -= PREFIX_BONUS;
+        }
+        else
+        {
+            int at = lc.indexOf(query);
+            if (at > 0)
+            {
+                score -= Character.isLetterOrDigit(lc.charAt(at - 1)) ? CONTAINS_BONUS : TOKEN_PREFIX_BONUS;
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Levenshtein distance between the query and {@code s}, capped at
+     * {@code maxDistance + 1}. Only cells within {@code maxDistance} of the
+     * diagonal are filled, and the scan stops early once a whole row exceeds
+     * the cap.
+     */
+    int distance(String s)
+    {
+        final int n = query.length();
+        final int m = s.length();
+        final int cap = maxDistance + 1;
+        if (Math.abs(n - m) > maxDistance)
+        {
+            return cap;
+        }
+        if (n == 0 || m == 0)
+        {
+            return Math.min(Math.max(n, m), cap);
+        }
+
+        int[] p = prev;
+        int[] c = curr;
+        for (int j = 0; j <= n; j++)
+        {
+            p[j] = Math.min(j, cap);
+        }
+
+        for (int i = 1; i <= m; i++)
+        {
+            int from = Math.max(1, i - maxDistance);
+            int to = Math.min(n, i + maxDistance);
+            c[0] = Math.min(i, cap);
+            if (from > 1)
+            {
+                c[from - 1] = cap;
+            }
+            int rowMin = c[0];
+            char sc = s.charAt(i - 1);
+            for (int j = from; j <= to; j++)
+            {
+                int cost = query.charAt(j - 1) == sc ? 0 : 1;
+                int v = Math.min(Math.min(p[j] + 1, c[j - 1] + 1), p[j - 1] + cost);
+                c[j] = Math.min(v, cap);
+                rowMin = Math.min(rowMin, c[j]);
+            }
+            if (to < n)
+            {
+                c[to + 1] = cap;
+            }
+            if (rowMin >= cap)
+            {
+                return cap;
+            }
+            int[] t = p;
+            p = c;
+            c = t;
+        }
+        return p[n];
+    }
+
+    private static final class Scored<T>
+    {
+        final T item;
+        final int score;
+
+        Scored(T item, int score)
+        {
+            this.item = item;
+            this.score = score;
+        }
+    }
+}
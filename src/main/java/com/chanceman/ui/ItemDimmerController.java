@@ -3,6 +3,8 @@ package com.chanceman.ui;
 import com.chanceman.managers.RolledItemsManager;
 import com.chanceman.filters.EnsouledHeadMapping;
 import com.chanceman.menus.EnabledUI;
+import com.chanceman.metrics.PerfMetrics;
+import com.google.common.annotations.VisibleForTesting;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import net.runelite.api.Client;
@@ -31,6 +33,7 @@ public class ItemDimmerController {
     private final Client client;
     private final RolledItemsManager rolledItemsManager;
     private final ItemManager itemManager;
+    private final PerfMetrics perfMetrics;
 
     // Cache (long-lived) for tradeable-by-canonical-id
     private final ConcurrentHashMap<Integer, Boolean> tradeableCache = new ConcurrentHashMap<>();
@@ -58,8 +61,10 @@ public class ItemDimmerController {
     public void onBeforeRender(BeforeRender e) {
         if (!enabled || client.getGameState() != GameState.LOGGED_IN) return;
 
+        long start = perfMetrics.start();
         dimDecisionCache.clear();
         dimAllRoots();
+        perfMetrics.stop(PerfMetrics.DIMMER_BEFORE_RENDER, start);
     }
 
     private void dimAllRoots() {
@@ -119,7 +124,8 @@ public class ItemDimmerController {
         return result;
     }
 
-    private boolean shouldDim(int rawItemId) {
+    @VisibleForTesting
+    boolean shouldDim(int rawItemId) {
         final int mappedItemId = EnsouledHeadMapping.toTradeableId(rawItemId);
         final int canonicalItemId = canonicalize(mappedItemId);
         if (canonicalItemId <= 0) return false;
@@ -0,0 +1,45 @@
+package com.chanceman.ui;
+
+import net.runelite.client.util.AsyncBufferedImage;
+
+import java.awt.image.BufferedImage;
+
+public final class ItemImages
+{
+    private ItemImages()
+    {
+    }
+
+    /**
+     * Runs {@code callback} once an item image that is still loading has its
+     * pixels. {@link AsyncBufferedImage#onLoaded} runs its callback at once
+     * when the image is already loaded, which is almost always the case for
+     * {@code ItemManager.getImage}; callers have nothing to redo then, so
+     * that immediate run is skipped. Call on the client thread, where item
+     * images finish loading.
+     *
+     * @return true if the image was still loading and {@code callback} is pending
+     */
+    public static boolean whenLoaded(BufferedImage image, Runnable callback)
+    {
+        if (!(image instanceof AsyncBufferedImage))
+        {
+            return false;
+        }
+        final boolean[] registering = {true};
+        final boolean[] loadedAlready = {false};
+        ((AsyncBufferedImage) image).onLoaded(() ->
+        {
+            if (registering[0])
+            {
+                loadedAlready[0] = true;
+            }
+            else
+            {
+                callback.run();
+            }
+        });
+        registering[0] = false;
+        return !loadedAlready[0];
+    }
+}
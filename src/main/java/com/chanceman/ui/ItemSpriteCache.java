@@ -3,64 +3,184 @@ package com.chanceman.ui;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.awt.image.BufferedImage;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 
 import net.runelite.api.Client;
 import net.runelite.api.SpritePixels;
+import net.runelite.client.callback.ClientThread;
 import net.runelite.client.game.ItemManager;
 import net.runelite.client.util.ImageUtil;
 
 /**
  * Caches custom item sprites scaled for widget display.
+ *
+ * <p>Sprites are reference counted by the views showing them. Once a sprite
+ * is no longer referenced it moves to a small idle LRU so reopening a recent
+ * table is free; sprites evicted from there are unregistered from the client
+ * and their override IDs are recycled, so browsing many tables no longer
+ * grows the client's override map without bound.</p>
+ *
+ * <p>Must be used on the client thread.</p>
  */
 @Singleton
 public class ItemSpriteCache
 {
     private static final int ICON_SIZE = 32;
+    private static final int FIRST_SPRITE_ID = 0x10000;
+    private static final int MAX_IDLE_SPRITES = 128;
 
     private final ItemManager itemManager;
     private final Client client;
-    private final Map<Integer, Integer> spriteIds = new HashMap<>();
-    private int nextGeneratedSpriteId = 0x10000;
+    private final ClientThread clientThread;
+
+    /** Sprites currently referenced by a view: item ID to entry. */
+    private final Map<Integer, Entry> active = new HashMap<>();
+    /** Unreferenced sprites kept for reuse, least recently released first. */
+    private final LinkedHashMap<Integer, Entry> idle = new LinkedHashMap<>(16, 0.75f, true);
+    private final Deque<Integer> freeIds = new ArrayDeque<>();
+    private int nextGeneratedSpriteId = FIRST_SPRITE_ID;
+    private boolean spriteResetQueued;
+
+    private static final class Entry
+    {
+        final int spriteId;
+        int refs;
+
+        Entry(int spriteId)
+        {
+            this.spriteId = spriteId;
+        }
+    }
 
     @Inject
-    public ItemSpriteCache(ItemManager itemManager, Client client)
+    public ItemSpriteCache(ItemManager itemManager, Client client, ClientThread clientThread)
     {
         this.itemManager = itemManager;
         this.client = client;
+        this.clientThread = clientThread;
     }
 
     private int generateNextId()
     {
-        return nextGeneratedSpriteId++;
+        Integer recycled = freeIds.poll();
+        return recycled != null ? recycled : nextGeneratedSpriteId++;
     }
 
     /**
-     * Returns a sprite ID for the given item
+     * Returns a sprite ID for the given item and takes a reference on it.
+     * Prefer {@link #acquireAll(Collection)} when building a whole view.
      */
     public int getSpriteId(int itemId)
     {
-        return spriteIds.computeIfAbsent(itemId, id ->
+        Integer id = acquireAll(Collections.singletonList(itemId)).get(itemId);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Take a reference on the sprite of every item in {@code itemIds},
+     * creating the missing ones in one pass: all images are fetched first,
+     * then resized and converted, then registered together.
+     *
+     * @return item ID to sprite ID; items without an image map to -1
+     */
+    public Map<Integer, Integer> acquireAll(Collection<Integer> itemIds)
+    {
+        Map<Integer, Integer> out = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer itemId : new LinkedHashSet<>(itemIds))
         {
-            BufferedImage img = itemManager.getImage(id, 1, false);
-            if (img == null)
+            Entry e = active.get(itemId);
+            if (e == null)
+            {
+                e = idle.remove(itemId);
+                if (e != null)
+                {
+                    active.put(itemId, e);
+                }
+            }
+            if (e != null)
             {
-                return -1;
+                e.refs++;
+                out.put(itemId, e.spriteId);
             }
+            else
+            {
+                missing.add(itemId);
+            }
+        }
+        if (missing.isEmpty())
+        {
+            return out;
+        }
 
-            // resize to ICON_SIZE x ICON_SIZE
-            BufferedImage resized = ImageUtil.resizeImage(img, ICON_SIZE, ICON_SIZE);
+        List<BufferedImage> images = new ArrayList<>(missing.size());
+        for (Integer itemId : missing)
+        {
+            images.add(itemManager.getImage(itemId, 1, false));
+        }
 
-            // convert to SpritePixels for the client's override map
-            SpritePixels pixels = ImageUtil.getImageSpritePixels(resized, client);
+        boolean reusedIds = false;
+        for (int i = 0; i < missing.size(); i++)
+        {
+            int itemId = missing.get(i);
+            BufferedImage img = images.get(i);
+            if (img == null)
+            {
+                out.put(itemId, -1);
+                continue;
+            }
 
-            // generate a unique sprite ID and register the override
+            reusedIds |= !freeIds.isEmpty();
             int spriteId = generateNextId();
-            client.getSpriteOverrides().put(spriteId, pixels);
+            client.getSpriteOverrides().put(spriteId, toPixels(img));
+            Entry e = new Entry(spriteId);
+            e.refs = 1;
+            active.put(itemId, e);
+            out.put(itemId, spriteId);
 
-            return spriteId;
-        });
+            // Re-convert once the item image has actually been drawn, if it has not been yet
+            ItemImages.whenLoaded(img, () -> refreshPixels(itemId, spriteId, img));
+        }
+        if (reusedIds)
+        {
+            // The widget sprite cache may still hold the previous item's pixels under a reused ID
+            queueSpriteReset();
+        }
+        return out;
+    }
+
+    /**
+     * Drop one reference for each item in {@code itemIds}. Sprites left
+     * unreferenced become idle and may be evicted.
+     */
+    public void releaseAll(Collection<Integer> itemIds)
+    {
+        for (Integer itemId : itemIds)
+        {
+            Entry e = active.get(itemId);
+            if (e == null || --e.refs > 0)
+            {
+                continue;
+            }
+            active.remove(itemId);
+            idle.put(itemId, e);
+        }
+        trimIdle();
+    }
+
+    /** @return number of sprite overrides currently registered by this cache */
+    public int size()
+    {
+        return active.size() + idle.size();
     }
 
     /**
@@ -68,8 +188,60 @@ public class ItemSpriteCache
      */
     public void clear()
     {
-        spriteIds.values().forEach(client.getSpriteOverrides()::remove);
-        spriteIds.clear();
-        nextGeneratedSpriteId = 0x10000;
+        active.values().forEach(e -> client.getSpriteOverrides().remove(e.spriteId));
+        idle.values().forEach(e -> client.getSpriteOverrides().remove(e.spriteId));
+        active.clear();
+        idle.clear();
+        freeIds.clear();
+        nextGeneratedSpriteId = FIRST_SPRITE_ID;
+    }
+
+    private void trimIdle()
+    {
+        while (idle.size() > MAX_IDLE_SPRITES)
+        {
+            Map.Entry<Integer, Entry> eldest = idle.entrySet().iterator().next();
+            idle.remove(eldest.getKey());
+            client.getSpriteOverrides().remove(eldest.getValue().spriteId);
+            freeIds.push(eldest.getValue().spriteId);
+        }
+    }
+
+    private void refreshPixels(int itemId, int spriteId, BufferedImage img)
+    {
+        Entry e = active.get(itemId);
+        if (e == null)
+        {
+            e = idle.get(itemId);
+        }
+        if (e == null || e.spriteId != spriteId)
+        {
+            return; // evicted and possibly recycled meanwhile
+        }
+        client.getSpriteOverrides().put(spriteId, toPixels(img));
+        // Images requested together finish loading together; reset once for the batch
+        queueSpriteReset();
+    }
+
+    /** Reset the widget sprite cache on the client thread, once for any number of calls until it runs. */
+    private void queueSpriteReset()
+    {
+        if (spriteResetQueued)
+        {
+            return;
+        }
+        spriteResetQueued = true;
+        clientThread.invokeLater(() ->
+        {
+            spriteResetQueued = false;
+            client.getWidgetSpriteCache().reset();
+        });
+    }
+
+    private SpritePixels toPixels(BufferedImage img)
+    {
+        // resize to ICON_SIZE x ICON_SIZE and convert for the client's override map
+        BufferedImage resized = ImageUtil.resizeImage(img, ICON_SIZE, ICON_SIZE);
+        return ImageUtil.getImageSpritePixels(resized, client);
     }
 }
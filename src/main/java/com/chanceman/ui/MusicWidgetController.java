@@ -14,6 +14,7 @@ import javax.swing.*;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
+import net.runelite.api.Point;
 import net.runelite.api.ScriptEvent;
 import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.gameval.InterfaceID;
@@ -89,6 +90,15 @@ public class MusicWidgetController
     private final NpcSearchService searchService;
 
     private NpcDropData currentDrops = null;
+    private NpcSearchDialog searchDialog; // Swing thread only
+
+    // Progress bar pieces kept so obtain events can update them in place
+    private Widget progressFill;
+    private Widget progressLabel;
+    private int progressInnerWidth;
+    private int progressBarX;
+    private int progressBarWidth;
+    private int shownObtainedCount;
 
     private static final class ChildBackup
     {
@@ -119,10 +129,14 @@ public class MusicWidgetController
     private final EnumMap<SnapTarget, ChildBackup> backups = new EnumMap<>(SnapTarget.class);
 
     private final List<Widget> overrideRootWidgets = new ArrayList<>();
+    // Items whose sprites the open view holds a reference on
+    private final List<Integer> acquiredSpriteItems = new ArrayList<>();
     private final List<Widget> overrideScrollWidgets = new ArrayList<>();
     private String originalTitleText = null;
 
     @Getter private final Map<Widget, DropItem> iconItemMap = new LinkedHashMap<>();
+    // Visible drops in grid order (index = row * COLUMNS + col), rebuilt on every layout
+    private final List<DropItem> gridDrops = new ArrayList<>();
     @Getter private boolean overrideActive = false;
 
     @Inject private MusicSearchButton musicSearchButton;
@@ -187,6 +201,82 @@ public class MusicWidgetController
         }
     }
 
+    /**
+     * Bring the open drops view in line with the obtained set without
+     * rebuilding it: icons whose obtained state changed get their opacity
+     * flipped and the progress bar is updated. Layout is only redone when
+     * obtained items are hidden and one was just obtained.
+     */
+    public void refreshObtainedState()
+    {
+        if (!overrideActive || currentDrops == null)
+        {
+            return;
+        }
+        runOnClientThread(this::applyObtainedDelta);
+    }
+
+    private void applyObtainedDelta()
+    {
+        if (!overrideActive || iconItemMap.isEmpty())
+        {
+            return;
+        }
+
+        Set<Integer> obtainedIds = obtainedItemsManager.getObtainedItems();
+        int obtainedCount = 0;
+        boolean visibilityChanged = false;
+        for (Map.Entry<Widget, DropItem> e : iconItemMap.entrySet())
+        {
+            Widget icon = e.getKey();
+            boolean obtained = obtainedIds.contains(e.getValue().getItemId());
+            if (obtained)
+            {
+                obtainedCount++;
+            }
+            int opacity = obtained ? 0 : 150;
+            if (icon.getOpacity() != opacity)
+            {
+                icon.setOpacity(opacity);
+                icon.revalidate();
+                visibilityChanged |= hideObtainedItems;
+            }
+        }
+
+        if (visibilityChanged)
+        {
+            updateIconsVisibilityAndLayout();
+        }
+        if (obtainedCount != shownObtainedCount)
+        {
+            updateProgress(obtainedCount, iconItemMap.size());
+        }
+    }
+
+    private void updateProgress(int obtainedCount, int totalDrops)
+    {
+        shownObtainedCount = obtainedCount;
+        if (progressFill != null)
+        {
+            progressFill.setOriginalWidth(progressFillWidth(obtainedCount, totalDrops));
+            progressFill.revalidate();
+        }
+        if (progressLabel != null)
+        {
+            String txt = String.format("%d/%d", obtainedCount, totalDrops);
+            progressLabel.setText(txt);
+            progressLabel.setOriginalX(progressBarX + (progressBarWidth / 2) - (txt.length() * 4));
+            progressLabel.revalidate();
+        }
+    }
+
+    private int progressFillWidth(int obtainedCount, int totalDrops)
+    {
+        return (totalDrops <= 0)
+                ? 0
+                : Math.round(progressInnerWidth * (float) obtainedCount / totalDrops);
+    }
+
     /**
      * Remove the drop table overlay and restore the original music widget.
      */
@@ -197,12 +287,20 @@ public class MusicWidgetController
             return;
         }
         spriteOverrideManager.unregister();
-        itemSpriteCache.clear();
         hideObtainedItems = false;
 
         runOnClientThread(this::revertOverride);
     }
 
+    /**
+     * Unregister every cached item sprite. Closing the view only releases its
+     * sprites so a reopened table can reuse them; this drops them for good.
+     */
+    public void clearItemSprites()
+    {
+        runOnClientThread(itemSpriteCache::clear);
+    }
+
     private void runOnClientThread(Runnable r)
     {
         if (client.isClientThread())
@@ -321,6 +419,7 @@ public class MusicWidgetController
         Widget scrollbar = widget(InterfaceID.Music.SCROLLBAR);
 
         int displayIndex = 0;
+        gridDrops.clear();
 
         for (Map.Entry<Widget, DropItem> e : iconItemMap.entrySet())
         {
@@ -342,6 +441,7 @@ public class MusicWidgetController
                 icon.setOriginalX(x);
                 icon.setOriginalY(y);
                 icon.revalidate();
+                gridDrops.add(d);
                 displayIndex++;
             }
         }
@@ -355,6 +455,45 @@ public class MusicWidgetController
         revalidateScroll(scrollbar);
     }
 
+    /**
+     * Find the drop icon under a canvas point. The icons sit on a fixed grid,
+     * so the cell is computed from the scroll container's position instead of
+     * testing every icon's bounds.
+     *
+     * @return the hovered drop, or {@code null} if the point is not on an icon
+     */
+    public DropItem dropAt(int canvasX, int canvasY)
+    {
+        if (!overrideActive || gridDrops.isEmpty())
+        {
+            return null;
+        }
+        Widget scrollable = widget(InterfaceID.Music.SCROLLABLE);
+        if (scrollable == null || scrollable.isHidden()
+                || !scrollable.getBounds().contains(canvasX, canvasY))
+        {
+            return null;
+        }
+
+        Point origin = scrollable.getCanvasLocation();
+        int x = canvasX - origin.getX() - MARGIN_X;
+        int y = canvasY - origin.getY() + scrollable.getScrollY() - MARGIN_Y;
+        if (x < 0 || y < 0)
+        {
+            return null;
+        }
+
+        int cell = ICON_SIZE + PADDING;
+        int col = x / cell;
+        int row = y / cell;
+        if (col >= COLUMNS || x % cell >= ICON_SIZE || y % cell >= ICON_SIZE)
+        {
+            return null; // right of the grid or in the padding between icons
+        }
+        int index = row * COLUMNS + col;
+        return index < gridDrops.size() ? gridDrops.get(index) : null;
+    }
+
     private static List<Widget> copyChildren(Widget parent, boolean dynamic)
     {
         if (parent == null)
@@ -571,10 +710,11 @@ public class MusicWidgetController
         overrideRootWidgets.add(bg);
 
         final int border = 1;
-        int innerWidth = newW - border * 2;
-        int fillW = (totalDrops <= 0)
-                ? 0
-                : Math.round(innerWidth * (float) obtainedCount / totalDrops);
+        progressInnerWidth = newW - border * 2;
+        progressBarX = barX;
+        progressBarWidth = newW;
+        shownObtainedCount = obtainedCount;
+        int fillW = progressFillWidth(obtainedCount, totalDrops);
 
         Widget fill = root.createChild(-1);
         fill.setHidden(false);
@@ -587,6 +727,7 @@ public class MusicWidgetController
         fill.setTextColor(0x00b33c);
         fill.revalidate();
         overrideRootWidgets.add(fill);
+        progressFill = fill;
 
         String txt = String.format("%d/%d", obtainedCount, totalDrops);
         Widget label = root.createChild(-1);
@@ -602,6 +743,7 @@ public class MusicWidgetController
         label.setOriginalY(barY + (BAR_HEIGHT / 2) - 6);
         label.revalidate();
         overrideRootWidgets.add(label);
+        progressLabel = label;
 
         int eyeX = barX + newW + 4;
         int eyeY = barY + (BAR_HEIGHT / 2) - (EYE_SIZE / 2);
@@ -648,61 +790,19 @@ public class MusicWidgetController
     }
 
     /**
-     * Display a Swing dialog prompting the user for an NPC name or ID. The
-     * potentially long running search executes on a background thread so the
-     * UI remains responsive. Selecting a result will override the widget with
-     * the chosen drop table.
+     * Show the NPC search window. Results stream in as each candidate's drop
+     * table resolves, so cached NPCs appear right away; selecting a result
+     * overrides the widget with the chosen drop table.
      */
     private void showSearchDialog()
     {
         SwingUtilities.invokeLater(() ->
         {
-            String query = JOptionPane.showInputDialog(
-                    null,
-                    "Enter NPC name or ID:",
-                    "Search NPC",
-                    JOptionPane.PLAIN_MESSAGE
-            );
-            if (query == null || query.trim().isEmpty())
+            if (searchDialog == null)
             {
-                return;
+                searchDialog = new NpcSearchDialog(searchService, this::override);
             }
-
-            new Thread(() -> {
-                List<NpcDropData> results = searchService.search(query.trim());
-
-                SwingUtilities.invokeLater(() -> {
-                    if (results.isEmpty())
-                    {
-                        JOptionPane.showMessageDialog(
-                                null,
-                                "No NPCs found for: " + query,
-                                "Search NPC",
-                                JOptionPane.INFORMATION_MESSAGE
-                        );
-                        return;
-                    }
-
-                    List<NpcDropData> limited = results.stream().limit(5).collect(Collectors.toList());
-                    String[] choices = limited.stream()
-                            .map(n -> String.format("%s (ID %d, Lvl %d)", n.getName(), n.getNpcId(), n.getLevel()))
-                            .toArray(String[]::new);
-                    int idx = JOptionPane.showOptionDialog(
-                            null,
-                            "Select NPC:",
-                            "Search Results",
-                            JOptionPane.DEFAULT_OPTION,
-                            JOptionPane.PLAIN_MESSAGE,
-                            null,
-                            choices,
-                            choices[0]
-                    );
-                    if (idx >= 0 && idx < limited.size())
-                    {
-                        override(limited.get(idx));
-                    }
-                });
-            }).start();
+            searchDialog.show();
         });
     }
 
@@ -711,6 +811,19 @@ public class MusicWidgetController
         showSearchDialog();
     }
 
+    /** Close the search window, if open, and cancel its running search. */
+    public void closeSearchDialog()
+    {
+        SwingUtilities.invokeLater(() ->
+        {
+            if (searchDialog != null)
+            {
+                searchDialog.dispose();
+                searchDialog = null;
+            }
+        });
+    }
+
     private void hideOtherMusicUi()
     {
         rememberAndHidePacked(InterfaceID.Music.JUKEBOX);
@@ -741,14 +854,18 @@ public class MusicWidgetController
         WidgetUtils.hideAllChildrenSafely(jukebox);
         WidgetUtils.hideAllChildrenSafely(scrollable);
 
+        // Build every sprite the table needs in one batch, then lay out
+        List<Integer> itemIds = drops.stream().map(DropItem::getItemId).collect(Collectors.toList());
+        Map<Integer, Integer> spriteIds = itemSpriteCache.acquireAll(itemIds);
+        acquiredSpriteItems.addAll(spriteIds.keySet());
+
         for (DropItem d : drops)
         {
             int itemId = d.getItemId();
             Widget icon = scrollable.createChild(-1);
             icon.setHidden(false);
             icon.setType(WidgetType.GRAPHIC);
-            int spriteId = itemSpriteCache.getSpriteId(itemId);
-            icon.setSpriteId(spriteId);
+            icon.setSpriteId(spriteIds.getOrDefault(itemId, -1));
             icon.setItemQuantityMode(ItemQuantityMode.NEVER);
             icon.setOriginalX(MARGIN_X);
             icon.setOriginalY(MARGIN_Y);
@@ -891,6 +1008,11 @@ public class MusicWidgetController
         overrideRootWidgets.clear();
         overrideScrollWidgets.clear();
         iconItemMap.clear();
+        gridDrops.clear();
+        itemSpriteCache.releaseAll(acquiredSpriteItems);
+        acquiredSpriteItems.clear();
+        progressFill = null;
+        progressLabel = null;
     }
 
     /**
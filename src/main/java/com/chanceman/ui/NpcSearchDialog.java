@@ -0,0 +1,240 @@
+package com.chanceman.ui;
+
+import com.chanceman.drops.NpcDropData;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Frame;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Non-modal NPC search window. Results stream in from
+ * {@link NpcSearchService#searchStreaming} while the user types; picking one
+ * (double-click or Enter) hands it to {@code onSelect} and closes the window.
+ * Must only be used on the Swing event thread.
+ */
+class NpcSearchDialog
+{
+    private static final int TYPING_DELAY_MS = 250;
+
+    private final NpcSearchService searchService;
+    private final Consumer<NpcDropData> onSelect;
+    private final JDialog dialog;
+    private final JTextField input = new JTextField();
+    private final DefaultListModel<NpcDropData> model = new DefaultListModel<>();
+    private final JList<NpcDropData> list = new JList<>(model);
+    private final JLabel status = new JLabel(" ");
+    private final Timer typingTimer;
+    private SearchHandle handle;
+
+    NpcSearchDialog(NpcSearchService searchService, Consumer<NpcDropData> onSelect)
+    {
+        this.searchService = searchService;
+        this.onSelect = onSelect;
+
+        dialog = new JDialog((Frame) null, "Search NPC", false);
+        dialog.setDefaultCloseOperation(WindowConstants.HIDE_ON_CLOSE);
+        dialog.addWindowListener(new WindowAdapter()
+        {
+            @Override
+            public void windowClosing(WindowEvent e)
+            {
+                cancelSearch();
+            }
+        });
+
+        typingTimer = new Timer(TYPING_DELAY_MS, e -> startSearch());
+        typingTimer.setRepeats(false);
+
+        input.getDocument().addDocumentListener(new DocumentListener()
+        {
+            @Override
+            public void insertUpdate(DocumentEvent e)
+            {
+                typingTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e)
+            {
+                typingTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e)
+            {
+                typingTimer.restart();
+            }
+        });
+        input.addActionListener(e ->
+        {
+            typingTimer.stop();
+            if (!model.isEmpty())
+            {
+                select(list.getSelectedIndex() >= 0 ? list.getSelectedValue() : model.get(0));
+            }
+            else
+            {
+                startSearch();
+            }
+        });
+        input.addKeyListener(new KeyAdapter()
+        {
+            @Override
+            public void keyPressed(KeyEvent e)
+            {
+                if (e.getKeyCode() == KeyEvent.VK_DOWN && !model.isEmpty())
+                {
+                    list.requestFocusInWindow();
+                    list.setSelectedIndex(Math.max(0, list.getSelectedIndex()));
+                }
+            }
+        });
+
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setCellRenderer(new DefaultListCellRenderer()
+        {
+            @Override
+            public Component getListCellRendererComponent(JList<?> l, Object value, int index,
+                                                          boolean selected, boolean focus)
+            {
+                NpcDropData n = (NpcDropData) value;
+                String text = String.format("%s (ID %d, Lvl %d)", n.getName(), n.getNpcId(), n.getLevel());
+                return super.getListCellRendererComponent(l, text, index, selected, focus);
+            }
+        });
+        list.addMouseListener(new MouseAdapter()
+        {
+            @Override
+            public void mouseClicked(MouseEvent e)
+            {
+                if (e.getClickCount() == 2 && list.getSelectedValue() != null)
+                {
+                    select(list.getSelectedValue());
+                }
+            }
+        });
+        list.addKeyListener(new KeyAdapter()
+        {
+            @Override
+            public void keyPressed(KeyEvent e)
+            {
+                if (e.getKeyCode() == KeyEvent.VK_ENTER && list.getSelectedValue() != null)
+                {
+                    select(list.getSelectedValue());
+                }
+            }
+        });
+
+        JPanel content = new JPanel(new BorderLayout(0, 4));
+        content.setBorder(BorderFactory.createEmptyBorder(6, 6, 6, 6));
+        content.add(new JLabel("Enter NPC name or ID:"), BorderLayout.NORTH);
+        JPanel center = new JPanel(new BorderLayout(0, 4));
+        center.add(input, BorderLayout.NORTH);
+        center.add(new JScrollPane(list), BorderLayout.CENTER);
+        content.add(center, BorderLayout.CENTER);
+        content.add(status, BorderLayout.SOUTH);
+        dialog.setContentPane(content);
+        dialog.setPreferredSize(new Dimension(320, 280));
+        dialog.pack();
+        dialog.setLocationRelativeTo(null);
+    }
+
+    void show()
+    {
+        input.selectAll();
+        dialog.setVisible(true);
+        dialog.toFront();
+        input.requestFocusInWindow();
+    }
+
+    void dispose()
+    {
+        typingTimer.stop();
+        cancelSearch();
+        dialog.dispose();
+    }
+
+    private void startSearch()
+    {
+        cancelSearch();
+        model.clear();
+        String query = input.getText().trim();
+        if (query.isEmpty())
+        {
+            status.setText(" ");
+            return;
+        }
+
+        status.setText("Searching...");
+        final SearchHandle[] self = new SearchHandle[1];
+        self[0] = searchService.searchStreaming(query, new NpcSearchService.Listener()
+        {
+            @Override
+            public void onResults(List<NpcDropData> ranked)
+            {
+                SwingUtilities.invokeLater(() ->
+                {
+                    if (self[0] == handle)
+                    {
+                        showResults(ranked);
+                    }
+                });
+            }
+
+            @Override
+            public void onComplete()
+            {
+                SwingUtilities.invokeLater(() ->
+                {
+                    if (self[0] == handle)
+                    {
+                        status.setText(model.isEmpty() ? "No NPCs found for: " + query : " ");
+                    }
+                });
+            }
+        });
+        handle = self[0];
+    }
+
+    private void showResults(List<NpcDropData> ranked)
+    {
+        NpcDropData selected = list.getSelectedValue();
+        model.clear();
+        for (NpcDropData d : ranked)
+        {
+            model.addElement(d);
+        }
+        if (selected != null)
+        {
+            list.setSelectedValue(selected, false);
+        }
+    }
+
+    private void select(NpcDropData data)
+    {
+        cancelSearch();
+        dialog.setVisible(false);
+        onSelect.accept(data);
+    }
+
+    private void cancelSearch()
+    {
+        if (handle != null)
+        {
+            handle.cancel();
+            handle = null;
+        }
+    }
+}
@@ -6,6 +6,9 @@ import com.chanceman.drops.NpcDropData;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -14,8 +17,9 @@ import java.util.concurrent.CompletableFuture;
 /**
  * Provides fuzzy search over available NPC drop data. The cache is consulted
  * first and any misses fall back to a wiki lookup. Results without drop tables
- * are discarded and lookups for multiple candidates are performed in parallel
- * to keep searches snappy.
+ * are discarded. Searches stream: each candidate is delivered, ranked, as soon
+ * as its drop table resolves, and starting a new search cancels the previous
+ * one.
  */
 @Singleton
 public class NpcSearchService
@@ -26,7 +30,24 @@ public class NpcSearchService
     private static final Pattern NAME_NUM_PATTERN = Pattern.compile("^(.*\\D)\\s+(\\d+)$");
     private static final Pattern NUM_NAME_PATTERN = Pattern.compile("^(\\d+)\\s+(\\D.*)$");
 
+    private static final int MAX_CANDIDATES = 10;
+    private static final int MAX_CONCURRENT_FETCHES = 4;
+
     private final DropCache dropCache;
+    private final AtomicReference<SearchHandle> current = new AtomicReference<>();
+
+    /**
+     * Receives results of a streaming search. Callbacks arrive on background
+     * threads.
+     */
+    public interface Listener
+    {
+        /** The full result list, best match first, each time it grows. */
+        void onResults(List<NpcDropData> ranked);
+
+        /** Every candidate has resolved. Not called for cancelled searches. */
+        void onComplete();
+    }
 
     @Inject
     public NpcSearchService(DropCache dropCache)
@@ -98,95 +119,173 @@ public class NpcSearchService
     }
 
     /**
-     * Search by partial name, level, or ID. Results are limited and ordered by
-     * Levenshtein distance when appropriate.
+     * Start a streaming search by partial name, level, or ID, cancelling the
+     * previous streaming search if it is still running. Candidates are
+     * fetched best-first a few at a time, so cached NPCs show up almost
+     * immediately and slow wiki lookups only delay their own entry.
      */
-    public List<NpcDropData> search(String query)
+    public SearchHandle searchStreaming(String query, Listener listener)
     {
-        ParsedQuery pq = parse(query);
-        if (pq == null)
+        SearchHandle handle = new SearchHandle(query);
+        SearchHandle previous = current.getAndSet(handle);
+        if (previous != null)
         {
-            return Collections.emptyList();
+            previous.cancel();
         }
+        run(handle, query, listener);
+        return handle;
+    }
 
-        // 1) name only → fetch all candidates by name
-        if (pq.npcId == null && pq.level == null && pq.name != null)
+    private void run(SearchHandle handle, String query, Listener listener)
+    {
+        ParsedQuery pq = parse(query);
+        if (pq == null)
         {
-            List<String> names = dropCache.searchNpcNames(pq.name).join();
-            List<NpcDropData> fetched = fetchAll(names.stream().limit(10).collect(Collectors.toList()), 0);
-            return fetched.stream()
-                    .sorted(Comparator.comparingInt(d ->
-                            levenshtein(d.getName().toLowerCase(Locale.ROOT), pq.name)))
-                    .collect(Collectors.toList());
+            listener.onComplete();
+            return;
         }
 
-        // 2) ID only → fetch by ID
+        // ID only → fetch by ID
         if (pq.npcId != null && pq.name == null)
         {
             int lvl = (pq.level != null ? pq.level : 0);
-            NpcDropData d = dropCache.get(pq.npcId, "", lvl).join();
-            if (d == null || d.getDropTableSections().isEmpty())
-            {
-                return Collections.emptyList();
-            }
-            return Collections.singletonList(d);
+            new StreamingSearch(handle, listener, "", null, null)
+                    .start(Collections.singletonList(() -> dropCache.get(pq.npcId, "", lvl)));
+            return;
         }
 
-        // 3) mixed or partial → fuzzy search
-        String nameFilter = (pq.name != null ? pq.name : "");
-        int lvlFilter = (pq.level != null ? pq.level : -1);
-
-        List<String> candidates = dropCache.searchNpcNames(nameFilter).join();
-        List<NpcDropData> all = fetchAll(candidates.stream().limit(10).collect(Collectors.toList()),
-                lvlFilter > -1 ? lvlFilter : 0);
-
-        // if ID also provided, filter it
-        if (pq.npcId != null)
+        // name, optionally with level and/or ID → fetch candidates by name
+        final String name = pq.name;
+        final int fetchLevel = (pq.level != null ? pq.level : 0);
+        final StreamingSearch search = new StreamingSearch(handle, listener, name, pq.level, pq.npcId);
+        handle.track(dropCache.searchNpcNames(name)).whenComplete((names, ex) ->
         {
-            all = all.stream()
-                    .filter(d -> d.getNpcId() == pq.npcId)
-                    .collect(Collectors.toList());
-        }
-
-        // filter by level + sort by name distance
-        final int lvl = lvlFilter;
-        return all.stream()
-                .filter(d -> lvl < 0 || d.getLevel() == lvl)
-                .sorted(Comparator.comparingInt(d ->
-                        levenshtein(d.getName().toLowerCase(Locale.ROOT), nameFilter)))
-                .collect(Collectors.toList());
+            if (handle.isCancelled())
+            {
+                return;
+            }
+            List<String> candidates = names == null
+                    ? Collections.emptyList()
+                    : new FuzzyRanker(name).rank(names, Function.identity());
+            search.start(candidates.stream()
+                    .limit(MAX_CANDIDATES)
+                    .<Supplier<CompletableFuture<NpcDropData>>>map(n -> () -> dropCache.get(0, n, fetchLevel))
+                    .collect(Collectors.toList()));
+        });
     }
 
     /**
-     * Fetch drop data for a list of names concurrently.
+     * Drives one search: keeps at most {@link #MAX_CONCURRENT_FETCHES}
+     * lookups running and inserts each result at its ranked position as it
+     * arrives.
      */
-    private List<NpcDropData> fetchAll(List<String> names, int level)
+    private static final class StreamingSearch
     {
-        List<CompletableFuture<NpcDropData>> futures = names.stream()
-                .map(n -> dropCache.get(0, n, level))
-                .collect(Collectors.toList());
+        private final SearchHandle handle;
+        private final Listener listener;
+        private final FuzzyRanker ranker;
+        private final Integer level;
+        private final Integer npcId;
+        private final Deque<Supplier<CompletableFuture<NpcDropData>>> queue = new ArrayDeque<>();
+        private final List<NpcDropData> results = new ArrayList<>();
+        private final List<Integer> scores = new ArrayList<>();
+        private final Set<String> seen = new HashSet<>();
+        private int remaining;
 
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        StreamingSearch(SearchHandle handle, Listener listener, String rankBy, Integer level, Integer npcId)
+        {
+            this.handle = handle;
+            this.listener = listener;
+            this.ranker = new FuzzyRanker(rankBy);
+            this.level = level;
+            this.npcId = npcId;
+        }
 
-        return futures.stream()
-                .map(CompletableFuture::join)
-                .filter(Objects::nonNull)
-                .filter(d -> !d.getDropTableSections().isEmpty())
-                .collect(Collectors.toList());
-    }
+        void start(List<Supplier<CompletableFuture<NpcDropData>>> lookups)
+        {
+            synchronized (this)
+            {
+                queue.addAll(lookups);
+                remaining = lookups.size();
+            }
+            if (lookups.isEmpty())
+            {
+                listener.onComplete();
+                return;
+            }
+            for (int i = 0; i < MAX_CONCURRENT_FETCHES; i++)
+            {
+                launchNext();
+            }
+        }
 
-    // simple DP Levenshtein
-    private static int levenshtein(String a, String b)
-    {
-        int[][] dp = new int[a.length()+1][b.length()+1];
-        for (int i = 0; i <= a.length(); i++) dp[i][0] = i;
-        for (int j = 0; j <= b.length(); j++) dp[0][j] = j;
-        for (int i = 1; i <= a.length(); i++)
-            for (int j = 1; j <= b.length(); j++)
-                dp[i][j] = Math.min(
-                        Math.min(dp[i-1][j] + 1, dp[i][j-1] + 1),
-                        dp[i-1][j-1] + (a.charAt(i-1)==b.charAt(j-1) ? 0 : 1)
-                );
-        return dp[a.length()][b.length()];
+        private void launchNext()
+        {
+            Supplier<CompletableFuture<NpcDropData>> next;
+            synchronized (this)
+            {
+                next = handle.isCancelled() ? null : queue.poll();
+            }
+            if (next != null)
+            {
+                handle.track(next.get()).whenComplete((data, ex) -> onResolved(ex == null ? data : null));
+            }
+        }
+
+        private void onResolved(NpcDropData data)
+        {
+            if (handle.isCancelled())
+            {
+                return;
+            }
+            List<NpcDropData> snapshot = null;
+            boolean done;
+            synchronized (this)
+            {
+                if (accept(data))
+                {
+                    int score = ranker.score(data.getName());
+                    int at = 0;
+                    while (at < scores.size() && scores.get(at) <= score)
+                    {
+                        at++;
+                    }
+                    results.add(at, data);
+                    scores.add(at, score);
+                    snapshot = new ArrayList<>(results);
+                }
+                done = --remaining == 0;
+            }
+            if (snapshot != null)
+            {
+                listener.onResults(snapshot);
+            }
+            if (done)
+            {
+                listener.onComplete();
+            }
+            else
+            {
+                launchNext();
+            }
+        }
+
+        private boolean accept(NpcDropData d)
+        {
+            if (d == null || d.getDropTableSections() == null || d.getDropTableSections().isEmpty())
+            {
+                return false;
+            }
+            if (level != null && d.getLevel() != level)
+            {
+                return false;
+            }
+            if (npcId != null && d.getNpcId() != npcId)
+            {
+                return false;
+            }
+            // Different names can resolve to the same table
+            return seen.add(d.getNpcId() + ":" + d.getName() + ":" + d.getLevel());
+        }
     }
-}
\ No newline at end of file
+}
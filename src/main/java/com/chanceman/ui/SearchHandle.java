@@ -0,0 +1,57 @@
+package com.chanceman.ui;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Handle for a running {@link NpcSearchService} search. Cancelling it stops
+ * further result delivery, cancels the lookups it is waiting on and keeps any
+ * queued candidates from being fetched at all.
+ */
+public final class SearchHandle
+{
+    private final String query;
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    SearchHandle(String query)
+    {
+        this.query = query;
+    }
+
+    public String getQuery()
+    {
+        return query;
+    }
+
+    public boolean isCancelled()
+    {
+        return cancelled.get();
+    }
+
+    public void cancel()
+    {
+        if (cancelled.compareAndSet(false, true))
+        {
+            for (CompletableFuture<?> f : pending)
+            {
+                f.cancel(true);
+            }
+            pending.clear();
+        }
+    }
+
+    /** Register a lookup so it is cancelled along with this search. */
+    <T> CompletableFuture<T> track(CompletableFuture<T> future)
+    {
+        pending.add(future);
+        future.whenComplete((r, ex) -> pending.remove(future));
+        if (cancelled.get())
+        {
+            future.cancel(true);
+        }
+        return future;
+    }
+}
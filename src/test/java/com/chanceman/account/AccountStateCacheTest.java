@@ -0,0 +1,78 @@
+package com.chanceman.account;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class AccountStateCacheTest
+{
+	private AccountStateCache cache;
+
+	@Before
+	public void setUp()
+	{
+		cache = new AccountStateCache();
+		for (int i = 1; i <= AccountStateCache.MAX_ACCOUNTS; i++)
+		{
+			cache.put(state("Account " + i));
+		}
+	}
+
+	@Test
+	public void fifthAccountEvictsTheLeastRecentlyUsed()
+	{
+		cache.put(state("Account 5"));
+
+		assertEquals(AccountStateCache.MAX_ACCOUNTS, cache.size());
+		assertNull(cache.take("Account 1"));
+		assertNotNull(cache.take("Account 2"));
+		assertNotNull(cache.take("Account 5"));
+	}
+
+	@Test
+	public void storingAnAccountAgainMakesItMostRecent()
+	{
+		// Switching back to account 1 and away again stores it anew
+		assertNotNull(cache.take("Account 1"));
+		cache.put(state("Account 1"));
+		cache.put(state("Account 5"));
+
+		assertNull(cache.take("Account 2"));
+		assertNotNull(cache.take("Account 1"));
+	}
+
+	@Test
+	public void takeRemovesTheEntry()
+	{
+		assertEquals("Account 3", cache.take("Account 3").getPlayerName());
+		assertNull(cache.take("Account 3"));
+		assertNull(cache.take(null));
+		assertEquals(AccountStateCache.MAX_ACCOUNTS - 1, cache.size());
+	}
+
+	@Test
+	public void invalidatingTradeablesKeepsTheRestOfEachState()
+	{
+		cache.invalidateTradeables();
+
+		AccountState state = cache.take("Account 2");
+		assertNull(state.getTradeables());
+		assertEquals(Collections.singleton(1), state.getObtained());
+		assertEquals(Collections.singleton(2), state.getRolled());
+		assertEquals(AccountStateCache.MAX_ACCOUNTS - 1, cache.size());
+
+		cache.clear();
+		assertEquals(0, cache.size());
+	}
+
+	private static AccountState state(String playerName)
+	{
+		return new AccountState(playerName, Collections.singleton(1), Collections.singleton(2),
+			Collections.singleton(3), null);
+	}
+}
@@ -0,0 +1,83 @@
+package com.chanceman.drops;
+
+import com.chanceman.ui.WidgetUtils;
+import com.google.gson.Gson;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DropItemTest
+{
+    @Test
+    public void rangesKeepBothEndsAndSortByTheCommonEnd()
+    {
+        DropItem range = new DropItem(1, "Ranged", "1/64 – 1/32");
+
+        assertEquals("1/64–1/32", range.getOneOverRarity());
+        assertEquals(32, range.getOneOverMin(), 0);
+        assertEquals(64, range.getOneOverMax(), 0);
+        assertEquals(32, range.getRarityValue(), 0);
+    }
+
+    @Test
+    public void rarityFormsNormalizeToOneOver()
+    {
+        assertEquals("1/128", new DropItem(1, "a", "1/128").getOneOverRarity());
+        assertEquals("1/64", new DropItem(1, "a", "2 × 1/128").getOneOverRarity());
+        assertEquals("1/8", new DropItem(1, "a", "12.5%").getOneOverRarity());
+        assertEquals("1/42.67", new DropItem(1, "a", "3/128").getOneOverRarity());
+        assertEquals("1/100", new DropItem(1, "a", "1 in 100").getOneOverRarity());
+        assertEquals("1/5000", new DropItem(1, "a", "1/5,000 [d 1]").getOneOverRarity());
+        assertEquals("1/128; 1/64", new DropItem(1, "a", "1/128; 1/64").getOneOverRarity());
+    }
+
+    @Test
+    public void alwaysAndUnknownBoundTheOrder()
+    {
+        DropItem always = new DropItem(1, "Bones", "Always");
+        DropItem unknown = new DropItem(2, "Mystery", "Varies");
+
+        assertTrue(always.isAlways());
+        assertEquals(0, always.getRarityValue(), 0);
+        assertFalse(unknown.isAlways());
+        assertEquals(0, unknown.getOneOverMin(), 0);
+        assertEquals(Double.POSITIVE_INFINITY, unknown.getRarityValue(), 0);
+    }
+
+    /**
+     * A range sorts by its most common rate: "1/64–1/32" is seen more often
+     * than a flat 1/48, so it comes first even though its rare end is rarer.
+     */
+    @Test
+    public void rarityOrderPlacesRangesByMostCommonRate()
+    {
+        List<DropItem> drops = new ArrayList<>(Arrays.asList(
+                new DropItem(10, "Unknown", "Varies"),
+                new DropItem(11, "Single", "1/48"),
+                new DropItem(12, "Ranged", "1/64–1/32"),
+                new DropItem(13, "Bones", "Always"),
+                new DropItem(14, "Common", "1/16")));
+
+        List<DropItem> sorted = WidgetUtils.dedupeAndSort(drops, true);
+
+        List<Integer> ids = new ArrayList<>();
+        sorted.forEach(d -> ids.add(d.getItemId()));
+        assertEquals(Arrays.asList(13, 14, 12, 11, 10), ids);
+    }
+
+    @Test
+    public void itemsCachedBeforeNormalizationAreNormalizedOnUse()
+    {
+        DropItem legacy = new Gson().fromJson(
+                "{\"itemId\":5,\"name\":\"Legacy\",\"rarity\":\"1/64–1/32\"}", DropItem.class);
+
+        assertEquals("1/64–1/32", legacy.getOneOverRarity());
+        assertEquals(32, legacy.getRarityValue(), 0);
+    }
+}
@@ -0,0 +1,67 @@
+package com.chanceman.drops;
+
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HostLimiterTest
+{
+    private final HostLimiter limiter = new HostLimiter(2);
+
+    @Test
+    public void slotsAreGrantedUpToTheLimitPerHost()
+    {
+        assertTrue(limiter.acquire("wiki").isDone());
+        assertTrue(limiter.acquire("wiki").isDone());
+        CompletableFuture<Void> third = limiter.acquire("wiki");
+
+        assertFalse(third.isDone());
+        assertTrue("other hosts are not limited", limiter.acquire("mirror").isDone());
+        assertEquals(2, limiter.inFlight("wiki"));
+        assertEquals(1, limiter.inFlight("mirror"));
+    }
+
+    @Test
+    public void releaseHandsSlotsToWaitersInOrder()
+    {
+        limiter.acquire("wiki");
+        limiter.acquire("wiki");
+        CompletableFuture<Void> first = limiter.acquire("wiki");
+        CompletableFuture<Void> second = limiter.acquire("wiki");
+
+        limiter.release("wiki");
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        assertEquals(2, limiter.inFlight("wiki"));
+
+        limiter.release("wiki");
+        limiter.release("wiki");
+        limiter.release("wiki");
+        assertTrue(second.isDone());
+        assertEquals(0, limiter.inFlight("wiki"));
+    }
+
+    @Test
+    public void cancelledWaitersNeverTakeASlot()
+    {
+        limiter.acquire("wiki");
+        limiter.acquire("wiki");
+        CompletableFuture<Void> cancelled = limiter.acquire("wiki");
+        CompletableFuture<Void> waiting = limiter.acquire("wiki");
+        cancelled.cancel(false);
+
+        limiter.release("wiki");
+        assertTrue(waiting.isDone());
+        assertFalse(waiting.isCompletedExceptionally());
+        assertEquals(2, limiter.inFlight("wiki"));
+
+        limiter.release("wiki");
+        limiter.release("wiki");
+        assertEquals(0, limiter.inFlight("wiki"));
+        assertTrue(limiter.acquire("wiki").isDone());
+    }
+}
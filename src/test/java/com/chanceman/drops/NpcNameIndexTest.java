@@ -0,0 +1,95 @@
+package com.chanceman.drops;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NpcNameIndexTest
+{
+    private NpcNameIndex index;
+
+    @Before
+    public void setUp()
+    {
+        index = new NpcNameIndex();
+        for (String name : Arrays.asList("Hobgoblin", "Cave goblin", "Goblin champion", "Goblin",
+                "Guard", "Black dragon", "Blue dragon", "Cow", "Cow calf"))
+        {
+            index.add(name);
+        }
+    }
+
+    @Test
+    public void substringMatchesRankExactThenPrefixThenWordThenInfix()
+    {
+        assertEquals(Arrays.asList("Goblin", "Goblin champion", "Cave goblin", "Hobgoblin"),
+                index.search("goblin", 10));
+    }
+
+    @Test
+    public void searchIgnoresCaseAndSurroundingSpace()
+    {
+        assertEquals(Collections.singletonList("Guard"), index.search("  GUARD ", 10));
+    }
+
+    @Test
+    public void shortQueriesMatchWordPrefixes()
+    {
+        assertEquals(Arrays.asList("Cow", "Cow calf"), index.search("co", 10));
+        // Both start a word with "ca"; the whole-name prefix ranks first
+        assertEquals(Arrays.asList("Cave goblin", "Cow calf"), index.search("ca", 10));
+    }
+
+    @Test
+    public void limitCapsResults()
+    {
+        assertEquals(Arrays.asList("Goblin", "Goblin champion"), index.search("goblin", 2));
+        assertTrue(index.search("goblin", 0).isEmpty());
+        assertTrue(index.search("", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+    }
+
+    @Test
+    public void typosFallBackToSharedTrigrams()
+    {
+        List<String> hits = index.search("black dragn", 10);
+
+        assertEquals("Black dragon", hits.get(0));
+        assertFalse(hits.contains("Cow"));
+    }
+
+    @Test
+    public void namesStayUntilEveryReferenceIsRemoved()
+    {
+        // The same NPC cached at a second combat level
+        index.add("cow");
+        index.remove("Cow");
+        assertEquals(Arrays.asList("Cow", "Cow calf"), index.search("cow", 10));
+
+        index.remove("COW");
+        assertEquals(Collections.singletonList("Cow calf"), index.search("cow", 10));
+
+        index.add("Cow");
+        assertEquals(Arrays.asList("Cow", "Cow calf"), index.search("cow", 10));
+    }
+
+    @Test
+    public void sizeCountsLiveNames()
+    {
+        assertEquals(9, index.size());
+        index.remove("Guard");
+        index.remove("Not indexed");
+        assertEquals(8, index.size());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.search("goblin", 10).isEmpty());
+    }
+}
@@ -0,0 +1,131 @@
+package com.chanceman.drops;
+
+import com.chanceman.managers.ObtainedItemsManager;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TargetRecommenderTest
+{
+    private static final Path GOBLIN = Paths.get("2005_Goblin_2.json");
+    private static final Path COW = Paths.get("2317_Cow_2.json");
+
+    private final Set<Integer> obtained = new HashSet<>();
+    private TargetRecommender recommender;
+
+    @Before
+    public void setUp()
+    {
+        ObtainedItemsManager obtainedItems = mock(ObtainedItemsManager.class);
+        when(obtainedItems.isObtained(anyInt())).thenAnswer(inv -> obtained.contains(inv.<Integer>getArgument(0)));
+        recommender = new TargetRecommender(mock(DropCache.class), obtainedItems);
+        recommender.setTradeableItems(Arrays.asList(1, 2, 4));
+
+        recommender.tableIndexed(GOBLIN, npc(2005, "Goblin",
+                section("Main", drop(1, "1/4"), drop(2, "1/8"), drop(3, "Always")),
+                section("Tertiary", drop(2, "1/8"), drop(0, "1/2"))));
+        recommender.tableIndexed(COW, npc(2317, "Cow",
+                section("Main", drop(4, "1/2"), drop(5, "Varies"))));
+    }
+
+    @Test
+    public void scoresSumChancesOfNewTradeableItems()
+    {
+        List<TargetScore> top = recommender.top(10);
+
+        // Goblin: 1/4 for item 1 plus item 2 listed twice at 1/8; item 3 is untradeable
+        assertEquals(2, top.size());
+        assertScore(top.get(0), "Cow", 0.5, 1);
+        assertScore(top.get(1), "Goblin", 0.5, 2);
+        assertEquals(1, recommender.top(1).size());
+    }
+
+    @Test
+    public void obtainsDebitOnlyTheirOwnChanceOnce()
+    {
+        recommender.onObtained(Collections.singletonList(1));
+        recommender.onObtained(Collections.singletonList(1));
+
+        assertScore(recommender.top(10).get(1), "Goblin", 0.25, 1);
+
+        // Nothing new left on a cow, so it is no longer recommended
+        recommender.onObtained(Collections.singletonList(4));
+        List<TargetScore> top = recommender.top(10);
+        assertEquals(1, top.size());
+        assertEquals("Goblin", top.get(0).getNpcName());
+    }
+
+    @Test
+    public void reloadRescoresFromTheObtainedSet()
+    {
+        obtained.addAll(Arrays.asList(1, 2));
+        recommender.onReloaded();
+
+        List<TargetScore> top = recommender.top(10);
+        assertEquals(1, top.size());
+        assertEquals("Cow", top.get(0).getNpcName());
+
+        obtained.clear();
+        recommender.onReloaded();
+        assertEquals(2, recommender.top(10).size());
+    }
+
+    @Test
+    public void tradeableUniverseLimitsWhatCounts()
+    {
+        recommender.setTradeableItems(Collections.singletonList(3));
+
+        List<TargetScore> top = recommender.top(10);
+        assertEquals(1, top.size());
+        assertScore(top.get(0), "Goblin", 1.0, 1);
+    }
+
+    @Test
+    public void reindexingAFileReplacesItsTarget()
+    {
+        recommender.tableIndexed(COW, npc(2317, "Cow", section("Main", drop(4, "1/20"))));
+        assertScore(recommender.top(10).get(1), "Cow", 0.05, 1);
+
+        recommender.tableRemoved(COW);
+        recommender.onObtained(Collections.singletonList(4));
+        assertEquals(1, recommender.top(10).size());
+
+        recommender.cleared();
+        assertTrue(recommender.top(10).isEmpty());
+    }
+
+    private static void assertScore(TargetScore score, String name, double expected, int newItems)
+    {
+        assertEquals(name, score.getNpcName());
+        assertEquals(expected, score.getExpectedNewItems(), 1e-9);
+        assertEquals(newItems, score.getNewItemCount());
+    }
+
+    private static NpcDropData npc(int id, String name, DropTableSection... sections)
+    {
+        return new NpcDropData(id, name, 2, Arrays.asList(sections));
+    }
+
+    private static DropTableSection section(String header, DropItem... items)
+    {
+        return new DropTableSection(header, Arrays.asList(items));
+    }
+
+    private static DropItem drop(int itemId, String rarity)
+    {
+        return new DropItem(itemId, "Item " + itemId, rarity);
+    }
+}
@@ -0,0 +1,285 @@
+package com.chanceman.harness;
+
+import com.chanceman.ChanceManConfig;
+import com.chanceman.ChanceManOverlay;
+import com.chanceman.ChanceManPlugin;
+import com.chanceman.account.AccountChanged;
+import com.chanceman.account.AccountManager;
+import com.chanceman.managers.ObtainedItemsManager;
+import com.chanceman.managers.RollAnimationManager;
+import com.chanceman.managers.RolledItemsManager;
+import com.chanceman.metrics.PerfMetrics;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.events.AccountHashChanged;
+import net.runelite.api.events.ClientTick;
+import net.runelite.api.events.GameTick;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.game.ItemManager;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the plugin's components against a headless client: an
+ * {@link ItemTable}, a {@link HeadlessClient}, a {@link SyncClientThread} and a
+ * {@link RecordingConfigManager}, wired with Guice the same way the client
+ * wires them. Components are fetched with {@link #get}; {@link #login()}
+ * brings the account and item managers to the state they reach after a real
+ * login, and {@link #measure} reports throughput and allocation.
+ *
+ * <p>Managers persist under {@code user.home}, which the Gradle test task
+ * points into the build directory.</p>
+ */
+@Slf4j
+public final class Harness implements AutoCloseable
+{
+    @Getter
+    private final ItemTable items;
+    @Getter
+    private final HeadlessClient client;
+    @Getter
+    private final SyncClientThread clientThread = new SyncClientThread();
+    @Getter
+    private final RecordingConfigManager configManager = new RecordingConfigManager();
+    @Getter
+    private final EventBus eventBus = new EventBus();
+    @Getter
+    private final ChanceManConfig config;
+    @Getter
+    private final Set<Integer> tradeables;
+
+    private final Injector injector;
+    private final ExecutorService fileExecutor = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread t = new Thread(r, "Harness-FileIO");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public Harness()
+    {
+        this(ItemTable.generate(45), Collections.emptyMap());
+    }
+
+    /**
+     * @param items           the item universe
+     * @param configOverrides ChanceManConfig values by method name; the rest
+     *                        keep their declared defaults
+     */
+    public Harness(ItemTable items, Map<String, Object> configOverrides)
+    {
+        this.items = items;
+        this.client = new HeadlessClient();
+        this.config = Proxies.config(ChanceManConfig.class, configOverrides);
+
+        Set<Integer> universe = new LinkedHashSet<>(items.tradeableIds());
+        ItemManager itemManager = items.itemManager();
+        ChanceManPlugin plugin = plugin(universe, itemManager);
+        universe.removeIf(plugin::isNotTracked);
+        this.tradeables = Collections.unmodifiableSet(universe);
+
+        injector = Guice.createInjector(new HarnessModule(client, clientThread, items, itemManager,
+                configManager, config, eventBus, plugin, mock(ChanceManOverlay.class)));
+    }
+
+    /** A plugin answering only what its components ask of it. */
+    private ChanceManPlugin plugin(Set<Integer> universe, ItemManager itemManager)
+    {
+        ChanceManPlugin plugin = mock(ChanceManPlugin.class);
+        when(plugin.getItemManager()).thenReturn(itemManager);
+        when(plugin.isInPlay(anyInt())).thenAnswer(inv -> universe.contains(inv.<Integer>getArgument(0)));
+        when(plugin.isTradeable(anyInt())).thenAnswer(inv ->
+        {
+            ItemComposition comp = items.get(inv.getArgument(0));
+            return comp != null && comp.isTradeable();
+        });
+        doCallRealMethod().when(plugin).isNotTracked(anyInt());
+        return plugin;
+    }
+
+    public <T> T get(Class<T> type)
+    {
+        return injector.getInstance(type);
+    }
+
+    /**
+     * Log the headless player in: resolve the account name the way
+     * {@link AccountManager} does on a client tick, load both item sets and
+     * hand the roll manager the tradeable universe.
+     */
+    public void login()
+    {
+        AccountManager accountManager = get(AccountManager.class);
+        eventBus.register(accountManager);
+        accountManager.init();
+        eventBus.post(event(ClientTick.class));
+        if (!accountManager.ready())
+        {
+            throw new IllegalStateException("Headless login did not resolve the account");
+        }
+
+        ObtainedItemsManager obtained = get(ObtainedItemsManager.class);
+        RolledItemsManager rolled = get(RolledItemsManager.class);
+        obtained.setExecutor(fileExecutor);
+        rolled.setExecutor(fileExecutor);
+        obtained.loadObtainedItems();
+        rolled.loadRolledItems();
+        get(RollAnimationManager.class).setAllTradeableItems(tradeables);
+        awaitIo();
+    }
+
+    /**
+     * Hop the headless client to another account and let {@link AccountManager}
+     * resolve its name, as after logging into an alt. Item sets are left for
+     * the caller to load or restore unless a plugin from
+     * {@link #startPlugin()} is listening.
+     */
+    public void switchAccount(long accountHash, String playerName)
+    {
+        client.setAccountHash(accountHash);
+        client.setPlayerName(playerName);
+        eventBus.post(event(AccountHashChanged.class));
+        eventBus.post(event(ClientTick.class));
+        if (!playerName.equals(get(AccountManager.class).getPlayerName()))
+        {
+            throw new IllegalStateException("Headless account switch did not resolve " + playerName);
+        }
+    }
+
+    /**
+     * A real plugin wired to the harness components, with its features on and
+     * the logged-in account loaded as after a fresh login. Its UI
+     * collaborators are mocks and the panel is never built; components keep
+     * seeing the stand-in plugin. Later {@link #switchAccount} calls reach it
+     * through {@link AccountChanged} as in the client. Call after
+     * {@link #login()}.
+     */
+    public ChanceManPlugin startPlugin()
+    {
+        ChanceManPlugin live = new ChanceManPlugin();
+        injector.injectMembers(live);
+        try
+        {
+            // enableFeatures() also builds the panel and navigation button
+            Field active = ChanceManPlugin.class.getDeclaredField("featuresActive");
+            active.setAccessible(true);
+            active.setBoolean(live, true);
+        }
+        catch (ReflectiveOperationException e)
+        {
+            throw new IllegalStateException("Cannot enable plugin features", e);
+        }
+        eventBus.register(live);
+        eventBus.post(new AccountChanged(client.getClient().getAccountHash(),
+                get(AccountManager.class).getPlayerName()));
+        awaitIo();
+        return live;
+    }
+
+    /** Post one game tick and one client tick and retry deferred client thread work. */
+    public void tick()
+    {
+        eventBus.post(event(GameTick.class));
+        eventBus.post(event(ClientTick.class));
+        clientThread.tick();
+    }
+
+    /** Wait for queued file writes and cloud mirroring to finish. */
+    public void awaitIo()
+    {
+        try
+        {
+            fileExecutor.submit(() -> { }).get(30, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException | TimeoutException e)
+        {
+            throw new IllegalStateException("File executor stalled", e);
+        }
+    }
+
+    /**
+     * Run {@code body} once on the calling thread and report it as
+     * {@code operations} operations. Metrics collected by {@link PerfMetrics}
+     * are enabled for the run.
+     */
+    public LoadReport measure(String name, long operations, Runnable body)
+    {
+        get(PerfMetrics.class).setEnabled(true);
+        java.lang.management.ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean alloc = mx instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) mx
+                : null;
+        long tid = Thread.currentThread().getId();
+
+        long bytesBefore = alloc != null ? alloc.getThreadAllocatedBytes(tid) : -1;
+        long start = System.nanoTime();
+        body.run();
+        long elapsed = System.nanoTime() - start;
+        long bytesAfter = alloc != null ? alloc.getThreadAllocatedBytes(tid) : -1;
+
+        LoadReport report = new LoadReport(name, operations, elapsed,
+                bytesBefore < 0 || bytesAfter < 0 ? -1 : bytesAfter - bytesBefore);
+        log.info("{}", report);
+        return report;
+    }
+
+    /**
+     * The shared instance of a client event, for events that only expose a
+     * private constructor or an {@code INSTANCE} constant.
+     */
+    public static <T> T event(Class<T> type)
+    {
+        try
+        {
+            Field instance = type.getField("INSTANCE");
+            return type.cast(instance.get(null));
+        }
+        catch (NoSuchFieldException e)
+        {
+            try
+            {
+                Constructor<T> ctor = type.getDeclaredConstructor();
+                ctor.setAccessible(true);
+                return ctor.newInstance();
+            }
+            catch (ReflectiveOperationException ex)
+            {
+                throw new IllegalStateException("Cannot create " + type.getName(), ex);
+            }
+        }
+        catch (IllegalAccessException e)
+        {
+            throw new IllegalStateException("Cannot read " + type.getName() + ".INSTANCE", e);
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        awaitIo();
+        fileExecutor.shutdown();
+    }
+}
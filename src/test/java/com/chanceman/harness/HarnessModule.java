@@ -0,0 +1,87 @@
+package com.chanceman.harness;
+
+import com.chanceman.ChanceManConfig;
+import com.chanceman.ChanceManOverlay;
+import com.chanceman.ChanceManPlugin;
+import com.chanceman.menus.TutorialIslandGuard;
+import com.chanceman.metrics.PerfOverlay;
+import com.chanceman.ui.DropsTabUI;
+import com.chanceman.ui.DropsTooltipOverlay;
+import com.chanceman.ui.MusicSearchButton;
+import com.chanceman.ui.MusicWidgetController;
+import com.google.gson.Gson;
+import com.google.inject.AbstractModule;
+import com.google.inject.util.Providers;
+import net.runelite.api.Client;
+import net.runelite.client.callback.ClientThread;
+import net.runelite.client.chat.ChatMessageManager;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.eventbus.EventBus;
+import net.runelite.client.game.ItemManager;
+import net.runelite.client.ui.ClientToolbar;
+import net.runelite.client.ui.overlay.OverlayManager;
+import okhttp3.OkHttpClient;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Binds the client-side collaborators to their headless stand-ins. Mocks and
+ * stand-ins are bound through providers so Guice does not member-inject the
+ * classes they extend (the plugin and the roll overlay in particular pull in
+ * the whole UI); everything else is created just in time as in the client.
+ * The plugin's own UI collaborators are inert mocks, so a live plugin can be
+ * member-injected for the account switch paths.
+ */
+class HarnessModule extends AbstractModule
+{
+    private final HeadlessClient client;
+    private final SyncClientThread clientThread;
+    private final ItemTable items;
+    private final ItemManager itemManager;
+    private final RecordingConfigManager configManager;
+    private final ChanceManConfig config;
+    private final EventBus eventBus;
+    private final ChanceManPlugin plugin;
+    private final ChanceManOverlay overlay;
+
+    HarnessModule(HeadlessClient client, SyncClientThread clientThread, ItemTable items, ItemManager itemManager,
+                  RecordingConfigManager configManager, ChanceManConfig config, EventBus eventBus,
+                  ChanceManPlugin plugin, ChanceManOverlay overlay)
+    {
+        this.client = client;
+        this.clientThread = clientThread;
+        this.items = items;
+        this.itemManager = itemManager;
+        this.configManager = configManager;
+        this.config = config;
+        this.eventBus = eventBus;
+        this.plugin = plugin;
+        this.overlay = overlay;
+    }
+
+    @Override
+    protected void configure()
+    {
+        bind(Client.class).toProvider(Providers.of(client.getClient()));
+        bind(ClientThread.class).toProvider(Providers.of(clientThread));
+        bind(ItemTable.class).toInstance(items);
+        bind(ItemManager.class).toProvider(Providers.of(itemManager));
+        bind(ConfigManager.class).toProvider(Providers.of(configManager.getConfigManager()));
+        bind(ChanceManConfig.class).toInstance(config);
+        bind(EventBus.class).toProvider(Providers.of(eventBus));
+        bind(Gson.class).toInstance(new Gson());
+        bind(OkHttpClient.class).toInstance(new OkHttpClient());
+        bind(ChanceManPlugin.class).toProvider(Providers.of(plugin));
+        bind(ChanceManOverlay.class).toProvider(Providers.of(overlay));
+
+        bind(ClientToolbar.class).toProvider(Providers.of(mock(ClientToolbar.class)));
+        bind(OverlayManager.class).toProvider(Providers.of(mock(OverlayManager.class)));
+        bind(ChatMessageManager.class).toProvider(Providers.of(mock(ChatMessageManager.class)));
+        bind(DropsTooltipOverlay.class).toProvider(Providers.of(mock(DropsTooltipOverlay.class)));
+        bind(PerfOverlay.class).toProvider(Providers.of(mock(PerfOverlay.class)));
+        bind(DropsTabUI.class).toProvider(Providers.of(mock(DropsTabUI.class)));
+        bind(MusicWidgetController.class).toProvider(Providers.of(mock(MusicWidgetController.class)));
+        bind(MusicSearchButton.class).toProvider(Providers.of(mock(MusicSearchButton.class)));
+        bind(TutorialIslandGuard.class).toProvider(Providers.of(mock(TutorialIslandGuard.class)));
+    }
+}
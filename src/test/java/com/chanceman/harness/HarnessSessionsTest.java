@@ -0,0 +1,188 @@
+package com.chanceman.harness;
+
+import com.chanceman.ChanceManPlugin;
+import com.chanceman.account.AccountStateCache;
+import com.chanceman.drops.DropCache;
+import com.chanceman.drops.DropFetcher;
+import com.chanceman.drops.NpcIndexEntry;
+import com.chanceman.filters.EnsouledHeadMapping;
+import com.chanceman.managers.ObtainedItemsManager;
+import com.chanceman.managers.RollAnimationManager;
+import com.chanceman.managers.RolledItemsManager;
+import com.chanceman.metrics.PerfMetrics;
+import net.runelite.api.ItemComposition;
+import net.runelite.api.widgets.Widget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Scripted load sessions against the headless harness. Each asserts the
+ * plugin behaved as in game and logs a {@link LoadReport}; the numbers are
+ * for comparing runs on one machine, not pass/fail thresholds.
+ */
+public class HarnessSessionsTest
+{
+    private Harness harness;
+
+    @Before
+    public void setUp()
+    {
+        harness = new Harness(ItemTable.generate(45), Map.of("batchRolls", true));
+        harness.login();
+    }
+
+    @After
+    public void tearDown()
+    {
+        harness.close();
+    }
+
+    @Test
+    public void menuBuilds()
+    {
+        LoadReport report = Sessions.menuBuilds(harness, 10_000, 8, 46);
+
+        assertEquals(80_000, report.getOperations());
+        long greyed = harness.get(PerfMetrics.class).counters().getOrDefault(PerfMetrics.MENU_ENTRIES_GREYED, 0L);
+        // Nothing is rolled on a fresh account, so only always-allowed options stay enabled
+        assertTrue("some entries greyed", greyed > 0);
+        assertTrue("drop/examine stay enabled", greyed < report.getOperations());
+    }
+
+    @Test
+    public void lootBurst()
+    {
+        ObtainedItemsManager obtained = harness.get(ObtainedItemsManager.class);
+        RolledItemsManager rolled = harness.get(RolledItemsManager.class);
+        int obtainedBefore = obtained.getObtainedItems().size();
+        int rolledBefore = rolled.getRolledItems().size();
+
+        LoadReport report = Sessions.lootBurst(harness, 500, 47);
+
+        assertEquals(500, report.getOperations());
+        assertEquals(obtainedBefore + 500, obtained.getObtainedItems().size());
+        // Batch mode resolves the whole burst in one go
+        assertEquals(rolledBefore + 500, rolled.getRolledItems().size());
+        assertTrue(harness.get(RollAnimationManager.class).isRolling());
+    }
+
+    @Test
+    public void dimmerFrames()
+    {
+        WidgetTree tree = WidgetTree.build(harness.getItems(), 4, 3, 8, 48);
+        RolledItemsManager rolled = harness.get(RolledItemsManager.class);
+
+        LoadReport report = Sessions.dimmerFrames(harness, tree, 200);
+
+        assertEquals(200, report.getOperations());
+        int dimmed = 0;
+        for (Widget slot : tree.itemSlots())
+        {
+            int canonical = harness.getItems().canonicalize(EnsouledHeadMapping.toTradeableId(slot.getItemId()));
+            ItemComposition comp = harness.getItems().get(canonical);
+            boolean locked = comp != null && comp.isTradeable() && !rolled.isRolled(canonical);
+            if (locked && slot.getItemQuantity() > 0)
+            {
+                assertTrue("locked slot dimmed", slot.getOpacity() > 0);
+                dimmed++;
+            }
+        }
+        assertTrue(dimmed > 0);
+    }
+
+    @Test
+    public void restrictionTicks()
+    {
+        int[] worn = harness.getTradeables().stream().limit(11).mapToInt(Integer::intValue).toArray();
+        int[] inventory = harness.getTradeables().stream().skip(11).limit(28).mapToInt(Integer::intValue).toArray();
+
+        LoadReport report = Sessions.restrictionTicks(harness, 5_000, worn, inventory);
+
+        assertEquals(5_000, report.getOperations());
+    }
+
+    /**
+     * Switch to an alt and back through the plugin's account handler: leaving
+     * the main account caches its state, and coming back restores its sets,
+     * tradeable universe and drop index from {@link AccountStateCache}
+     * without waiting for a rescan, after which the background reconcile
+     * finds disk and cloud already agree.
+     */
+    @Test
+    public void accountSwitchRestoresCachedState() throws Exception
+    {
+        ObtainedItemsManager obtained = harness.get(ObtainedItemsManager.class);
+        RolledItemsManager rolled = harness.get(RolledItemsManager.class);
+        AccountStateCache cache = harness.get(AccountStateCache.class);
+        DropFetcher fetcher = harness.get(DropFetcher.class);
+        DropCache drops = harness.get(DropCache.class);
+
+        try (WikiStandIn standIn = WikiStandIn.start(WikiCorpus.load()))
+        {
+            fetcher.setWikiBaseUrl(standIn.getBaseUrl());
+            fetcher.startUp();
+            ChanceManPlugin plugin = harness.startPlugin();
+            try
+            {
+                drops.clearAllCaches();
+                assertEquals(2005, drops.get(0, "Goblin", 2).get(10, TimeUnit.SECONDS).getNpcId());
+                Sessions.lootBurst(harness, 200, 50);
+                harness.awaitIo();
+                Set<Integer> mainObtained = obtained.getObtainedItems();
+                Set<Integer> mainRolled = rolled.getRolledItems();
+                Set<Integer> mainTradeables = new HashSet<>(plugin.getAllTradeableItems());
+                assertFalse(mainTradeables.isEmpty());
+
+                harness.switchAccount(2L, "Alt");
+                harness.awaitIo();
+                assertEquals(1, cache.size());
+                assertFalse(indexedNames(drops).contains("Goblin"));
+
+                harness.measure("accountRestore", 1, () -> harness.switchAccount(1L, "Harness"));
+
+                // Restored as it was left, before any background work catches up
+                assertEquals(mainObtained, obtained.getObtainedItems());
+                assertEquals(mainRolled, rolled.getRolledItems());
+                assertEquals(mainTradeables, plugin.getAllTradeableItems());
+                assertTrue(indexedNames(drops).contains("Goblin"));
+                // The live account is not kept in the cache; the alt is
+                assertNull(cache.take("Harness"));
+                assertEquals(1, cache.size());
+
+                assertFalse(obtained.reconcileInBackground().get(30, TimeUnit.SECONDS));
+                assertFalse(rolled.reconcileInBackground().get(30, TimeUnit.SECONDS));
+                assertEquals(mainObtained, obtained.getObtainedItems());
+            }
+            finally
+            {
+                harness.getEventBus().unregister(plugin);
+                obtained.stopWatching();
+                rolled.stopWatching();
+                drops.clearAllCaches();
+                drops.shutdown();
+                fetcher.shutdown();
+            }
+        }
+    }
+
+    private static Set<String> indexedNames(DropCache drops)
+    {
+        Set<String> names = new HashSet<>();
+        for (NpcIndexEntry entry : drops.getIndexedNpcs())
+        {
+            names.add(entry.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,85 @@
+package com.chanceman.harness;
+
+import lombok.Getter;
+import lombok.Setter;
+import net.runelite.api.Client;
+import net.runelite.api.EnumComposition;
+import net.runelite.api.GameState;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import net.runelite.api.Player;
+import net.runelite.api.WorldType;
+import net.runelite.api.widgets.Widget;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A logged-in game client without a game. State the plugin reads (game state,
+ * account, local player, widget roots, item containers) lives in plain fields
+ * that sessions change between steps; everything else answers zero or null.
+ */
+public final class HeadlessClient
+{
+    @Getter
+    private final Client client;
+
+    @Getter @Setter
+    private volatile GameState gameState = GameState.LOGGED_IN;
+    @Getter @Setter
+    private volatile long accountHash = 1L;
+    @Getter @Setter
+    private volatile String playerName = "Harness";
+    @Getter @Setter
+    private volatile Widget[] widgetRoots = new Widget[0];
+
+    private final Map<Integer, ItemContainer> containers = new HashMap<>();
+
+    public HeadlessClient()
+    {
+        client = mock(Client.class);
+        Player player = mock(Player.class);
+        when(player.getName()).thenAnswer(inv -> playerName);
+
+        when(client.getGameState()).thenAnswer(inv -> gameState);
+        when(client.getAccountHash()).thenAnswer(inv -> accountHash);
+        when(client.getLocalPlayer()).thenAnswer(inv -> playerName == null ? null : player);
+        when(client.getWidgetRoots()).thenAnswer(inv -> widgetRoots);
+        when(client.getWorldType()).thenAnswer(inv -> EnumSet.noneOf(WorldType.class));
+        when(client.getItemContainer(anyInt())).thenAnswer(inv -> container(inv.getArgument(0)));
+
+        EnumComposition emptyEnum = mock(EnumComposition.class);
+        when(emptyEnum.getIntValue(anyInt())).thenReturn(-1);
+        when(client.getEnum(anyInt())).thenReturn(emptyEnum);
+    }
+
+    /** Replace the contents of a container, e.g. {@code InventoryID.INV}. */
+    public void setContainer(int containerId, int... itemIds)
+    {
+        Item[] items = new Item[itemIds.length];
+        for (int i = 0; i < itemIds.length; i++)
+        {
+            items[i] = new Item(itemIds[i], 1);
+        }
+        ItemContainer container = mock(ItemContainer.class);
+        when(container.getId()).thenReturn(containerId);
+        when(container.getItems()).thenReturn(items);
+        synchronized (containers)
+        {
+            containers.put(containerId, container);
+        }
+    }
+
+    public ItemContainer container(int containerId)
+    {
+        synchronized (containers)
+        {
+            return containers.get(containerId);
+        }
+    }
+}
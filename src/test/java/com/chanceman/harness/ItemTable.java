@@ -0,0 +1,187 @@
+package com.chanceman.harness;
+
+import net.runelite.api.ItemComposition;
+import net.runelite.client.game.ItemManager;
+import net.runelite.http.api.item.ItemPrice;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A synthetic item composition table laid out like the game cache: IDs come
+ * in triples of base item, noted item and bank placeholder, so canonicalization
+ * and the dimmer's related-ID lookups see the same shapes as in game.
+ */
+public final class ItemTable
+{
+    public static final int DEFAULT_SIZE = 40000;
+    private static final int NOTE_TEMPLATE = 799;
+    private static final int PLACEHOLDER_TEMPLATE = 14401;
+
+    private final ItemComposition[] items;
+    private final List<Map<String, Object>> props;
+    private final List<Integer> tradeableIds;
+    private final Map<String, Integer> idsByName = new ConcurrentHashMap<>();
+
+    private ItemTable(ItemComposition[] items, List<Map<String, Object>> props, List<Integer> tradeableIds)
+    {
+        this.items = items;
+        this.props = props;
+        this.tradeableIds = Collections.unmodifiableList(tradeableIds);
+        for (int id : tradeableIds)
+        {
+            idsByName.put(items[id].getName().toLowerCase(Locale.ROOT), id);
+        }
+    }
+
+    /**
+     * @param size              number of item IDs
+     * @param tradeablePercent  share of base items that are tradeable
+     * @param seed              makes the table reproducible
+     */
+    public static ItemTable generate(int size, int tradeablePercent, long seed)
+    {
+        Random rnd = new Random(seed);
+        ItemComposition[] items = new ItemComposition[size];
+        List<Map<String, Object>> props = new ArrayList<>(Collections.nCopies(size, null));
+        List<Integer> tradeable = new ArrayList<>();
+        for (int base = 0; base < size; base += 3)
+        {
+            boolean isTradeable = rnd.nextInt(100) < tradeablePercent;
+            boolean members = rnd.nextInt(4) != 0;
+            String name = "Item " + base;
+            int noted = base + 1;
+            int placeholder = base + 2;
+
+            items[base] = composition(props, base, name, isTradeable, members, -1, noted, placeholder, -1);
+            if (isTradeable)
+            {
+                tradeable.add(base);
+            }
+            if (noted < size)
+            {
+                items[noted] = composition(props, noted, name, isTradeable, members, NOTE_TEMPLATE, base, -1, -1);
+            }
+            if (placeholder < size)
+            {
+                items[placeholder] = composition(props, placeholder, name, false, members, -1, -1, base, PLACEHOLDER_TEMPLATE);
+            }
+        }
+        return new ItemTable(items, props, tradeable);
+    }
+
+    public static ItemTable generate(long seed)
+    {
+        return generate(DEFAULT_SIZE, 60, seed);
+    }
+
+    private static ItemComposition composition(List<Map<String, Object>> props, int id, String name,
+                                               boolean tradeable, boolean members, int note, int linkedNoteId,
+                                               int placeholderId, int placeholderTemplateId)
+    {
+        Map<String, Object> p = new ConcurrentHashMap<>();
+        p.put("getId", id);
+        p.put("getName", name);
+        p.put("isTradeable", tradeable);
+        p.put("isMembers", members);
+        p.put("getNote", note);
+        p.put("getLinkedNoteId", linkedNoteId);
+        p.put("getPlaceholderId", placeholderId);
+        p.put("getPlaceholderTemplateId", placeholderTemplateId);
+        props.set(id, p);
+        return Proxies.fixed(ItemComposition.class, p);
+    }
+
+    /**
+     * Give the {@code index}-th tradeable item (with its note and placeholder)
+     * a real name, e.g. so recorded wiki pages resolve to IDs.
+     *
+     * @return the item's ID
+     */
+    public int name(int index, String name)
+    {
+        int base = tradeableIds.get(index);
+        idsByName.remove(items[base].getName().toLowerCase(Locale.ROOT));
+        for (int id = base; id < Math.min(base + 3, items.length); id++)
+        {
+            props.get(id).put("getName", name);
+        }
+        idsByName.put(name.toLowerCase(Locale.ROOT), base);
+        return base;
+    }
+
+    /** Exact, case-insensitive name lookup among tradeable items; -1 if none. */
+    public int idOf(String name)
+    {
+        return name == null ? -1 : idsByName.getOrDefault(name.toLowerCase(Locale.ROOT), -1);
+    }
+
+    public int size()
+    {
+        return items.length;
+    }
+
+    public ItemComposition get(int id)
+    {
+        return id >= 0 && id < items.length ? items[id] : null;
+    }
+
+    /** Canonical (base) IDs of every tradeable item, ascending. */
+    public List<Integer> tradeableIds()
+    {
+        return tradeableIds;
+    }
+
+    /** Same rules as {@link ItemManager#canonicalize}: notes and placeholders map to their base item. */
+    public int canonicalize(int id)
+    {
+        ItemComposition comp = get(id);
+        if (comp == null)
+        {
+            return id;
+        }
+        if (comp.getNote() != -1)
+        {
+            return comp.getLinkedNoteId();
+        }
+        if (comp.getPlaceholderTemplateId() != -1)
+        {
+            return comp.getPlaceholderId();
+        }
+        return id;
+    }
+
+    /**
+     * An ItemManager answering compositions and canonical IDs from this
+     * table; {@code search} matches whole names only.
+     */
+    public ItemManager itemManager()
+    {
+        ItemManager itemManager = mock(ItemManager.class);
+        when(itemManager.getItemComposition(anyInt())).thenAnswer(inv -> get(inv.getArgument(0)));
+        when(itemManager.canonicalize(anyInt())).thenAnswer(inv -> canonicalize(inv.getArgument(0)));
+        when(itemManager.search(anyString())).thenAnswer(inv ->
+        {
+            int id = idOf(inv.getArgument(0));
+            if (id < 0)
+            {
+                return Collections.emptyList();
+            }
+            ItemPrice price = new ItemPrice();
+            price.setId(id);
+            price.setName(items[id].getName());
+            return Collections.singletonList(price);
+        });
+        return itemManager;
+    }
+}
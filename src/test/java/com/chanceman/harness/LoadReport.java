@@ -0,0 +1,43 @@
+package com.chanceman.harness;
+
+import lombok.Value;
+
+import java.util.Locale;
+
+/**
+ * Throughput and allocation of one measured session. Allocation is what the
+ * driving thread allocated, as reported by the JVM, so work the code under
+ * test hands to other threads is not included.
+ */
+@Value
+public class LoadReport
+{
+    String name;
+    long operations;
+    long elapsedNanos;
+    /** -1 when the JVM cannot measure per-thread allocation */
+    long allocatedBytes;
+
+    public double opsPerSecond()
+    {
+        return elapsedNanos == 0 ? 0 : operations * 1e9 / elapsedNanos;
+    }
+
+    public double nanosPerOp()
+    {
+        return operations == 0 ? 0 : (double) elapsedNanos / operations;
+    }
+
+    public double bytesPerOp()
+    {
+        return operations == 0 || allocatedBytes < 0 ? -1 : (double) allocatedBytes / operations;
+    }
+
+    @Override
+    public String toString()
+    {
+        return String.format(Locale.ROOT, "%s: %d ops in %.1f ms, %.0f ops/s, %.0f ns/op, %s/op",
+                name, operations, elapsedNanos / 1e6, opsPerSecond(), nanosPerOp(),
+                allocatedBytes < 0 ? "n/a" : String.format(Locale.ROOT, "%.0f B", bytesPerOp()));
+    }
+}
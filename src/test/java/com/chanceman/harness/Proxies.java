@@ -0,0 +1,173 @@
+package com.chanceman.harness;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dynamic-proxy fakes for the RuneLite interfaces the harness needs. A proxy
+ * answers in a map lookup, which keeps the fixture cheap next to the code
+ * under test; Mockito is only used for the concrete client classes.
+ */
+public final class Proxies
+{
+    private Proxies()
+    {
+    }
+
+    /**
+     * A config interface answering from {@code overrides}, falling back to the
+     * default value each item declares. Defaults are evaluated once up front.
+     */
+    public static <T> T config(Class<T> type, Map<String, Object> overrides)
+    {
+        Map<String, Object> values = new HashMap<>();
+        T config = fixed(type, values);
+        try
+        {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            for (Method m : type.getMethods())
+            {
+                if (m.isDefault() && m.getParameterCount() == 0)
+                {
+                    values.put(m.getName(), lookup.unreflectSpecial(m, type).bindTo(config).invoke());
+                }
+            }
+        }
+        catch (Throwable t)
+        {
+            throw new IllegalStateException("Cannot read defaults of " + type.getName(), t);
+        }
+        values.putAll(overrides);
+        return config;
+    }
+
+    /**
+     * A read-only proxy answering methods by name from {@code values};
+     * anything else returns zero, false or null.
+     */
+    public static <T> T fixed(Class<T> type, Map<String, Object> values)
+    {
+        return create(type, (p, method, args) ->
+        {
+            String name = method.getName();
+            if (values.containsKey(name))
+            {
+                return values.get(name);
+            }
+            return identity(p, method, args);
+        });
+    }
+
+    /**
+     * A mutable proxy with bean semantics: {@code setX(v)} stores what
+     * {@code getX()} / {@code isX()} return, and any other one-argument method
+     * stores what the no-argument method of the same name returns (e.g.
+     * {@code MenuEntry.onClick}). Setters return the proxy for chaining.
+     */
+    public static <T> T bean(Class<T> type, Map<String, Object> initial)
+    {
+        Map<String, Object> state = new HashMap<>(initial);
+        return create(type, (p, method, args) ->
+        {
+            int argc = args == null ? 0 : args.length;
+            String name = method.getName();
+            if (argc == 1 && isWrite(method))
+            {
+                state.put(property(name, "set"), args[0]);
+                return method.getReturnType().isInstance(p) ? p : null;
+            }
+            if (argc == 0)
+            {
+                String key = name.startsWith("get") ? property(name, "get") : property(name, "is");
+                if (state.containsKey(key))
+                {
+                    return state.get(key);
+                }
+            }
+            return identity(p, method, args);
+        });
+    }
+
+    private static boolean isWrite(Method method)
+    {
+        String name = method.getName();
+        if (name.startsWith("set"))
+        {
+            return true;
+        }
+        if (name.startsWith("get") || name.equals("equals"))
+        {
+            return false;
+        }
+        Class<?> ret = method.getReturnType();
+        return ret == void.class || ret == method.getDeclaringClass();
+    }
+
+    private static String property(String method, String prefix)
+    {
+        return method.startsWith(prefix) && method.length() > prefix.length()
+                ? method.substring(prefix.length())
+                : method;
+    }
+
+    private static Object identity(Object proxy, Method method, Object[] args)
+    {
+        switch (method.getName())
+        {
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+            case "toString":
+                return method.getDeclaringClass().getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+            default:
+                return zero(method.getReturnType());
+        }
+    }
+
+    private static <T> T create(Class<T> type, InvocationHandler handler)
+    {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    static Object zero(Class<?> type)
+    {
+        if (!type.isPrimitive() || type == void.class)
+        {
+            return null;
+        }
+        if (type == boolean.class)
+        {
+            return false;
+        }
+        if (type == char.class)
+        {
+            return (char) 0;
+        }
+        if (type == long.class)
+        {
+            return 0L;
+        }
+        if (type == float.class)
+        {
+            return 0f;
+        }
+        if (type == double.class)
+        {
+            return 0d;
+        }
+        if (type == byte.class)
+        {
+            return (byte) 0;
+        }
+        if (type == short.class)
+        {
+            return (short) 0;
+        }
+        return 0;
+    }
+}
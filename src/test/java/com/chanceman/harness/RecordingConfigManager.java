@@ -0,0 +1,95 @@
+package com.chanceman.harness;
+
+import lombok.Value;
+import net.runelite.client.config.ConfigManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * An in-memory ConfigManager that records every write, so sessions can assert
+ * how often plugin state is mirrored to the profile and how large it gets.
+ */
+public final class RecordingConfigManager
+{
+    @Value
+    public static class Write
+    {
+        String group;
+        String key;
+        /** null for an unset */
+        String value;
+    }
+
+    private final Map<String, String> values = new HashMap<>();
+    private final List<Write> writes = new ArrayList<>();
+    private final ConfigManager configManager;
+
+    public RecordingConfigManager()
+    {
+        configManager = mock(ConfigManager.class);
+        when(configManager.getConfiguration(anyString(), anyString()))
+                .thenAnswer(inv -> get(inv.getArgument(0), inv.getArgument(1)));
+        doAnswer(inv ->
+        {
+            set(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2));
+            return null;
+        }).when(configManager).setConfiguration(anyString(), anyString(), anyString());
+        doAnswer(inv ->
+        {
+            set(inv.getArgument(0), inv.getArgument(1), null);
+            return null;
+        }).when(configManager).unsetConfiguration(anyString(), anyString());
+    }
+
+    public ConfigManager getConfigManager()
+    {
+        return configManager;
+    }
+
+    public synchronized String get(String group, String key)
+    {
+        return values.get(group + "." + key);
+    }
+
+    private synchronized void set(String group, String key, String value)
+    {
+        if (value == null)
+        {
+            values.remove(group + "." + key);
+        }
+        else
+        {
+            values.put(group + "." + key, value);
+        }
+        writes.add(new Write(group, key, value));
+    }
+
+    public synchronized List<Write> getWrites()
+    {
+        return Collections.unmodifiableList(new ArrayList<>(writes));
+    }
+
+    public synchronized long bytesWritten()
+    {
+        long total = 0;
+        for (Write w : writes)
+        {
+            total += w.getValue() == null ? 0 : w.getValue().length();
+        }
+        return total;
+    }
+
+    public synchronized void clearWrites()
+    {
+        writes.clear();
+    }
+}
@@ -0,0 +1,182 @@
+package com.chanceman.harness;
+
+import com.chanceman.managers.ObtainedItemsManager;
+import com.chanceman.managers.RollAnimationManager;
+import com.chanceman.menus.ActionHandler;
+import com.chanceman.menus.Restrictions;
+import com.chanceman.ui.ItemDimmerController;
+import net.runelite.api.Item;
+import net.runelite.api.MenuAction;
+import net.runelite.api.MenuEntry;
+import net.runelite.api.events.BeforeRender;
+import net.runelite.api.events.GameTick;
+import net.runelite.api.events.MenuEntryAdded;
+import net.runelite.api.gameval.InventoryID;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Scripted sessions over a logged-in {@link Harness}. Each session builds its
+ * fixtures first and measures only the work the plugin would do in game.
+ */
+public final class Sessions
+{
+    private static final String[] ITEM_OPTIONS = {"Wield", "Wear", "Eat", "Use", "Drop", "Examine", "Drink"};
+    private static final MenuAction[] ITEM_ACTIONS = {
+            MenuAction.CC_OP, MenuAction.CC_OP, MenuAction.CC_OP_LOW_PRIORITY, MenuAction.WIDGET_TARGET
+    };
+
+    private Sessions()
+    {
+    }
+
+    /**
+     * Right-click menus over inventory items: {@code builds} menus of
+     * {@code entriesPerBuild} entries each, every entry passed through
+     * {@link ActionHandler#onMenuEntryAdded}. The client reuses its menu entry
+     * objects between menus, and so does this session.
+     */
+    public static LoadReport menuBuilds(Harness h, int builds, int entriesPerBuild, long seed)
+    {
+        ActionHandler handler = h.get(ActionHandler.class);
+        Random rnd = new Random(seed);
+        List<Integer> tradeable = new ArrayList<>(h.getTradeables());
+
+        int shapes = 64;
+        MenuEntry[][] menus = new MenuEntry[shapes][entriesPerBuild];
+        MenuEntryAdded[][] events = new MenuEntryAdded[shapes][entriesPerBuild];
+        String[][] options = new String[shapes][entriesPerBuild];
+        String[][] targets = new String[shapes][entriesPerBuild];
+        for (int s = 0; s < shapes; s++)
+        {
+            int itemId = tradeable.get(rnd.nextInt(tradeable.size()));
+            for (int e = 0; e < entriesPerBuild; e++)
+            {
+                options[s][e] = ITEM_OPTIONS[rnd.nextInt(ITEM_OPTIONS.length)];
+                targets[s][e] = "<col=ff9040>Item " + itemId;
+                MenuEntry entry = menuEntry(options[s][e], targets[s][e],
+                        ITEM_ACTIONS[rnd.nextInt(ITEM_ACTIONS.length)], itemId);
+                menus[s][e] = entry;
+                events[s][e] = new MenuEntryAdded(entry);
+            }
+        }
+
+        return h.measure("menuBuilds x" + builds, (long) builds * entriesPerBuild, () ->
+        {
+            for (int b = 0; b < builds; b++)
+            {
+                int s = b % shapes;
+                for (int e = 0; e < entriesPerBuild; e++)
+                {
+                    MenuEntry entry = menus[s][e];
+                    entry.setOption(options[s][e]);
+                    entry.setTarget(targets[s][e]);
+                    entry.onClick(null);
+                    handler.onMenuEntryAdded(events[s][e]);
+                }
+            }
+        });
+    }
+
+    /**
+     * A container change that brings in {@code count} new tradeables at once
+     * (a raid chest or a bank full of unseen items), handled the way
+     * ChanceManPlugin.onItemContainerChanged handles it: one bulk obtain, one
+     * queued roll per item, then the roll manager starts on the queue.
+     */
+    public static LoadReport lootBurst(Harness h, int count, long seed)
+    {
+        ObtainedItemsManager obtained = h.get(ObtainedItemsManager.class);
+        RollAnimationManager rolls = h.get(RollAnimationManager.class);
+        Random rnd = new Random(seed);
+        List<Integer> candidates = new ArrayList<>();
+        for (int id : h.getTradeables())
+        {
+            if (!obtained.isObtained(id))
+            {
+                candidates.add(id);
+            }
+        }
+        if (candidates.size() < count)
+        {
+            throw new IllegalStateException("Only " + candidates.size() + " unobtained tradeables left");
+        }
+        int[] loot = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            loot[i] = candidates.remove(rnd.nextInt(candidates.size()));
+        }
+        h.getClient().setContainer(InventoryID.INV, loot);
+
+        LoadReport report = h.measure("lootBurst x" + count, count, () ->
+        {
+            Set<Integer> processed = new LinkedHashSet<>();
+            for (Item item : h.getClient().container(InventoryID.INV).getItems())
+            {
+                int canonicalId = h.getItems().canonicalize(item.getId());
+                if (h.getTradeables().contains(canonicalId) && !obtained.isObtained(canonicalId))
+                {
+                    processed.add(canonicalId);
+                }
+            }
+            obtained.markObtainedAll(processed);
+            processed.forEach(rolls::enqueueRoll);
+            rolls.process();
+        });
+        h.awaitIo();
+        return report;
+    }
+
+    /** {@code frames} render frames over {@code tree}, each dimming every item slot. */
+    public static LoadReport dimmerFrames(Harness h, WidgetTree tree, int frames)
+    {
+        ItemDimmerController dimmer = h.get(ItemDimmerController.class);
+        BeforeRender event = Harness.event(BeforeRender.class);
+        h.getClient().setWidgetRoots(tree.roots());
+        return h.measure("dimmerFrames x" + frames + " (" + tree.itemSlots().size() + " slots)", frames, () ->
+        {
+            for (int f = 0; f < frames; f++)
+            {
+                dimmer.onBeforeRender(event);
+            }
+        });
+    }
+
+    /** {@code ticks} game ticks of restriction refreshes with the given gear. */
+    public static LoadReport restrictionTicks(Harness h, int ticks, int[] worn, int[] inventory)
+    {
+        Restrictions restrictions = h.get(Restrictions.class);
+        GameTick event = Harness.event(GameTick.class);
+        h.getClient().setContainer(InventoryID.WORN, worn);
+        h.getClient().setContainer(InventoryID.INV, inventory);
+        return h.measure("restrictionTicks x" + ticks, ticks, () ->
+        {
+            for (int t = 0; t < ticks; t++)
+            {
+                restrictions.onGameTick(event);
+            }
+        });
+    }
+
+    private static MenuEntry menuEntry(String option, String target, MenuAction type, int itemId)
+    {
+        Map<String, Object> props = new HashMap<>();
+        props.put("Option", option);
+        props.put("Target", target);
+        props.put("Type", type);
+        props.put("Identifier", 1);
+        props.put("ItemId", itemId);
+        props.put("Param0", 0);
+        props.put("Param1", 0);
+        props.put("Deprioritized", false);
+        props.put("onClick", (Consumer<MenuEntry>) null);
+        return Proxies.bean(MenuEntry.class, props);
+    }
+}
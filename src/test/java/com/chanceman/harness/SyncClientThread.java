@@ -0,0 +1,75 @@
+package com.chanceman.harness;
+
+import net.runelite.client.callback.ClientThread;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A ClientThread that runs work on the calling thread. {@code invoke} and
+ * {@code invokeLater} run a task at once; a {@link BooleanSupplier} that
+ * returns false is retried on each {@link #tick()}, as the real client
+ * retries it on the next frame. Calls from several threads are serialized,
+ * so work posted from background threads still never overlaps, as on the
+ * single client thread.
+ */
+public class SyncClientThread extends ClientThread
+{
+    private final Deque<BooleanSupplier> pending = new ArrayDeque<>();
+    private int executed;
+
+    @Override
+    public synchronized void invoke(Runnable r)
+    {
+        executed++;
+        r.run();
+    }
+
+    @Override
+    public synchronized void invoke(BooleanSupplier r)
+    {
+        executed++;
+        if (!r.getAsBoolean())
+        {
+            pending.add(r);
+        }
+    }
+
+    @Override
+    public void invokeLater(Runnable r)
+    {
+        invoke(r);
+    }
+
+    @Override
+    public void invokeLater(BooleanSupplier r)
+    {
+        invoke(r);
+    }
+
+    /** Retry every task that asked to run again. */
+    public synchronized void tick()
+    {
+        for (int n = pending.size(); n > 0; n--)
+        {
+            BooleanSupplier r = pending.poll();
+            executed++;
+            if (!r.getAsBoolean())
+            {
+                pending.add(r);
+            }
+        }
+    }
+
+    /** @return tasks run so far, retries included */
+    public synchronized int getExecuted()
+    {
+        return executed;
+    }
+
+    public synchronized int getPending()
+    {
+        return pending.size();
+    }
+}
@@ -0,0 +1,89 @@
+package com.chanceman.harness;
+
+import net.runelite.api.widgets.Widget;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A synthetic widget hierarchy for frame-walking code. Every interior node
+ * has {@code fanout} static children; leaves are item slots drawn from an
+ * {@link ItemTable}, a tenth of them bank placeholders (quantity 0). Widgets
+ * are bean proxies, so opacity written by the dimmer reads back.
+ */
+public final class WidgetTree
+{
+    // Well above any real interface, so no EnabledUI or collection log rules apply
+    private static final int FIRST_GROUP = 0x4000;
+
+    private final Widget[] roots;
+    private final List<Widget> itemSlots;
+
+    private WidgetTree(Widget[] roots, List<Widget> itemSlots)
+    {
+        this.roots = roots;
+        this.itemSlots = itemSlots;
+    }
+
+    /**
+     * @param rootCount number of interface roots
+     * @param depth     levels below each root; leaves sit at {@code depth}
+     * @param fanout    children per interior node
+     */
+    public static WidgetTree build(ItemTable items, int rootCount, int depth, int fanout, long seed)
+    {
+        Random rnd = new Random(seed);
+        List<Widget> slots = new ArrayList<>();
+        Widget[] roots = new Widget[rootCount];
+        for (int r = 0; r < rootCount; r++)
+        {
+            int group = FIRST_GROUP + r;
+            roots[r] = node(items, group, depth, fanout, rnd, slots, new int[]{0});
+        }
+        return new WidgetTree(roots, slots);
+    }
+
+    private static Widget node(ItemTable items, int group, int depth, int fanout, Random rnd,
+                               List<Widget> slots, int[] nextChild)
+    {
+        Map<String, Object> props = new HashMap<>();
+        props.put("Id", (group << 16) | (nextChild[0]++ & 0xFFFF));
+        props.put("Hidden", false);
+        props.put("Opacity", 0);
+        props.put("ItemId", -1);
+
+        if (depth == 0)
+        {
+            List<Integer> tradeable = items.tradeableIds();
+            int itemId = rnd.nextInt(4) == 0
+                    ? rnd.nextInt(items.size())
+                    : tradeable.get(rnd.nextInt(tradeable.size()));
+            props.put("ItemId", itemId);
+            props.put("ItemQuantity", rnd.nextInt(10) == 0 ? 0 : 1 + rnd.nextInt(1000));
+            Widget leaf = Proxies.bean(Widget.class, props);
+            slots.add(leaf);
+            return leaf;
+        }
+
+        Widget[] children = new Widget[fanout];
+        for (int i = 0; i < fanout; i++)
+        {
+            children[i] = node(items, group, depth - 1, fanout, rnd, slots, nextChild);
+        }
+        props.put("StaticChildren", children);
+        return Proxies.bean(Widget.class, props);
+    }
+
+    public Widget[] roots()
+    {
+        return roots;
+    }
+
+    public List<Widget> itemSlots()
+    {
+        return itemSlots;
+    }
+}
@@ -0,0 +1,114 @@
+package com.chanceman.harness;
+
+import lombok.Value;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Element;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recorded wiki NPC pages bundled under {@code /com/chanceman/harness/wiki},
+ * listed in {@code index.tsv} as page ID, title and file.
+ */
+public final class WikiCorpus
+{
+    private static final String ROOT = "/com/chanceman/harness/wiki/";
+
+    @Value
+    public static class Page
+    {
+        int pageId;
+        String title;
+        String html;
+    }
+
+    private final Map<String, Page> byTitle = new LinkedHashMap<>();
+
+    private WikiCorpus()
+    {
+    }
+
+    public static WikiCorpus load()
+    {
+        WikiCorpus corpus = new WikiCorpus();
+        for (String line : read("index.tsv").split("\n"))
+        {
+            if (line.isBlank() || line.startsWith("#"))
+            {
+                continue;
+            }
+            String[] cols = line.split("\t");
+            Page page = new Page(Integer.parseInt(cols[0].trim()), cols[1].trim(), read(cols[2].trim()));
+            corpus.byTitle.put(key(page.getTitle()), page);
+        }
+        return corpus;
+    }
+
+    private static String read(String file)
+    {
+        try (InputStream in = WikiCorpus.class.getResourceAsStream(ROOT + file))
+        {
+            if (in == null)
+            {
+                throw new IllegalStateException("Missing corpus file " + file);
+            }
+            StringBuilder sb = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)))
+            {
+                String line;
+                while ((line = reader.readLine()) != null)
+                {
+                    sb.append(line).append('\n');
+                }
+            }
+            return sb.toString();
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String key(String title)
+    {
+        return title.replace('_', ' ').trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** @return the page for a title, ignoring case and underscores; null if not recorded */
+    public Page page(String title)
+    {
+        return title == null ? null : byTitle.get(key(title));
+    }
+
+    public List<Page> pages()
+    {
+        return Collections.unmodifiableList(new ArrayList<>(byTitle.values()));
+    }
+
+    /** Every item name linked from a drop table, in page order. */
+    public Set<String> itemNames()
+    {
+        Set<String> names = new LinkedHashSet<>();
+        for (Page page : byTitle.values())
+        {
+            for (Element a : Jsoup.parse(page.getHtml()).select("table.item-drops a.itemlink[title]"))
+            {
+                names.add(a.attr("title"));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,308 @@
+package com.chanceman.harness;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A local HTTP server standing in for the wiki. It serves a {@link WikiCorpus}
+ * at the paths DropFetcher uses ({@code /w/Special:Lookup}, {@code /w/<title>}
+ * and the {@code api.php} info and opensearch queries), with optional
+ * latency and error injection. Point a fetcher at {@link #getBaseUrl()}.
+ *
+ * <p>Requests are counted per kind ({@link #PAGE}, {@link #INFO},
+ * {@link #SEARCH}) and the peak number of requests served at once is kept,
+ * so load tests can check de-duplication and concurrency.</p>
+ */
+@Slf4j
+public final class WikiStandIn implements AutoCloseable
+{
+    public static final String PAGE = "page";
+    public static final String INFO = "info";
+    public static final String SEARCH = "search";
+
+    private final WikiCorpus corpus;
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> pageRequests = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+
+    private volatile int minLatencyMs;
+    private volatile int maxLatencyMs;
+    private volatile double errorRate;
+    private volatile int errorStatus = 503;
+
+    private WikiStandIn(WikiCorpus corpus) throws IOException
+    {
+        this.corpus = corpus;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 64);
+        workers = Executors.newCachedThreadPool(r ->
+        {
+            Thread t = new Thread(r, "WikiStandIn");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(workers);
+        server.createContext("/w/", this::page);
+        server.createContext("/api.php", this::api);
+    }
+
+    public static WikiStandIn start(WikiCorpus corpus) throws IOException
+    {
+        WikiStandIn standIn = new WikiStandIn(corpus);
+        standIn.server.start();
+        return standIn;
+    }
+
+    public String getBaseUrl()
+    {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+    }
+
+    /** Delay every response by a uniform random time in {@code [minMs, maxMs]}. */
+    public void setLatency(int minMs, int maxMs)
+    {
+        this.minLatencyMs = Math.max(0, minMs);
+        this.maxLatencyMs = Math.max(this.minLatencyMs, maxMs);
+    }
+
+    /** Answer this fraction of requests with {@code status} instead of content. */
+    public void setErrors(double rate, int status)
+    {
+        this.errorRate = rate;
+        this.errorStatus = status;
+    }
+
+    public long getRequests(String kind)
+    {
+        LongAdder n = requests.get(kind);
+        return n == null ? 0 : n.sum();
+    }
+
+    /** @return page requests served for one title, errors included */
+    public long getPageRequests(String title)
+    {
+        LongAdder n = pageRequests.get(title.replace('_', ' ').trim().toLowerCase(Locale.ROOT));
+        return n == null ? 0 : n.sum();
+    }
+
+    public long getErrors()
+    {
+        return errors.sum();
+    }
+
+    /** @return requests being served right now, latency included */
+    public int getActive()
+    {
+        return active.get();
+    }
+
+    public int getPeakActive()
+    {
+        return peakActive.get();
+    }
+
+    public void resetCounters()
+    {
+        requests.clear();
+        pageRequests.clear();
+        errors.reset();
+        peakActive.set(active.get());
+    }
+
+    private void page(HttpExchange ex) throws IOException
+    {
+        String path = ex.getRequestURI().getPath().substring("/w/".length());
+        Map<String, String> q = query(ex);
+        String requested = path.equalsIgnoreCase("Special:Lookup") ? q.get("name") : path;
+        String title = requested == null ? "" : requested.replace('_', ' ').trim();
+        pageRequests.computeIfAbsent(title.toLowerCase(Locale.ROOT), k -> new LongAdder()).increment();
+
+        serve(ex, PAGE, () ->
+        {
+            WikiCorpus.Page page = corpus.page(title);
+            return page == null ? null : new Response("text/html; charset=UTF-8", page.getHtml());
+        });
+    }
+
+    private void api(HttpExchange ex) throws IOException
+    {
+        Map<String, String> q = query(ex);
+        String action = q.getOrDefault("action", "");
+        if (action.equals("opensearch"))
+        {
+            serve(ex, SEARCH, () -> new Response("application/json", opensearch(q.getOrDefault("search", ""))));
+        }
+        else if (action.equals("query"))
+        {
+            serve(ex, INFO, () -> new Response("application/json", info(q.getOrDefault("titles", ""))));
+        }
+        else
+        {
+            serve(ex, action, () -> null);
+        }
+    }
+
+    private String opensearch(String search)
+    {
+        String needle = search.toLowerCase(Locale.ROOT);
+        JsonArray titles = new JsonArray();
+        for (WikiCorpus.Page page : corpus.pages())
+        {
+            if (titles.size() < 20 && page.getTitle().toLowerCase(Locale.ROOT).contains(needle))
+            {
+                titles.add(page.getTitle());
+            }
+        }
+        JsonArray out = new JsonArray();
+        out.add(search);
+        out.add(titles);
+        out.add(new JsonArray());
+        out.add(new JsonArray());
+        return out.toString();
+    }
+
+    private String info(String titles)
+    {
+        WikiCorpus.Page page = corpus.page(titles);
+        JsonObject entry = new JsonObject();
+        String key;
+        if (page == null)
+        {
+            key = "-1";
+            entry.addProperty("title", titles.replace('_', ' '));
+            entry.addProperty("missing", "");
+        }
+        else
+        {
+            key = String.valueOf(page.getPageId());
+            entry.addProperty("pageid", page.getPageId());
+            entry.addProperty("title", page.getTitle());
+        }
+        JsonObject pages = new JsonObject();
+        pages.add(key, entry);
+        JsonObject query = new JsonObject();
+        query.add("pages", pages);
+        JsonObject root = new JsonObject();
+        root.add("query", query);
+        return root.toString();
+    }
+
+    private static final class Response
+    {
+        final String contentType;
+        final String body;
+
+        Response(String contentType, String body)
+        {
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+    private interface Handler
+    {
+        Response handle();
+    }
+
+    private void serve(HttpExchange ex, String kind, Handler handler) throws IOException
+    {
+        requests.computeIfAbsent(kind, k -> new LongAdder()).increment();
+        int now = active.incrementAndGet();
+        peakActive.accumulateAndGet(now, Math::max);
+        try
+        {
+            int max = maxLatencyMs;
+            if (max > 0)
+            {
+                Thread.sleep(ThreadLocalRandom.current().nextInt(minLatencyMs, max + 1));
+            }
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate)
+            {
+                errors.increment();
+                send(ex, errorStatus, "text/plain", "Injected error");
+                return;
+            }
+            Response res = handler.handle();
+            if (res == null)
+            {
+                send(ex, 404, "text/plain", "Not recorded");
+            }
+            else
+            {
+                send(ex, 200, res.contentType, res.body);
+            }
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            send(ex, 503, "text/plain", "Interrupted");
+        }
+        catch (RuntimeException e)
+        {
+            log.warn("Wiki stand-in failed on {}", ex.getRequestURI(), e);
+            send(ex, 500, "text/plain", String.valueOf(e));
+        }
+        finally
+        {
+            active.decrementAndGet();
+        }
+    }
+
+    private static void send(HttpExchange ex, int status, String contentType, String body) throws IOException
+    {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", contentType);
+        ex.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = ex.getResponseBody())
+        {
+            out.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange ex)
+    {
+        Map<String, String> out = new HashMap<>();
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty())
+        {
+            return out;
+        }
+        for (String pair : raw.split("&"))
+        {
+            int eq = pair.indexOf('=');
+            String k = eq < 0 ? pair : pair.substring(0, eq);
+            String v = eq < 0 ? "" : pair.substring(eq + 1);
+            out.put(URLDecoder.decode(k, StandardCharsets.UTF_8), URLDecoder.decode(v, StandardCharsets.UTF_8));
+        }
+        return out;
+    }
+
+    @Override
+    public void close()
+    {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+}
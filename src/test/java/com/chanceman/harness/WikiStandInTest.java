@@ -0,0 +1,310 @@
+package com.chanceman.harness;
+
+import com.chanceman.drops.DropCache;
+import com.chanceman.drops.DropCacheStats;
+import com.chanceman.drops.DropFetcher;
+import com.chanceman.drops.DropItem;
+import com.chanceman.drops.DropTableSection;
+import com.chanceman.drops.NpcDropData;
+import com.chanceman.metrics.PerfMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.Jsoup;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Drives {@link DropFetcher} and {@link DropCache} against a
+ * {@link WikiStandIn} serving the recorded {@link WikiCorpus}.
+ */
+@Slf4j
+public class WikiStandInTest
+{
+    private final WikiCorpus corpus = WikiCorpus.load();
+    private Harness harness;
+    private WikiStandIn standIn;
+    private DropFetcher fetcher;
+    private DropCache cache;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        harness = new Harness();
+        harness.login();
+        harness.get(PerfMetrics.class).setEnabled(true);
+
+        int index = 0;
+        for (String name : corpus.itemNames())
+        {
+            harness.getItems().name(index++, name);
+        }
+
+        standIn = WikiStandIn.start(corpus);
+        fetcher = harness.get(DropFetcher.class);
+        fetcher.setWikiBaseUrl(standIn.getBaseUrl());
+        fetcher.startUp();
+        cache = harness.get(DropCache.class);
+        cache.startUp();
+        cache.clearAllCaches();
+    }
+
+    @After
+    public void tearDown()
+    {
+        cache.clearAllCaches();
+        cache.shutdown();
+        fetcher.shutdown();
+        standIn.close();
+        harness.close();
+    }
+
+    @Test
+    public void fetchParsesAndResolves()
+    {
+        NpcDropData data = fetcher.fetch(0, "Goblin", 0).join();
+
+        assertNotNull(data);
+        assertEquals(2005, data.getNpcId());
+        assertEquals("Goblin", data.getName());
+        assertEquals(2, data.getLevel());
+        assertEquals(4, data.getDropTableSections().size());
+        for (DropTableSection section : data.getDropTableSections())
+        {
+            for (DropItem item : section.getItems())
+            {
+                assertEquals(item.getName(), harness.getItems().idOf(item.getName()), item.getItemId());
+            }
+        }
+        assertEquals(1, standIn.getPageRequests("Goblin"));
+        assertEquals(1, standIn.getRequests(WikiStandIn.INFO));
+    }
+
+    @Test
+    public void fetchSkipsPagesWithoutDrops()
+    {
+        assertNull(fetcher.fetch(0, "Hans", 0).join());
+        assertNull(fetcher.fetch(0, "Not recorded", 0).handle((data, ex) -> data).join());
+    }
+
+    @Test
+    public void search()
+    {
+        assertEquals(List.of("Black dragon"), fetcher.searchNpcNames("dragon").join());
+        assertEquals(1, standIn.getRequests(WikiStandIn.SEARCH));
+    }
+
+    @Test
+    public void fetchErrorsAreCounted()
+    {
+        standIn.setErrors(1, 503);
+        try
+        {
+            fetcher.fetch(0, "Cow", 0).join();
+            fail("expected the injected error to fail the fetch");
+        }
+        catch (CompletionException expected)
+        {
+            // fall through
+        }
+        // 503 is retried, so the page was asked for three times before the fetch gave up
+        assertEquals(3, standIn.getErrors());
+        Map<String, Long> counters = harness.get(PerfMetrics.class).counters();
+        assertEquals(2L, (long) counters.get(PerfMetrics.WIKI_RETRIES));
+        assertEquals(1L, (long) counters.get(PerfMetrics.WIKI_FETCH_ERRORS));
+    }
+
+    @Test
+    public void cancellingOneCallerKeepsSharedLoad() throws Exception
+    {
+        standIn.setLatency(300, 300);
+        CompletableFuture<NpcDropData> first = cache.get(0, "Cow", 2);
+        CompletableFuture<NpcDropData> second = cache.get(0, "Cow", 2);
+
+        first.cancel(true);
+
+        assertEquals(2317, second.get(10, TimeUnit.SECONDS).getNpcId());
+        assertEquals(1, cache.getStats().getWikiFetches());
+    }
+
+    @Test
+    public void cancellingEveryCallerAbandonsLoad() throws Exception
+    {
+        standIn.setLatency(2_000, 2_000);
+        CompletableFuture<NpcDropData> first = cache.get(0, "Guard", 21);
+        CompletableFuture<NpcDropData> second = cache.get(0, "Guard", 21);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (standIn.getActive() == 0 && System.nanoTime() < deadline)
+        {
+            Thread.sleep(5);
+        }
+        assertEquals("request reached the wiki", 1, standIn.getActive());
+
+        first.cancel(true);
+        assertEquals(1, cache.getStats().getLoadsInFlight());
+        second.cancel(true);
+        assertEquals(0, cache.getStats().getLoadsInFlight());
+
+        // A later lookup starts over instead of joining the abandoned load
+        standIn.setLatency(0, 0);
+        assertEquals(1841, cache.get(0, "Guard", 21).get(10, TimeUnit.SECONDS).getNpcId());
+        assertEquals(2, cache.getStats().getWikiFetches());
+    }
+
+    @Test
+    public void shutdownSettlesLoadsInFlight() throws Exception
+    {
+        standIn.setLatency(2_000, 2_000);
+        CompletableFuture<NpcDropData> pending = cache.get(0, "Goblin", 2);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (standIn.getActive() == 0 && System.nanoTime() < deadline)
+        {
+            Thread.sleep(5);
+        }
+
+        cache.shutdown();
+        try
+        {
+            pending.get(1, TimeUnit.SECONDS);
+            fail("expected the load to fail on shutdown");
+        }
+        catch (ExecutionException expected)
+        {
+            // fall through
+        }
+        assertEquals(0, cache.getStats().getLoadsInFlight());
+
+        // Re-enabling starts a fresh load instead of joining the dead one
+        cache.startUp();
+        standIn.setLatency(0, 0);
+        assertEquals(2005, cache.get(0, "Goblin", 2).get(10, TimeUnit.SECONDS).getNpcId());
+    }
+
+    @Test
+    public void fanOutRespectsHostLimit()
+    {
+        standIn.setLatency(30, 30);
+        List<CompletableFuture<NpcDropData>> fetches = new ArrayList<>();
+        for (int i = 0; i < 24; i++)
+        {
+            fetches.add(fetcher.fetch(0, corpus.pages().get(i % 6).getTitle(), 0));
+        }
+        long start = System.nanoTime();
+        CompletableFuture.allOf(fetches.toArray(new CompletableFuture[0])).join();
+        log.info("24 fetches in {} ms, peak wiki concurrency {}",
+                (System.nanoTime() - start) / 1_000_000, standIn.getPeakActive());
+
+        for (CompletableFuture<NpcDropData> f : fetches)
+        {
+            assertNotNull(f.join());
+        }
+        assertTrue("fetcher caps requests per host", standIn.getPeakActive() <= DropFetcher.MAX_REQUESTS_PER_HOST);
+    }
+
+    /**
+     * Hammer {@link DropCache#get} from many threads across the corpus with
+     * slow responses. Every page must be fetched once: concurrent misses
+     * share the in-flight load and later ones are served from disk or memory.
+     */
+    @Test
+    public void concurrentGets() throws Exception
+    {
+        List<WikiCorpus.Page> pages = new ArrayList<>();
+        Map<String, Integer> levels = new HashMap<>();
+        for (WikiCorpus.Page page : corpus.pages())
+        {
+            String level = Jsoup.parse(page.getHtml()).select("td[data-attr-param=combat]").text();
+            if (!level.isEmpty() && page.getHtml().contains("item-drops"))
+            {
+                pages.add(page);
+                levels.put(page.getTitle(), Integer.parseInt(level));
+            }
+        }
+        standIn.setLatency(20, 40);
+
+        int threads = 16;
+        int lookups = 4_000;
+        ExecutorService callers = Executors.newFixedThreadPool(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger failures = new AtomicInteger();
+        AtomicBoolean sampling = new AtomicBoolean(true);
+        int[] peak = new int[2];
+        Thread sampler = new Thread(() ->
+        {
+            while (sampling.get())
+            {
+                DropCacheStats s = cache.getStats();
+                peak[0] = Math.max(peak[0], s.getIoActive());
+                peak[1] = Math.max(peak[1], s.getIoQueued());
+                LockSupport.parkNanos(100_000);
+            }
+        }, "DropCache-sampler");
+        sampler.start();
+
+        List<CompletableFuture<Void>> calls = new ArrayList<>(lookups);
+        Random rnd = new Random(47);
+        for (int i = 0; i < lookups; i++)
+        {
+            WikiCorpus.Page page = pages.get(rnd.nextInt(pages.size()));
+            calls.add(CompletableFuture.runAsync(() ->
+            {
+                try
+                {
+                    go.await();
+                    NpcDropData data = cache.get(0, page.getTitle(), levels.get(page.getTitle())).get(30, TimeUnit.SECONDS);
+                    if (data == null || data.getNpcId() != page.getPageId())
+                    {
+                        failures.incrementAndGet();
+                    }
+                }
+                catch (Exception e)
+                {
+                    failures.incrementAndGet();
+                }
+            }, callers));
+        }
+
+        long start = System.nanoTime();
+        go.countDown();
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).get(2, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+        sampling.set(false);
+        sampler.join();
+        callers.shutdown();
+
+        DropCacheStats stats = cache.getStats();
+        log.info("{}", new LoadReport("dropCache.concurrentGets", lookups, elapsed, -1));
+        log.info("{}; hit rate {}, peak IO active {}, peak IO queued {}, peak wiki concurrency {}",
+                stats, stats.getHitRate(), peak[0], peak[1], standIn.getPeakActive());
+
+        assertEquals(0, failures.get());
+        for (WikiCorpus.Page page : pages)
+        {
+            assertEquals(page.getTitle(), 1, standIn.getPageRequests(page.getTitle()));
+        }
+        assertEquals(pages.size(), stats.getWikiFetches());
+        assertTrue("concurrent misses share a load", stats.getSharedLoads() > 0);
+        assertEquals(0, stats.getLoadsInFlight());
+    }
+}
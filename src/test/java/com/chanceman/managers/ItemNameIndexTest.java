@@ -0,0 +1,65 @@
+package com.chanceman.managers;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ItemNameIndexTest
+{
+    private ItemNameIndex index;
+
+    @Before
+    public void setUp()
+    {
+        index = new ItemNameIndex();
+        index.put(1, "Bronze dagger");
+        index.put(2, "Iron dagger");
+        index.put(3, "Bronze sword");
+        index.put(4, "Dragon dagger");
+    }
+
+    @Test
+    public void filterKeepsOrderAndIgnoresCase()
+    {
+        List<Integer> ids = Arrays.asList(4, 3, 2, 1, 5);
+
+        assertEquals(Arrays.asList(4, 2, 1), index.filter(ids, "DAGGER"));
+        assertEquals(ids, index.filter(ids, ""));
+        assertEquals(ids, index.filter(ids, null));
+    }
+
+    @Test
+    public void typingNarrowsThePreviousResult()
+    {
+        List<Integer> ids = Arrays.asList(1, 2, 3, 4);
+
+        assertEquals(Arrays.asList(1, 3), index.filter(ids, "bro"));
+        assertEquals(Collections.singletonList(3), index.filter(ids, "bronze s"));
+        // Deleting characters starts over from the whole list
+        assertEquals(Arrays.asList(1, 2, 4), index.filter(ids, "dag"));
+    }
+
+    @Test
+    public void anotherListIsFilteredInFull()
+    {
+        assertEquals(Collections.singletonList(1), index.filter(Collections.singletonList(1), "bro"));
+
+        // An equal query extension over a different list must not reuse the narrowed result
+        assertEquals(Arrays.asList(1, 3), index.filter(Arrays.asList(1, 3), "bron"));
+    }
+
+    @Test
+    public void newNamesInvalidateNarrowing()
+    {
+        List<Integer> ids = Arrays.asList(1, 2, 3, 4, 6);
+        assertEquals(Arrays.asList(1, 3), index.filter(ids, "bron"));
+
+        index.put(6, "Bronze axe");
+        assertEquals(Arrays.asList(1, 3, 6), index.filter(ids, "bronz"));
+    }
+}
@@ -0,0 +1,103 @@
+package com.chanceman.metrics;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest
+{
+    @Test
+    public void smallValuesHaveExactBuckets()
+    {
+        for (long v = 0; v < 16; v++)
+        {
+            assertEquals(v, LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(v)));
+        }
+    }
+
+    @Test
+    public void bucketsBracketTheirValuesWithinAnEighth()
+    {
+        Random rnd = new Random(44);
+        for (int i = 0; i < 100_000; i++)
+        {
+            long v = rnd.nextLong() >>> (21 + rnd.nextInt(43));
+            int bucket = LatencyHistogram.bucketOf(v);
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+
+            assertTrue(v + " <= " + upper, v <= upper);
+            assertTrue(v + " within 1/8 of " + upper, upper - v <= v / 8);
+            assertTrue(v + " above the previous bucket", bucket == 0 || LatencyHistogram.upperBoundOf(bucket - 1) < v);
+        }
+    }
+
+    @Test
+    public void valuesPastTheRangeShareTheLastBucket()
+    {
+        long top = (1L << 43) - 1;
+        int last = LatencyHistogram.bucketOf(top);
+
+        assertEquals(top, LatencyHistogram.upperBoundOf(last));
+        assertEquals(last, LatencyHistogram.bucketOf(top + 1));
+        assertEquals(last, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+
+        // Durations past the range saturate instead of reporting a bucket no value can reach
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(top, histogram.snapshot("overflow").getP99Nanos());
+    }
+
+    @Test
+    public void snapshotReportsCountMeanPercentilesAndMax()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++)
+        {
+            histogram.record(i * 1_000L);
+        }
+
+        MetricSnapshot s = histogram.snapshot("test");
+
+        assertEquals("test", s.getName());
+        assertEquals(100, s.getCount());
+        assertEquals(50_500, s.getMeanNanos(), 0.001);
+        assertBetween(50_000, s.getP50Nanos(), 50_000 * 9 / 8);
+        assertBetween(99_000, s.getP99Nanos(), 99_000 * 9 / 8);
+        assertEquals(100_000, s.getMaxNanos());
+    }
+
+    @Test
+    public void negativeDurationsCountAsZero()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+
+        MetricSnapshot s = histogram.snapshot("negative");
+        assertEquals(1, s.getCount());
+        assertEquals(0, s.getP99Nanos());
+        assertEquals(0, s.getMaxNanos());
+    }
+
+    @Test
+    public void resetEmptiesTheHistogram()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(123_456);
+        histogram.reset();
+
+        MetricSnapshot s = histogram.snapshot("reset");
+        assertEquals(0, s.getCount());
+        assertEquals(0, s.getMeanNanos(), 0);
+        assertEquals(0, s.getP50Nanos());
+        assertEquals(0, s.getMaxNanos());
+    }
+
+    private static void assertBetween(long min, long actual, long max)
+    {
+        assertTrue(actual + " >= " + min, actual >= min);
+        assertTrue(actual + " <= " + max, actual <= max);
+    }
+}
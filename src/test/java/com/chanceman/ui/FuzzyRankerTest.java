@@ -0,0 +1,113 @@
+package com.chanceman.ui;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FuzzyRankerTest
+{
+    @Test
+    public void distanceMatchesFullLevenshteinWithinBand()
+    {
+        Random rnd = new Random(30);
+        for (int trial = 0; trial < 5_000; trial++)
+        {
+            String query = randomWord(rnd, 0, 8);
+            String name = randomWord(rnd, 0, 12);
+            int maxDistance = rnd.nextInt(5);
+            int expected = Math.min(levenshtein(query, name), maxDistance + 1);
+
+            assertEquals(query + " vs " + name + " within " + maxDistance,
+                    expected, new FuzzyRanker(query, maxDistance).distance(name));
+        }
+    }
+
+    @Test
+    public void distanceIsCappedPastMaxDistance()
+    {
+        FuzzyRanker ranker = new FuzzyRanker("goblin", 2);
+
+        assertEquals(0, ranker.distance("goblin"));
+        assertEquals(1, ranker.distance("gobblin"));
+        assertEquals(2, ranker.distance("hogblin"));
+        assertEquals(3, ranker.distance("dragon"));
+        assertEquals(3, ranker.distance("goblin champion"));
+    }
+
+    @Test
+    public void scannerIsReusableAcrossNames()
+    {
+        FuzzyRanker ranker = new FuzzyRanker("cow", 3);
+
+        assertEquals(4, ranker.distance("black dragon"));
+        assertEquals(1, ranker.distance("cows"));
+        assertEquals(0, ranker.distance("cow"));
+    }
+
+    @Test
+    public void rankPrefersCloseNamesAndPrefixes()
+    {
+        List<String> names = Arrays.asList("Guard", "Hobgoblin", "Cave goblin", "Goblin");
+
+        assertEquals(Arrays.asList("Goblin", "Cave goblin", "Hobgoblin", "Guard"),
+                new FuzzyRanker("GOB").rank(names, Function.identity()));
+    }
+
+    @Test
+    public void tiesKeepIncomingOrder()
+    {
+        List<String> names = Arrays.asList("Zombie", "Imp", "Rat");
+
+        assertEquals(names, new FuzzyRanker("xxxxxxxx", 1).rank(names, Function.identity()));
+    }
+
+    @Test
+    public void emptyQueryRanksShortestNamesFirst()
+    {
+        FuzzyRanker ranker = new FuzzyRanker("");
+
+        assertTrue(ranker.score("Cow") < ranker.score("Goblin champion"));
+        assertEquals(Collections.emptyList(), ranker.rank(Collections.<String>emptyList(), Function.identity()));
+    }
+
+    private static String randomWord(Random rnd, int minLength, int maxLength)
+    {
+        int length = minLength + rnd.nextInt(maxLength - minLength + 1);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++)
+        {
+            // A small alphabet so strings share characters often
+            sb.append((char) ('a' + rnd.nextInt(4)));
+        }
+        return sb.toString();
+    }
+
+    private static int levenshtein(String a, String b)
+    {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++)
+        {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++)
+        {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++)
+        {
+            for (int j = 1; j <= b.length(); j++)
+            {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}